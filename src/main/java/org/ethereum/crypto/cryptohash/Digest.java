@@ -19,6 +19,8 @@
 
 package org.ethereum.crypto.cryptohash;
 
+import java.nio.ByteBuffer;
+
 /**
  * <p>This interface documents the API for a hash function. This
  * interface somewhat mimics the standard {@code
@@ -97,6 +99,15 @@ public interface Digest{
 	 */
 	void update(byte[] inbuf, int off, int len);
 
+	/**
+	 * Insert the remaining bytes of a buffer, which may be a heap,
+	 * direct or mapped buffer. The buffer position is advanced to its
+	 * limit.
+	 *
+	 * @param inbuf   the data buffer
+	 */
+	void update(ByteBuffer inbuf);
+
 	/**
 	 * Finalize the current hash computation and return the hash value
 	 * in a newly-allocated array. The object is resetted.
@@ -131,6 +142,18 @@ public interface Digest{
 	 */
 	int digest(byte[] outbuf, int off, int len);
 
+	/**
+	 * Finalize the current hash computation and put the hash value
+	 * into the provided buffer at its current position. The buffer
+	 * must have room for {@link #getDigestLength} bytes, otherwise a
+	 * {@code java.nio.BufferOverflowException} is thrown and the
+	 * computation is left untouched. The object is resetted.
+	 *
+	 * @param outbuf   the output buffer
+	 * @return  the number of bytes written in {@code outbuf}
+	 */
+	int digest(ByteBuffer outbuf);
+
 	/**
 	 * Get the natural hash function output length (in bytes).
 	 *
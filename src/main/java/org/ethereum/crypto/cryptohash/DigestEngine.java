@@ -19,6 +19,8 @@
 
 package org.ethereum.crypto.cryptohash;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 
 /**
@@ -80,6 +82,23 @@ public abstract class DigestEngine extends MessageDigest implements Digest {
 	 */
 	protected abstract void processBlock(byte[] data);
 
+	/**
+	 * Process one block of data read in place from a buffer, starting
+	 * at absolute index {@code off}. The buffer position and byte order
+	 * are left untouched. The default implementation copies the block
+	 * into the internal buffer and calls {@link #processBlock(byte[])};
+	 * implementations may override it to decode the block directly.
+	 *
+	 * @param data   the buffer holding the data block
+	 * @param off    the index of the first block byte in {@code data}
+	 */
+	protected void processBlock(ByteBuffer data, int off)
+	{
+		for (int i = 0; i < blockLen; i ++)
+			inputBuf[i] = data.get(off + i);
+		processBlock(inputBuf);
+	}
+
 	/**
 	 * Perform the final padding and store the result in the
 	 * provided buffer. This method shall call {@link #flush}
@@ -159,6 +178,18 @@ public abstract class DigestEngine extends MessageDigest implements Digest {
 		}
 	}
 
+	/** @see org.ethereum.crypto.cryptohash.Digest */
+	public int digest(ByteBuffer buf)
+	{
+		adjustDigestLen();
+		if (buf.remaining() < digestLen)
+			throw new BufferOverflowException();
+		doPadding(outputBuf, 0);
+		buf.put(outputBuf, 0, digestLen);
+		reset();
+		return digestLen;
+	}
+
 	/** @see org.ethereum.crypto.cryptohash.Digest */
 	public void reset()
 	{
@@ -204,6 +235,45 @@ public abstract class DigestEngine extends MessageDigest implements Digest {
 		}
 	}
 
+	/**
+	 * Absorb the remaining bytes of {@code input}; this backs the
+	 * {@code update(ByteBuffer)} method inherited from
+	 * {@link MessageDigest}. Whole blocks are handed to
+	 * {@link #processBlock(ByteBuffer, int)} straight from the buffer,
+	 * only a leading and a trailing partial block go through the
+	 * internal buffer. On return the buffer position equals its limit.
+	 *
+	 * @param input   the input data
+	 */
+	@Override
+	protected void engineUpdate(ByteBuffer input)
+	{
+		int len = input.remaining();
+		if (inputLen > 0) {
+			int copyLen = blockLen - inputLen;
+			if (copyLen > len)
+				copyLen = len;
+			input.get(inputBuf, inputLen, copyLen);
+			inputLen += copyLen;
+			len -= copyLen;
+			if (inputLen < blockLen)
+				return;
+			processBlock(inputBuf);
+			blockCount ++;
+			inputLen = 0;
+		}
+		int pos = input.position();
+		while (len >= blockLen) {
+			processBlock(input, pos);
+			blockCount ++;
+			pos += blockLen;
+			len -= blockLen;
+		}
+		input.position(pos);
+		input.get(inputBuf, 0, len);
+		inputLen = len;
+	}
+
 	/**
 	 * Get the internal block length. This is the length (in
 	 * bytes) of the array which will be passed as parameter to
@@ -0,0 +1,1152 @@
+/*
+ * Copyright (c) [2016] [ <ether.camp> ]
+ * This file is part of the ethereumJ library.
+ *
+ * The ethereumJ library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * The ethereumJ library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the ethereumJ library. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.ethereum.crypto.cryptohash;
+
+import java.util.Locale;
+
+/**
+ * <p>Implementations of the Keccak-f[1600] permutation. All of them
+ * operate on the state layout kept by {@link KeccakCore}: 25 lanes in
+ * a {@code long[]}, with lanes 1, 2, 8, 12, 17 and 20 stored
+ * complemented.</p>
+ *
+ * <p>The implementation used by {@link KeccakCore} is chosen once, at
+ * class initialization, from the {@value #PROPERTY} system property
+ * ({@code array}, {@code locals} or {@code locals-complemented});
+ * {@link #LOCALS} is the default. Since the choice is held in a
+ * static final field, the JIT inlines the selected permutation.</p>
+ *
+ * <p>{@link #LOCALS} is the default because it was the fastest in
+ * {@code KeccakPermutationBenchmark} on x86-64 HotSpot: about 35% faster
+ * than {@link #ARRAY} and 15% faster than {@link #LOCALS_COMPLEMENTED}.
+ * It has not been measured on aarch64 yet, so the choice is open
+ * there.</p>
+ *
+ * <pre>
+ * ==========================(LICENSE BEGIN)============================
+ *
+ * Copyright (c) 2007-2010  Projet RNRT SAPHIR
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY
+ * CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT,
+ * TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE
+ * SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * ===========================(LICENSE END)=============================
+ * </pre>
+ */
+
+enum KeccakPermutation {
+
+	/**
+	 * The original code: two rounds unrolled per iteration, the
+	 * state is read and written through the array.
+	 */
+	ARRAY {
+		void permute(long[] A)
+		{
+			permuteArray(A);
+		}
+	},
+
+	/**
+	 * The 25 lanes are loaded into locals once and stored back
+	 * after the 24 rounds; a plain round function is used, the
+	 * lane complementing being undone on load and redone on store.
+	 */
+	LOCALS {
+		void permute(long[] A)
+		{
+			permuteLocals(A);
+		}
+	},
+
+	/**
+	 * Same operation sequence as {@link #ARRAY} (lane complementing
+	 * transform, two rounds per iteration), with the 25 lanes held
+	 * in locals across the 24 rounds.
+	 */
+	LOCALS_COMPLEMENTED {
+		void permute(long[] A)
+		{
+			permuteLocalsComplemented(A);
+		}
+	};
+
+	/**
+	 * System property selecting the permutation used by
+	 * {@link KeccakCore}.
+	 */
+	static final String PROPERTY = "vyom.keccak.permutation";
+
+	static final long[] RC = {
+		0x0000000000000001L, 0x0000000000008082L,
+		0x800000000000808AL, 0x8000000080008000L,
+		0x000000000000808BL, 0x0000000080000001L,
+		0x8000000080008081L, 0x8000000000008009L,
+		0x000000000000008AL, 0x0000000000000088L,
+		0x0000000080008009L, 0x000000008000000AL,
+		0x000000008000808BL, 0x800000000000008BL,
+		0x8000000000008089L, 0x8000000000008003L,
+		0x8000000000008002L, 0x8000000000000080L,
+		0x000000000000800AL, 0x800000008000000AL,
+		0x8000000080008081L, 0x8000000000008080L,
+		0x0000000080000001L, 0x8000000080008008L
+	};
+
+	/**
+	 * Apply the permutation to the 25-lane state {@code A}.
+	 *
+	 * @param A   the state, modified in place
+	 */
+	abstract void permute(long[] A);
+
+	/**
+	 * Get the permutation named by the {@value #PROPERTY} system
+	 * property, or {@link #LOCALS} if it is not set.
+	 *
+	 * @return  the selected permutation
+	 * @see #fromName(String)
+	 */
+	static KeccakPermutation fromSystemProperty()
+	{
+		return fromName(System.getProperty(PROPERTY));
+	}
+
+	/**
+	 * Get the permutation with the given name, ignoring case and
+	 * accepting {@code -} for {@code _}. This runs during the class
+	 * initialization of {@link KeccakCore}, so a misspelt
+	 * {@value #PROPERTY} fails the first hash rather than silently
+	 * selecting another permutation.
+	 *
+	 * @param name   the permutation name, or {@code null}
+	 * @return  the named permutation, or {@link #LOCALS} for {@code null}
+	 * @throws IllegalArgumentException  if no permutation has that name
+	 */
+	static KeccakPermutation fromName(String name)
+	{
+		if (name == null)
+			return LOCALS;
+		try {
+			return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown " + PROPERTY
+				+ " value '" + name + "', expected array, locals"
+				+ " or locals-complemented", e);
+		}
+	}
+
+	private static void permuteArray(long[] A)
+	{
+		long t0, t1, t2, t3, t4;
+		long tt0, tt1, tt2, tt3, tt4;
+		long t, kt;
+		long c0, c1, c2, c3, c4, bnn;
+
+		/*
+		 * Unrolling four rounds kills performance big time
+		 * on Intel x86 Core2, in both 32-bit and 64-bit modes
+		 * (less than 1 MB/s instead of 55 MB/s on x86-64).
+		 * Unrolling two rounds appears to be fine.
+		 */
+		for (int j = 0; j < 24; j += 2) {
+
+			tt0 = A[ 1] ^ A[ 6];
+			tt1 = A[11] ^ A[16];
+			tt0 ^= A[21] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[ 4] ^ A[ 9];
+			tt3 = A[14] ^ A[19];
+			tt0 ^= A[24];
+			tt2 ^= tt3;
+			t0 = tt0 ^ tt2;
+
+			tt0 = A[ 2] ^ A[ 7];
+			tt1 = A[12] ^ A[17];
+			tt0 ^= A[22] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[ 0] ^ A[ 5];
+			tt3 = A[10] ^ A[15];
+			tt0 ^= A[20];
+			tt2 ^= tt3;
+			t1 = tt0 ^ tt2;
+
+			tt0 = A[ 3] ^ A[ 8];
+			tt1 = A[13] ^ A[18];
+			tt0 ^= A[23] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[ 1] ^ A[ 6];
+			tt3 = A[11] ^ A[16];
+			tt0 ^= A[21];
+			tt2 ^= tt3;
+			t2 = tt0 ^ tt2;
+
+			tt0 = A[ 4] ^ A[ 9];
+			tt1 = A[14] ^ A[19];
+			tt0 ^= A[24] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[ 2] ^ A[ 7];
+			tt3 = A[12] ^ A[17];
+			tt0 ^= A[22];
+			tt2 ^= tt3;
+			t3 = tt0 ^ tt2;
+
+			tt0 = A[ 0] ^ A[ 5];
+			tt1 = A[10] ^ A[15];
+			tt0 ^= A[20] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[ 3] ^ A[ 8];
+			tt3 = A[13] ^ A[18];
+			tt0 ^= A[23];
+			tt2 ^= tt3;
+			t4 = tt0 ^ tt2;
+
+			A[ 0] = A[ 0] ^ t0;
+			A[ 5] = A[ 5] ^ t0;
+			A[10] = A[10] ^ t0;
+			A[15] = A[15] ^ t0;
+			A[20] = A[20] ^ t0;
+			A[ 1] = A[ 1] ^ t1;
+			A[ 6] = A[ 6] ^ t1;
+			A[11] = A[11] ^ t1;
+			A[16] = A[16] ^ t1;
+			A[21] = A[21] ^ t1;
+			A[ 2] = A[ 2] ^ t2;
+			A[ 7] = A[ 7] ^ t2;
+			A[12] = A[12] ^ t2;
+			A[17] = A[17] ^ t2;
+			A[22] = A[22] ^ t2;
+			A[ 3] = A[ 3] ^ t3;
+			A[ 8] = A[ 8] ^ t3;
+			A[13] = A[13] ^ t3;
+			A[18] = A[18] ^ t3;
+			A[23] = A[23] ^ t3;
+			A[ 4] = A[ 4] ^ t4;
+			A[ 9] = A[ 9] ^ t4;
+			A[14] = A[14] ^ t4;
+			A[19] = A[19] ^ t4;
+			A[24] = A[24] ^ t4;
+			A[ 5] = (A[ 5] << 36) | (A[ 5] >>> (64 - 36));
+			A[10] = (A[10] << 3) | (A[10] >>> (64 - 3));
+			A[15] = (A[15] << 41) | (A[15] >>> (64 - 41));
+			A[20] = (A[20] << 18) | (A[20] >>> (64 - 18));
+			A[ 1] = (A[ 1] << 1) | (A[ 1] >>> (64 - 1));
+			A[ 6] = (A[ 6] << 44) | (A[ 6] >>> (64 - 44));
+			A[11] = (A[11] << 10) | (A[11] >>> (64 - 10));
+			A[16] = (A[16] << 45) | (A[16] >>> (64 - 45));
+			A[21] = (A[21] << 2) | (A[21] >>> (64 - 2));
+			A[ 2] = (A[ 2] << 62) | (A[ 2] >>> (64 - 62));
+			A[ 7] = (A[ 7] << 6) | (A[ 7] >>> (64 - 6));
+			A[12] = (A[12] << 43) | (A[12] >>> (64 - 43));
+			A[17] = (A[17] << 15) | (A[17] >>> (64 - 15));
+			A[22] = (A[22] << 61) | (A[22] >>> (64 - 61));
+			A[ 3] = (A[ 3] << 28) | (A[ 3] >>> (64 - 28));
+			A[ 8] = (A[ 8] << 55) | (A[ 8] >>> (64 - 55));
+			A[13] = (A[13] << 25) | (A[13] >>> (64 - 25));
+			A[18] = (A[18] << 21) | (A[18] >>> (64 - 21));
+			A[23] = (A[23] << 56) | (A[23] >>> (64 - 56));
+			A[ 4] = (A[ 4] << 27) | (A[ 4] >>> (64 - 27));
+			A[ 9] = (A[ 9] << 20) | (A[ 9] >>> (64 - 20));
+			A[14] = (A[14] << 39) | (A[14] >>> (64 - 39));
+			A[19] = (A[19] << 8) | (A[19] >>> (64 - 8));
+			A[24] = (A[24] << 14) | (A[24] >>> (64 - 14));
+			bnn = ~A[12];
+			kt = A[ 6] | A[12];
+			c0 = A[ 0] ^ kt;
+			kt = bnn | A[18];
+			c1 = A[ 6] ^ kt;
+			kt = A[18] & A[24];
+			c2 = A[12] ^ kt;
+			kt = A[24] | A[ 0];
+			c3 = A[18] ^ kt;
+			kt = A[ 0] & A[ 6];
+			c4 = A[24] ^ kt;
+			A[ 0] = c0;
+			A[ 6] = c1;
+			A[12] = c2;
+			A[18] = c3;
+			A[24] = c4;
+			bnn = ~A[22];
+			kt = A[ 9] | A[10];
+			c0 = A[ 3] ^ kt;
+			kt = A[10] & A[16];
+			c1 = A[ 9] ^ kt;
+			kt = A[16] | bnn;
+			c2 = A[10] ^ kt;
+			kt = A[22] | A[ 3];
+			c3 = A[16] ^ kt;
+			kt = A[ 3] & A[ 9];
+			c4 = A[22] ^ kt;
+			A[ 3] = c0;
+			A[ 9] = c1;
+			A[10] = c2;
+			A[16] = c3;
+			A[22] = c4;
+			bnn = ~A[19];
+			kt = A[ 7] | A[13];
+			c0 = A[ 1] ^ kt;
+			kt = A[13] & A[19];
+			c1 = A[ 7] ^ kt;
+			kt = bnn & A[20];
+			c2 = A[13] ^ kt;
+			kt = A[20] | A[ 1];
+			c3 = bnn ^ kt;
+			kt = A[ 1] & A[ 7];
+			c4 = A[20] ^ kt;
+			A[ 1] = c0;
+			A[ 7] = c1;
+			A[13] = c2;
+			A[19] = c3;
+			A[20] = c4;
+			bnn = ~A[17];
+			kt = A[ 5] & A[11];
+			c0 = A[ 4] ^ kt;
+			kt = A[11] | A[17];
+			c1 = A[ 5] ^ kt;
+			kt = bnn | A[23];
+			c2 = A[11] ^ kt;
+			kt = A[23] & A[ 4];
+			c3 = bnn ^ kt;
+			kt = A[ 4] | A[ 5];
+			c4 = A[23] ^ kt;
+			A[ 4] = c0;
+			A[ 5] = c1;
+			A[11] = c2;
+			A[17] = c3;
+			A[23] = c4;
+			bnn = ~A[ 8];
+			kt = bnn & A[14];
+			c0 = A[ 2] ^ kt;
+			kt = A[14] | A[15];
+			c1 = bnn ^ kt;
+			kt = A[15] & A[21];
+			c2 = A[14] ^ kt;
+			kt = A[21] | A[ 2];
+			c3 = A[15] ^ kt;
+			kt = A[ 2] & A[ 8];
+			c4 = A[21] ^ kt;
+			A[ 2] = c0;
+			A[ 8] = c1;
+			A[14] = c2;
+			A[15] = c3;
+			A[21] = c4;
+			A[ 0] = A[ 0] ^ RC[j + 0];
+
+			tt0 = A[ 6] ^ A[ 9];
+			tt1 = A[ 7] ^ A[ 5];
+			tt0 ^= A[ 8] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[24] ^ A[22];
+			tt3 = A[20] ^ A[23];
+			tt0 ^= A[21];
+			tt2 ^= tt3;
+			t0 = tt0 ^ tt2;
+
+			tt0 = A[12] ^ A[10];
+			tt1 = A[13] ^ A[11];
+			tt0 ^= A[14] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[ 0] ^ A[ 3];
+			tt3 = A[ 1] ^ A[ 4];
+			tt0 ^= A[ 2];
+			tt2 ^= tt3;
+			t1 = tt0 ^ tt2;
+
+			tt0 = A[18] ^ A[16];
+			tt1 = A[19] ^ A[17];
+			tt0 ^= A[15] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[ 6] ^ A[ 9];
+			tt3 = A[ 7] ^ A[ 5];
+			tt0 ^= A[ 8];
+			tt2 ^= tt3;
+			t2 = tt0 ^ tt2;
+
+			tt0 = A[24] ^ A[22];
+			tt1 = A[20] ^ A[23];
+			tt0 ^= A[21] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[12] ^ A[10];
+			tt3 = A[13] ^ A[11];
+			tt0 ^= A[14];
+			tt2 ^= tt3;
+			t3 = tt0 ^ tt2;
+
+			tt0 = A[ 0] ^ A[ 3];
+			tt1 = A[ 1] ^ A[ 4];
+			tt0 ^= A[ 2] ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = A[18] ^ A[16];
+			tt3 = A[19] ^ A[17];
+			tt0 ^= A[15];
+			tt2 ^= tt3;
+			t4 = tt0 ^ tt2;
+
+			A[ 0] = A[ 0] ^ t0;
+			A[ 3] = A[ 3] ^ t0;
+			A[ 1] = A[ 1] ^ t0;
+			A[ 4] = A[ 4] ^ t0;
+			A[ 2] = A[ 2] ^ t0;
+			A[ 6] = A[ 6] ^ t1;
+			A[ 9] = A[ 9] ^ t1;
+			A[ 7] = A[ 7] ^ t1;
+			A[ 5] = A[ 5] ^ t1;
+			A[ 8] = A[ 8] ^ t1;
+			A[12] = A[12] ^ t2;
+			A[10] = A[10] ^ t2;
+			A[13] = A[13] ^ t2;
+			A[11] = A[11] ^ t2;
+			A[14] = A[14] ^ t2;
+			A[18] = A[18] ^ t3;
+			A[16] = A[16] ^ t3;
+			A[19] = A[19] ^ t3;
+			A[17] = A[17] ^ t3;
+			A[15] = A[15] ^ t3;
+			A[24] = A[24] ^ t4;
+			A[22] = A[22] ^ t4;
+			A[20] = A[20] ^ t4;
+			A[23] = A[23] ^ t4;
+			A[21] = A[21] ^ t4;
+			A[ 3] = (A[ 3] << 36) | (A[ 3] >>> (64 - 36));
+			A[ 1] = (A[ 1] << 3) | (A[ 1] >>> (64 - 3));
+			A[ 4] = (A[ 4] << 41) | (A[ 4] >>> (64 - 41));
+			A[ 2] = (A[ 2] << 18) | (A[ 2] >>> (64 - 18));
+			A[ 6] = (A[ 6] << 1) | (A[ 6] >>> (64 - 1));
+			A[ 9] = (A[ 9] << 44) | (A[ 9] >>> (64 - 44));
+			A[ 7] = (A[ 7] << 10) | (A[ 7] >>> (64 - 10));
+			A[ 5] = (A[ 5] << 45) | (A[ 5] >>> (64 - 45));
+			A[ 8] = (A[ 8] << 2) | (A[ 8] >>> (64 - 2));
+			A[12] = (A[12] << 62) | (A[12] >>> (64 - 62));
+			A[10] = (A[10] << 6) | (A[10] >>> (64 - 6));
+			A[13] = (A[13] << 43) | (A[13] >>> (64 - 43));
+			A[11] = (A[11] << 15) | (A[11] >>> (64 - 15));
+			A[14] = (A[14] << 61) | (A[14] >>> (64 - 61));
+			A[18] = (A[18] << 28) | (A[18] >>> (64 - 28));
+			A[16] = (A[16] << 55) | (A[16] >>> (64 - 55));
+			A[19] = (A[19] << 25) | (A[19] >>> (64 - 25));
+			A[17] = (A[17] << 21) | (A[17] >>> (64 - 21));
+			A[15] = (A[15] << 56) | (A[15] >>> (64 - 56));
+			A[24] = (A[24] << 27) | (A[24] >>> (64 - 27));
+			A[22] = (A[22] << 20) | (A[22] >>> (64 - 20));
+			A[20] = (A[20] << 39) | (A[20] >>> (64 - 39));
+			A[23] = (A[23] << 8) | (A[23] >>> (64 - 8));
+			A[21] = (A[21] << 14) | (A[21] >>> (64 - 14));
+			bnn = ~A[13];
+			kt = A[ 9] | A[13];
+			c0 = A[ 0] ^ kt;
+			kt = bnn | A[17];
+			c1 = A[ 9] ^ kt;
+			kt = A[17] & A[21];
+			c2 = A[13] ^ kt;
+			kt = A[21] | A[ 0];
+			c3 = A[17] ^ kt;
+			kt = A[ 0] & A[ 9];
+			c4 = A[21] ^ kt;
+			A[ 0] = c0;
+			A[ 9] = c1;
+			A[13] = c2;
+			A[17] = c3;
+			A[21] = c4;
+			bnn = ~A[14];
+			kt = A[22] | A[ 1];
+			c0 = A[18] ^ kt;
+			kt = A[ 1] & A[ 5];
+			c1 = A[22] ^ kt;
+			kt = A[ 5] | bnn;
+			c2 = A[ 1] ^ kt;
+			kt = A[14] | A[18];
+			c3 = A[ 5] ^ kt;
+			kt = A[18] & A[22];
+			c4 = A[14] ^ kt;
+			A[18] = c0;
+			A[22] = c1;
+			A[ 1] = c2;
+			A[ 5] = c3;
+			A[14] = c4;
+			bnn = ~A[23];
+			kt = A[10] | A[19];
+			c0 = A[ 6] ^ kt;
+			kt = A[19] & A[23];
+			c1 = A[10] ^ kt;
+			kt = bnn & A[ 2];
+			c2 = A[19] ^ kt;
+			kt = A[ 2] | A[ 6];
+			c3 = bnn ^ kt;
+			kt = A[ 6] & A[10];
+			c4 = A[ 2] ^ kt;
+			A[ 6] = c0;
+			A[10] = c1;
+			A[19] = c2;
+			A[23] = c3;
+			A[ 2] = c4;
+			bnn = ~A[11];
+			kt = A[ 3] & A[ 7];
+			c0 = A[24] ^ kt;
+			kt = A[ 7] | A[11];
+			c1 = A[ 3] ^ kt;
+			kt = bnn | A[15];
+			c2 = A[ 7] ^ kt;
+			kt = A[15] & A[24];
+			c3 = bnn ^ kt;
+			kt = A[24] | A[ 3];
+			c4 = A[15] ^ kt;
+			A[24] = c0;
+			A[ 3] = c1;
+			A[ 7] = c2;
+			A[11] = c3;
+			A[15] = c4;
+			bnn = ~A[16];
+			kt = bnn & A[20];
+			c0 = A[12] ^ kt;
+			kt = A[20] | A[ 4];
+			c1 = bnn ^ kt;
+			kt = A[ 4] & A[ 8];
+			c2 = A[20] ^ kt;
+			kt = A[ 8] | A[12];
+			c3 = A[ 4] ^ kt;
+			kt = A[12] & A[16];
+			c4 = A[ 8] ^ kt;
+			A[12] = c0;
+			A[16] = c1;
+			A[20] = c2;
+			A[ 4] = c3;
+			A[ 8] = c4;
+			A[ 0] = A[ 0] ^ RC[j + 1];
+			t = A[ 5];
+			A[ 5] = A[18];
+			A[18] = A[11];
+			A[11] = A[10];
+			A[10] = A[ 6];
+			A[ 6] = A[22];
+			A[22] = A[20];
+			A[20] = A[12];
+			A[12] = A[19];
+			A[19] = A[15];
+			A[15] = A[24];
+			A[24] = A[ 8];
+			A[ 8] = t;
+			t = A[ 1];
+			A[ 1] = A[ 9];
+			A[ 9] = A[14];
+			A[14] = A[ 2];
+			A[ 2] = A[13];
+			A[13] = A[23];
+			A[23] = A[ 4];
+			A[ 4] = A[21];
+			A[21] = A[16];
+			A[16] = A[ 3];
+			A[ 3] = A[17];
+			A[17] = A[ 7];
+			A[ 7] = t;
+		}
+	}
+
+	private static void permuteLocals(long[] A)
+	{
+		long a00 = A[ 0];
+		long a01 = ~A[ 1];
+		long a02 = ~A[ 2];
+		long a03 = A[ 3];
+		long a04 = A[ 4];
+		long a05 = A[ 5];
+		long a06 = A[ 6];
+		long a07 = A[ 7];
+		long a08 = ~A[ 8];
+		long a09 = A[ 9];
+		long a10 = A[10];
+		long a11 = A[11];
+		long a12 = ~A[12];
+		long a13 = A[13];
+		long a14 = A[14];
+		long a15 = A[15];
+		long a16 = A[16];
+		long a17 = ~A[17];
+		long a18 = A[18];
+		long a19 = A[19];
+		long a20 = ~A[20];
+		long a21 = A[21];
+		long a22 = A[22];
+		long a23 = A[23];
+		long a24 = A[24];
+
+		long c0, c1, c2, c3, c4, d0, d1, d2, d3, d4;
+		long b00, b01, b02, b03, b04, b05, b06, b07, b08, b09, b10, b11, b12, b13, b14, b15, b16, b17, b18, b19, b20, b21, b22, b23, b24;
+
+		for (int j = 0; j < 24; j ++) {
+			c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+			c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+			c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+			c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+			c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+			d0 = c4 ^ ((c1 << 1) | (c1 >>> 63));
+			d1 = c0 ^ ((c2 << 1) | (c2 >>> 63));
+			d2 = c1 ^ ((c3 << 1) | (c3 >>> 63));
+			d3 = c2 ^ ((c4 << 1) | (c4 >>> 63));
+			d4 = c3 ^ ((c0 << 1) | (c0 >>> 63));
+			b00 = a00 ^ d0;
+			b10 = Long.rotateLeft(a01 ^ d1, 1);
+			b20 = Long.rotateLeft(a02 ^ d2, 62);
+			b05 = Long.rotateLeft(a03 ^ d3, 28);
+			b15 = Long.rotateLeft(a04 ^ d4, 27);
+			b16 = Long.rotateLeft(a05 ^ d0, 36);
+			b01 = Long.rotateLeft(a06 ^ d1, 44);
+			b11 = Long.rotateLeft(a07 ^ d2, 6);
+			b21 = Long.rotateLeft(a08 ^ d3, 55);
+			b06 = Long.rotateLeft(a09 ^ d4, 20);
+			b07 = Long.rotateLeft(a10 ^ d0, 3);
+			b17 = Long.rotateLeft(a11 ^ d1, 10);
+			b02 = Long.rotateLeft(a12 ^ d2, 43);
+			b12 = Long.rotateLeft(a13 ^ d3, 25);
+			b22 = Long.rotateLeft(a14 ^ d4, 39);
+			b23 = Long.rotateLeft(a15 ^ d0, 41);
+			b08 = Long.rotateLeft(a16 ^ d1, 45);
+			b18 = Long.rotateLeft(a17 ^ d2, 15);
+			b03 = Long.rotateLeft(a18 ^ d3, 21);
+			b13 = Long.rotateLeft(a19 ^ d4, 8);
+			b14 = Long.rotateLeft(a20 ^ d0, 18);
+			b24 = Long.rotateLeft(a21 ^ d1, 2);
+			b09 = Long.rotateLeft(a22 ^ d2, 61);
+			b19 = Long.rotateLeft(a23 ^ d3, 56);
+			b04 = Long.rotateLeft(a24 ^ d4, 14);
+			a00 = b00 ^ (~b01 & b02);
+			a01 = b01 ^ (~b02 & b03);
+			a02 = b02 ^ (~b03 & b04);
+			a03 = b03 ^ (~b04 & b00);
+			a04 = b04 ^ (~b00 & b01);
+			a05 = b05 ^ (~b06 & b07);
+			a06 = b06 ^ (~b07 & b08);
+			a07 = b07 ^ (~b08 & b09);
+			a08 = b08 ^ (~b09 & b05);
+			a09 = b09 ^ (~b05 & b06);
+			a10 = b10 ^ (~b11 & b12);
+			a11 = b11 ^ (~b12 & b13);
+			a12 = b12 ^ (~b13 & b14);
+			a13 = b13 ^ (~b14 & b10);
+			a14 = b14 ^ (~b10 & b11);
+			a15 = b15 ^ (~b16 & b17);
+			a16 = b16 ^ (~b17 & b18);
+			a17 = b17 ^ (~b18 & b19);
+			a18 = b18 ^ (~b19 & b15);
+			a19 = b19 ^ (~b15 & b16);
+			a20 = b20 ^ (~b21 & b22);
+			a21 = b21 ^ (~b22 & b23);
+			a22 = b22 ^ (~b23 & b24);
+			a23 = b23 ^ (~b24 & b20);
+			a24 = b24 ^ (~b20 & b21);
+			a00 ^= RC[j];
+		}
+
+		A[ 0] = a00;
+		A[ 1] = ~a01;
+		A[ 2] = ~a02;
+		A[ 3] = a03;
+		A[ 4] = a04;
+		A[ 5] = a05;
+		A[ 6] = a06;
+		A[ 7] = a07;
+		A[ 8] = ~a08;
+		A[ 9] = a09;
+		A[10] = a10;
+		A[11] = a11;
+		A[12] = ~a12;
+		A[13] = a13;
+		A[14] = a14;
+		A[15] = a15;
+		A[16] = a16;
+		A[17] = ~a17;
+		A[18] = a18;
+		A[19] = a19;
+		A[20] = ~a20;
+		A[21] = a21;
+		A[22] = a22;
+		A[23] = a23;
+		A[24] = a24;
+	}
+
+	private static void permuteLocalsComplemented(long[] A)
+	{
+		long a00 = A[ 0];
+		long a01 = A[ 1];
+		long a02 = A[ 2];
+		long a03 = A[ 3];
+		long a04 = A[ 4];
+		long a05 = A[ 5];
+		long a06 = A[ 6];
+		long a07 = A[ 7];
+		long a08 = A[ 8];
+		long a09 = A[ 9];
+		long a10 = A[10];
+		long a11 = A[11];
+		long a12 = A[12];
+		long a13 = A[13];
+		long a14 = A[14];
+		long a15 = A[15];
+		long a16 = A[16];
+		long a17 = A[17];
+		long a18 = A[18];
+		long a19 = A[19];
+		long a20 = A[20];
+		long a21 = A[21];
+		long a22 = A[22];
+		long a23 = A[23];
+		long a24 = A[24];
+
+		long t0, t1, t2, t3, t4;
+		long tt0, tt1, tt2, tt3, tt4;
+		long t, kt;
+		long c0, c1, c2, c3, c4, bnn;
+
+		/*
+		 * Unrolling four rounds kills performance big time
+		 * on Intel x86 Core2, in both 32-bit and 64-bit modes
+		 * (less than 1 MB/s instead of 55 MB/s on x86-64).
+		 * Unrolling two rounds appears to be fine.
+		 */
+		for (int j = 0; j < 24; j += 2) {
+
+			tt0 = a01 ^ a06;
+			tt1 = a11 ^ a16;
+			tt0 ^= a21 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a04 ^ a09;
+			tt3 = a14 ^ a19;
+			tt0 ^= a24;
+			tt2 ^= tt3;
+			t0 = tt0 ^ tt2;
+
+			tt0 = a02 ^ a07;
+			tt1 = a12 ^ a17;
+			tt0 ^= a22 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a00 ^ a05;
+			tt3 = a10 ^ a15;
+			tt0 ^= a20;
+			tt2 ^= tt3;
+			t1 = tt0 ^ tt2;
+
+			tt0 = a03 ^ a08;
+			tt1 = a13 ^ a18;
+			tt0 ^= a23 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a01 ^ a06;
+			tt3 = a11 ^ a16;
+			tt0 ^= a21;
+			tt2 ^= tt3;
+			t2 = tt0 ^ tt2;
+
+			tt0 = a04 ^ a09;
+			tt1 = a14 ^ a19;
+			tt0 ^= a24 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a02 ^ a07;
+			tt3 = a12 ^ a17;
+			tt0 ^= a22;
+			tt2 ^= tt3;
+			t3 = tt0 ^ tt2;
+
+			tt0 = a00 ^ a05;
+			tt1 = a10 ^ a15;
+			tt0 ^= a20 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a03 ^ a08;
+			tt3 = a13 ^ a18;
+			tt0 ^= a23;
+			tt2 ^= tt3;
+			t4 = tt0 ^ tt2;
+
+			a00 = a00 ^ t0;
+			a05 = a05 ^ t0;
+			a10 = a10 ^ t0;
+			a15 = a15 ^ t0;
+			a20 = a20 ^ t0;
+			a01 = a01 ^ t1;
+			a06 = a06 ^ t1;
+			a11 = a11 ^ t1;
+			a16 = a16 ^ t1;
+			a21 = a21 ^ t1;
+			a02 = a02 ^ t2;
+			a07 = a07 ^ t2;
+			a12 = a12 ^ t2;
+			a17 = a17 ^ t2;
+			a22 = a22 ^ t2;
+			a03 = a03 ^ t3;
+			a08 = a08 ^ t3;
+			a13 = a13 ^ t3;
+			a18 = a18 ^ t3;
+			a23 = a23 ^ t3;
+			a04 = a04 ^ t4;
+			a09 = a09 ^ t4;
+			a14 = a14 ^ t4;
+			a19 = a19 ^ t4;
+			a24 = a24 ^ t4;
+			a05 = (a05 << 36) | (a05 >>> (64 - 36));
+			a10 = (a10 << 3) | (a10 >>> (64 - 3));
+			a15 = (a15 << 41) | (a15 >>> (64 - 41));
+			a20 = (a20 << 18) | (a20 >>> (64 - 18));
+			a01 = (a01 << 1) | (a01 >>> (64 - 1));
+			a06 = (a06 << 44) | (a06 >>> (64 - 44));
+			a11 = (a11 << 10) | (a11 >>> (64 - 10));
+			a16 = (a16 << 45) | (a16 >>> (64 - 45));
+			a21 = (a21 << 2) | (a21 >>> (64 - 2));
+			a02 = (a02 << 62) | (a02 >>> (64 - 62));
+			a07 = (a07 << 6) | (a07 >>> (64 - 6));
+			a12 = (a12 << 43) | (a12 >>> (64 - 43));
+			a17 = (a17 << 15) | (a17 >>> (64 - 15));
+			a22 = (a22 << 61) | (a22 >>> (64 - 61));
+			a03 = (a03 << 28) | (a03 >>> (64 - 28));
+			a08 = (a08 << 55) | (a08 >>> (64 - 55));
+			a13 = (a13 << 25) | (a13 >>> (64 - 25));
+			a18 = (a18 << 21) | (a18 >>> (64 - 21));
+			a23 = (a23 << 56) | (a23 >>> (64 - 56));
+			a04 = (a04 << 27) | (a04 >>> (64 - 27));
+			a09 = (a09 << 20) | (a09 >>> (64 - 20));
+			a14 = (a14 << 39) | (a14 >>> (64 - 39));
+			a19 = (a19 << 8) | (a19 >>> (64 - 8));
+			a24 = (a24 << 14) | (a24 >>> (64 - 14));
+			bnn = ~a12;
+			kt = a06 | a12;
+			c0 = a00 ^ kt;
+			kt = bnn | a18;
+			c1 = a06 ^ kt;
+			kt = a18 & a24;
+			c2 = a12 ^ kt;
+			kt = a24 | a00;
+			c3 = a18 ^ kt;
+			kt = a00 & a06;
+			c4 = a24 ^ kt;
+			a00 = c0;
+			a06 = c1;
+			a12 = c2;
+			a18 = c3;
+			a24 = c4;
+			bnn = ~a22;
+			kt = a09 | a10;
+			c0 = a03 ^ kt;
+			kt = a10 & a16;
+			c1 = a09 ^ kt;
+			kt = a16 | bnn;
+			c2 = a10 ^ kt;
+			kt = a22 | a03;
+			c3 = a16 ^ kt;
+			kt = a03 & a09;
+			c4 = a22 ^ kt;
+			a03 = c0;
+			a09 = c1;
+			a10 = c2;
+			a16 = c3;
+			a22 = c4;
+			bnn = ~a19;
+			kt = a07 | a13;
+			c0 = a01 ^ kt;
+			kt = a13 & a19;
+			c1 = a07 ^ kt;
+			kt = bnn & a20;
+			c2 = a13 ^ kt;
+			kt = a20 | a01;
+			c3 = bnn ^ kt;
+			kt = a01 & a07;
+			c4 = a20 ^ kt;
+			a01 = c0;
+			a07 = c1;
+			a13 = c2;
+			a19 = c3;
+			a20 = c4;
+			bnn = ~a17;
+			kt = a05 & a11;
+			c0 = a04 ^ kt;
+			kt = a11 | a17;
+			c1 = a05 ^ kt;
+			kt = bnn | a23;
+			c2 = a11 ^ kt;
+			kt = a23 & a04;
+			c3 = bnn ^ kt;
+			kt = a04 | a05;
+			c4 = a23 ^ kt;
+			a04 = c0;
+			a05 = c1;
+			a11 = c2;
+			a17 = c3;
+			a23 = c4;
+			bnn = ~a08;
+			kt = bnn & a14;
+			c0 = a02 ^ kt;
+			kt = a14 | a15;
+			c1 = bnn ^ kt;
+			kt = a15 & a21;
+			c2 = a14 ^ kt;
+			kt = a21 | a02;
+			c3 = a15 ^ kt;
+			kt = a02 & a08;
+			c4 = a21 ^ kt;
+			a02 = c0;
+			a08 = c1;
+			a14 = c2;
+			a15 = c3;
+			a21 = c4;
+			a00 = a00 ^ RC[j + 0];
+
+			tt0 = a06 ^ a09;
+			tt1 = a07 ^ a05;
+			tt0 ^= a08 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a24 ^ a22;
+			tt3 = a20 ^ a23;
+			tt0 ^= a21;
+			tt2 ^= tt3;
+			t0 = tt0 ^ tt2;
+
+			tt0 = a12 ^ a10;
+			tt1 = a13 ^ a11;
+			tt0 ^= a14 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a00 ^ a03;
+			tt3 = a01 ^ a04;
+			tt0 ^= a02;
+			tt2 ^= tt3;
+			t1 = tt0 ^ tt2;
+
+			tt0 = a18 ^ a16;
+			tt1 = a19 ^ a17;
+			tt0 ^= a15 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a06 ^ a09;
+			tt3 = a07 ^ a05;
+			tt0 ^= a08;
+			tt2 ^= tt3;
+			t2 = tt0 ^ tt2;
+
+			tt0 = a24 ^ a22;
+			tt1 = a20 ^ a23;
+			tt0 ^= a21 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a12 ^ a10;
+			tt3 = a13 ^ a11;
+			tt0 ^= a14;
+			tt2 ^= tt3;
+			t3 = tt0 ^ tt2;
+
+			tt0 = a00 ^ a03;
+			tt1 = a01 ^ a04;
+			tt0 ^= a02 ^ tt1;
+			tt0 = (tt0 << 1) | (tt0 >>> 63);
+			tt2 = a18 ^ a16;
+			tt3 = a19 ^ a17;
+			tt0 ^= a15;
+			tt2 ^= tt3;
+			t4 = tt0 ^ tt2;
+
+			a00 = a00 ^ t0;
+			a03 = a03 ^ t0;
+			a01 = a01 ^ t0;
+			a04 = a04 ^ t0;
+			a02 = a02 ^ t0;
+			a06 = a06 ^ t1;
+			a09 = a09 ^ t1;
+			a07 = a07 ^ t1;
+			a05 = a05 ^ t1;
+			a08 = a08 ^ t1;
+			a12 = a12 ^ t2;
+			a10 = a10 ^ t2;
+			a13 = a13 ^ t2;
+			a11 = a11 ^ t2;
+			a14 = a14 ^ t2;
+			a18 = a18 ^ t3;
+			a16 = a16 ^ t3;
+			a19 = a19 ^ t3;
+			a17 = a17 ^ t3;
+			a15 = a15 ^ t3;
+			a24 = a24 ^ t4;
+			a22 = a22 ^ t4;
+			a20 = a20 ^ t4;
+			a23 = a23 ^ t4;
+			a21 = a21 ^ t4;
+			a03 = (a03 << 36) | (a03 >>> (64 - 36));
+			a01 = (a01 << 3) | (a01 >>> (64 - 3));
+			a04 = (a04 << 41) | (a04 >>> (64 - 41));
+			a02 = (a02 << 18) | (a02 >>> (64 - 18));
+			a06 = (a06 << 1) | (a06 >>> (64 - 1));
+			a09 = (a09 << 44) | (a09 >>> (64 - 44));
+			a07 = (a07 << 10) | (a07 >>> (64 - 10));
+			a05 = (a05 << 45) | (a05 >>> (64 - 45));
+			a08 = (a08 << 2) | (a08 >>> (64 - 2));
+			a12 = (a12 << 62) | (a12 >>> (64 - 62));
+			a10 = (a10 << 6) | (a10 >>> (64 - 6));
+			a13 = (a13 << 43) | (a13 >>> (64 - 43));
+			a11 = (a11 << 15) | (a11 >>> (64 - 15));
+			a14 = (a14 << 61) | (a14 >>> (64 - 61));
+			a18 = (a18 << 28) | (a18 >>> (64 - 28));
+			a16 = (a16 << 55) | (a16 >>> (64 - 55));
+			a19 = (a19 << 25) | (a19 >>> (64 - 25));
+			a17 = (a17 << 21) | (a17 >>> (64 - 21));
+			a15 = (a15 << 56) | (a15 >>> (64 - 56));
+			a24 = (a24 << 27) | (a24 >>> (64 - 27));
+			a22 = (a22 << 20) | (a22 >>> (64 - 20));
+			a20 = (a20 << 39) | (a20 >>> (64 - 39));
+			a23 = (a23 << 8) | (a23 >>> (64 - 8));
+			a21 = (a21 << 14) | (a21 >>> (64 - 14));
+			bnn = ~a13;
+			kt = a09 | a13;
+			c0 = a00 ^ kt;
+			kt = bnn | a17;
+			c1 = a09 ^ kt;
+			kt = a17 & a21;
+			c2 = a13 ^ kt;
+			kt = a21 | a00;
+			c3 = a17 ^ kt;
+			kt = a00 & a09;
+			c4 = a21 ^ kt;
+			a00 = c0;
+			a09 = c1;
+			a13 = c2;
+			a17 = c3;
+			a21 = c4;
+			bnn = ~a14;
+			kt = a22 | a01;
+			c0 = a18 ^ kt;
+			kt = a01 & a05;
+			c1 = a22 ^ kt;
+			kt = a05 | bnn;
+			c2 = a01 ^ kt;
+			kt = a14 | a18;
+			c3 = a05 ^ kt;
+			kt = a18 & a22;
+			c4 = a14 ^ kt;
+			a18 = c0;
+			a22 = c1;
+			a01 = c2;
+			a05 = c3;
+			a14 = c4;
+			bnn = ~a23;
+			kt = a10 | a19;
+			c0 = a06 ^ kt;
+			kt = a19 & a23;
+			c1 = a10 ^ kt;
+			kt = bnn & a02;
+			c2 = a19 ^ kt;
+			kt = a02 | a06;
+			c3 = bnn ^ kt;
+			kt = a06 & a10;
+			c4 = a02 ^ kt;
+			a06 = c0;
+			a10 = c1;
+			a19 = c2;
+			a23 = c3;
+			a02 = c4;
+			bnn = ~a11;
+			kt = a03 & a07;
+			c0 = a24 ^ kt;
+			kt = a07 | a11;
+			c1 = a03 ^ kt;
+			kt = bnn | a15;
+			c2 = a07 ^ kt;
+			kt = a15 & a24;
+			c3 = bnn ^ kt;
+			kt = a24 | a03;
+			c4 = a15 ^ kt;
+			a24 = c0;
+			a03 = c1;
+			a07 = c2;
+			a11 = c3;
+			a15 = c4;
+			bnn = ~a16;
+			kt = bnn & a20;
+			c0 = a12 ^ kt;
+			kt = a20 | a04;
+			c1 = bnn ^ kt;
+			kt = a04 & a08;
+			c2 = a20 ^ kt;
+			kt = a08 | a12;
+			c3 = a04 ^ kt;
+			kt = a12 & a16;
+			c4 = a08 ^ kt;
+			a12 = c0;
+			a16 = c1;
+			a20 = c2;
+			a04 = c3;
+			a08 = c4;
+			a00 = a00 ^ RC[j + 1];
+			t = a05;
+			a05 = a18;
+			a18 = a11;
+			a11 = a10;
+			a10 = a06;
+			a06 = a22;
+			a22 = a20;
+			a20 = a12;
+			a12 = a19;
+			a19 = a15;
+			a15 = a24;
+			a24 = a08;
+			a08 = t;
+			t = a01;
+			a01 = a09;
+			a09 = a14;
+			a14 = a02;
+			a02 = a13;
+			a13 = a23;
+			a23 = a04;
+			a04 = a21;
+			a21 = a16;
+			a16 = a03;
+			a03 = a17;
+			a17 = a07;
+			a07 = t;
+		}
+		A[ 0] = a00;
+		A[ 1] = a01;
+		A[ 2] = a02;
+		A[ 3] = a03;
+		A[ 4] = a04;
+		A[ 5] = a05;
+		A[ 6] = a06;
+		A[ 7] = a07;
+		A[ 8] = a08;
+		A[ 9] = a09;
+		A[10] = a10;
+		A[11] = a11;
+		A[12] = a12;
+		A[13] = a13;
+		A[14] = a14;
+		A[15] = a15;
+		A[16] = a16;
+		A[17] = a17;
+		A[18] = a18;
+		A[19] = a19;
+		A[20] = a20;
+		A[21] = a21;
+		A[22] = a22;
+		A[23] = a23;
+		A[24] = a24;
+	}
+}
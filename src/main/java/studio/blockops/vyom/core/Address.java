@@ -1,23 +1,56 @@
 package studio.blockops.vyom.core;
 
-import java.util.Arrays;
-
-import org.spongycastle.util.encoders.DecoderException;
-import org.spongycastle.util.encoders.Hex;
-
 import com.google.common.base.Preconditions;
 
 import studio.blockops.vyom.crypto.CryptoException;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.HexCodec;
 
 /**
  * A wallet address
+ * <p>
+ * The 20 address bytes are held in three primitive fields, big-endian, together with a
+ * precomputed hash, so that an address is a single small object and hash lookups never
+ * walk its bytes.
  */
 public class Address {
 
     /**
-     * Raw address value
+     * Length of an address in bytes.
+     */
+    public static final int LENGTH = 20;
+
+    /**
+     * Offset of the address in the SHA3-256 hash of a public key: its last 20 bytes.
+     */
+    public static final int HASH_OFFSET = 12;
+
+    private static final String PREFIX = "0x";
+
+    private static final int HEX_LENGTH = 2 * LENGTH;
+
+    /**
+     * Bytes 0 to 7 of the address
+     */
+    private final long high;
+
+    /**
+     * Bytes 8 to 15 of the address
+     */
+    private final long middle;
+
+    /**
+     * Bytes 16 to 19 of the address
      */
-    private final byte[] value;
+    private final int low;
+
+    private final int hash;
+
+    /**
+     * The memoized EIP-55 encoding; racy initialization is benign as every thread
+     * computes the same string
+     */
+    private String checksumString;
 
     /**
      * Creates a new address
@@ -26,7 +59,23 @@ public class Address {
      * @return The address
      */
     public static Address create(final byte[] value) {
-        return new Address(value);
+        Preconditions.checkNotNull(value);
+        Preconditions.checkArgument(value.length == LENGTH, "address must be %s bytes", LENGTH);
+        return create(value, 0);
+    }
+
+    /**
+     * Creates a new address from the 20 bytes at an offset of a buffer, such as the tail
+     * of a hash.
+     *
+     * @param buffer The buffer holding the address.
+     * @param offset The offset of the address in {@code buffer}.
+     * @return The address
+     */
+    public static Address create(final byte[] buffer, final int offset) {
+        Preconditions.checkNotNull(buffer);
+        Preconditions.checkPositionIndexes(offset, offset + LENGTH, buffer.length);
+        return new Address(readLong(buffer, offset), readLong(buffer, offset + 8), readInt(buffer, offset + 16));
     }
 
     /**
@@ -36,30 +85,152 @@ public class Address {
      * @return The address
      */
     public static Address createFromHexString(final String value) {
-        try {
-            Preconditions.checkNotNull(value);
-            return new Address(Hex.decode(value));
-        } catch (final DecoderException e) {
-            throw new CryptoException(e);
+        Preconditions.checkNotNull(value);
+        return create(HexCodec.decode(value));
+    }
+
+    /**
+     * Creates a new address from its EIP-55 mixed-case encoding, validating the checksum.
+     *
+     * @param value The encoding, with or without the "0x" prefix.
+     * @return The address
+     * @throws CryptoException if the value is not 40 hex digits or its case does not
+     *             match the checksum.
+     */
+    public static Address createFromChecksumString(final String value) {
+        Preconditions.checkNotNull(value);
+        final int start = value.startsWith(PREFIX) ? PREFIX.length() : 0;
+        if (value.length() - start != HEX_LENGTH) {
+            throw new CryptoException("address must be " + HEX_LENGTH + " hex digits");
         }
+        final byte[] raw = new byte[LENGTH];
+        HexCodec.decode(value, start, HEX_LENGTH, raw, 0);
+        final Address address = create(raw, 0);
+        if (!address.toChecksumString().regionMatches(PREFIX.length(), value, start, HEX_LENGTH)) {
+            throw new CryptoException("Invalid address checksum: " + value);
+        }
+        return address;
     }
 
-    private Address(final byte[] value) {
-        this.value = value;
+    Address(final long high, final long middle, final int low) {
+        this.high = high;
+        this.middle = middle;
+        this.low = low;
+        this.hash = hash(high, middle, low);
     }
 
     /**
      * Returns raw address value
      *
-     * @return raw address value as byte array
+     * @return a new array holding the 20 address bytes
      */
     public byte[] getRaw() {
+        final byte[] value = new byte[LENGTH];
+        writeTo(value, 0);
         return value;
     }
 
+    /**
+     * Writes the 20 address bytes into a caller supplied buffer.
+     *
+     * @param output The buffer receiving the address.
+     * @param offset The offset in {@code output} at which the address is written.
+     */
+    public void writeTo(final byte[] output, final int offset) {
+        Preconditions.checkNotNull(output);
+        Preconditions.checkPositionIndexes(offset, offset + LENGTH, output.length);
+        writeLong(high, output, offset);
+        writeLong(middle, output, offset + 8);
+        writeInt(low, output, offset + 16);
+    }
+
+    /**
+     * Encodes the address in the EIP-55 mixed-case form: a hex digit is uppercase when
+     * the matching nibble of the Keccak-256 hash of the lowercase hex is 8 or more.
+     *
+     * @return The encoding, with the "0x" prefix.
+     */
+    public String toChecksumString() {
+        String result = checksumString;
+        if (result == null) {
+            final char[] digits = new char[PREFIX.length() + HEX_LENGTH];
+            PREFIX.getChars(0, PREFIX.length(), digits, 0);
+            HexCodec.encode(getRaw(), 0, LENGTH, digits, PREFIX.length());
+
+            // the checksum is the hash of the lowercase digits as ASCII text
+            final byte[] text = new byte[HEX_LENGTH];
+            for (int i = 0; i < HEX_LENGTH; i++) {
+                text[i] = (byte) digits[PREFIX.length() + i];
+            }
+            final byte[] checksum = new byte[Hashing.SHA3_256_LENGTH];
+            Hashing.sha3_256(text, 0, HEX_LENGTH, checksum, 0);
+
+            for (int i = 0; i < HEX_LENGTH; i++) {
+                final int nibble = (checksum[i / 2] >>> ((i % 2 == 0) ? 4 : 0)) & 0x0F;
+                final char c = digits[PREFIX.length() + i];
+                if (nibble >= 8 && c >= 'a') {
+                    digits[PREFIX.length() + i] = (char) (c - ('a' - 'A'));
+                }
+            }
+            result = new String(digits);
+            checksumString = result;
+        }
+        return result;
+    }
+
+    long getHigh() {
+        return high;
+    }
+
+    long getMiddle() {
+        return middle;
+    }
+
+    int getLow() {
+        return low;
+    }
+
+    /**
+     * Mixes all the address bits into a hash, so that its low bits can index a table.
+     */
+    static int hash(final long high, final long middle, final int low) {
+        long h = high * 0x9E3779B97F4A7C15L + middle;
+        h = h * 0x9E3779B97F4A7C15L + low;
+        // murmur3 finalizer
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static long readLong(final byte[] buffer, final int offset) {
+        return ((long) readInt(buffer, offset) << 32) | (readInt(buffer, offset + 4) & 0xFFFFFFFFL);
+    }
+
+    private static int readInt(final byte[] buffer, final int offset) {
+        return (buffer[offset] & 0xFF) << 24
+                | (buffer[offset + 1] & 0xFF) << 16
+                | (buffer[offset + 2] & 0xFF) << 8
+                | (buffer[offset + 3] & 0xFF);
+    }
+
+    private static void writeLong(final long value, final byte[] output, final int offset) {
+        writeInt((int) (value >>> 32), output, offset);
+        writeInt((int) value, output, offset + 4);
+    }
+
+    private static void writeInt(final int value, final byte[] output, final int offset) {
+        output[offset] = (byte) (value >>> 24);
+        output[offset + 1] = (byte) (value >>> 16);
+        output[offset + 2] = (byte) (value >>> 8);
+        output[offset + 3] = (byte) value;
+    }
+
     @Override
     public int hashCode() {
-        return Arrays.hashCode(this.value);
+        return hash;
     }
 
     @Override
@@ -75,12 +246,12 @@ public class Address {
         }
 
         final Address other = (Address) obj;
-        return Arrays.equals(this.value, other.value);
+        return high == other.high && middle == other.middle && low == other.low;
     }
 
     @Override
     public String toString() {
-        return Hex.toHexString(this.value);
+        return HexCodec.encode(getRaw());
     }
 
 }
@@ -0,0 +1,99 @@
+package studio.blockops.vyom.core;
+
+import java.util.function.ObjLongConsumer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Map from addresses to {@code long} values, such as account indexes or storage offsets,
+ * stored as primitives in an open-addressing table, on the heap or off-heap. An entry
+ * takes 32 bytes of slot space; the map keeps no object per entry and boxes no value.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class AddressMap extends AddressTable {
+
+    private static final int SLOT_SIZE = DATA + 8;
+
+    /**
+     * Creates an empty map on the heap.
+     */
+    public AddressMap() {
+        this(0, false);
+    }
+
+    /**
+     * Creates an empty map.
+     *
+     * @param expectedSize The number of addresses to make room for.
+     * @param offHeap Whether the map is allocated outside the Java heap.
+     */
+    public AddressMap(final int expectedSize, final boolean offHeap) {
+        super(SLOT_SIZE, expectedSize, offHeap);
+    }
+
+    /**
+     * Associates a value with an address, replacing its previous value.
+     *
+     * @param address The address.
+     * @param value The value.
+     * @return true if the address was not in the map.
+     */
+    public boolean put(final Address address, final long value) {
+        final int slot = insert(address);
+        final int occupied = slot < 0 ? -1 - slot : slot;
+        page(occupied).putLong(offset(occupied) + DATA, value);
+        return slot < 0;
+    }
+
+    /**
+     * Gets the value of an address.
+     *
+     * @param address The address.
+     * @param defaultValue The value returned if the address is not in the map.
+     * @return The value, or {@code defaultValue}.
+     */
+    public long get(final Address address, final long defaultValue) {
+        final int slot = find(address);
+        return slot < 0 ? defaultValue : page(slot).getLong(offset(slot) + DATA);
+    }
+
+    /**
+     * Determines if the map holds an address.
+     *
+     * @param address The address.
+     * @return true if the address is in the map.
+     */
+    public boolean containsKey(final Address address) {
+        return find(address) >= 0;
+    }
+
+    /**
+     * Removes an address and its value.
+     *
+     * @param address The address.
+     * @return true if the address was in the map.
+     */
+    public boolean remove(final Address address) {
+        final int slot = find(address);
+        if (slot < 0) {
+            return false;
+        }
+        delete(slot);
+        return true;
+    }
+
+    /**
+     * Hands every entry of the map to {@code consumer}, in no particular order.
+     *
+     * @param consumer The receiver of the addresses and their values.
+     */
+    public void forEach(final ObjLongConsumer<Address> consumer) {
+        Preconditions.checkNotNull(consumer);
+        for (int slot = 0; slot < capacity(); slot++) {
+            if (isOccupied(slot)) {
+                consumer.accept(addressAt(slot), page(slot).getLong(offset(slot) + DATA));
+            }
+        }
+    }
+}
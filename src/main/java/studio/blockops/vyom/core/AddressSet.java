@@ -0,0 +1,82 @@
+package studio.blockops.vyom.core;
+
+import java.util.function.Consumer;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Set of addresses stored as primitives in an open-addressing table, on the heap or
+ * off-heap. An address takes 24 bytes of slot space; the set keeps no object per entry.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class AddressSet extends AddressTable {
+
+    private static final int SLOT_SIZE = DATA;
+
+    /**
+     * Creates an empty set on the heap.
+     */
+    public AddressSet() {
+        this(0, false);
+    }
+
+    /**
+     * Creates an empty set.
+     *
+     * @param expectedSize The number of addresses to make room for.
+     * @param offHeap Whether the set is allocated outside the Java heap.
+     */
+    public AddressSet(final int expectedSize, final boolean offHeap) {
+        super(SLOT_SIZE, expectedSize, offHeap);
+    }
+
+    /**
+     * Adds an address.
+     *
+     * @param address The address.
+     * @return true if the address was not in the set.
+     */
+    public boolean add(final Address address) {
+        return insert(address) < 0;
+    }
+
+    /**
+     * Determines if the set holds an address.
+     *
+     * @param address The address.
+     * @return true if the address is in the set.
+     */
+    public boolean contains(final Address address) {
+        return find(address) >= 0;
+    }
+
+    /**
+     * Removes an address.
+     *
+     * @param address The address.
+     * @return true if the address was in the set.
+     */
+    public boolean remove(final Address address) {
+        final int slot = find(address);
+        if (slot < 0) {
+            return false;
+        }
+        delete(slot);
+        return true;
+    }
+
+    /**
+     * Hands every address of the set to {@code consumer}, in no particular order.
+     *
+     * @param consumer The receiver of the addresses.
+     */
+    public void forEach(final Consumer<Address> consumer) {
+        Preconditions.checkNotNull(consumer);
+        for (int slot = 0; slot < capacity(); slot++) {
+            if (isOccupied(slot)) {
+                consumer.accept(addressAt(slot));
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package studio.blockops.vyom.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Open-addressing hash table of addresses stored as primitives, the base of
+ * {@link AddressSet} and {@link AddressMap}.
+ * <p>
+ * Each slot holds the three address fields and an occupied flag, followed by whatever
+ * the subclass stores with the address. Slots live in pages of {@link ByteBuffer}s,
+ * on the heap or off-heap, so a table of tens of millions of addresses needs neither
+ * an object per entry nor a single huge array. Collisions are resolved by linear
+ * probing and removals by shifting the following entries back, so no tombstones are
+ * left behind. The table doubles when it is two-thirds full.
+ */
+abstract class AddressTable {
+
+    private static final int HIGH = 0;
+    private static final int MIDDLE = 8;
+    private static final int LOW = 16;
+    private static final int STATE = 20;
+
+    /**
+     * Offset of the subclass data in a slot.
+     */
+    static final int DATA = 24;
+
+    private static final int OCCUPIED = 1;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Number of slots per page, a power of two
+     */
+    private static final int PAGE_SLOTS = 1 << 16;
+
+    private final int slotSize;
+
+    private final boolean offHeap;
+
+    private ByteBuffer[] pages;
+
+    /**
+     * Number of slots, a power of two
+     */
+    private int capacity;
+
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param slotSize The slot size in bytes, a multiple of 8 of at least {@link #DATA}.
+     * @param expectedSize The number of addresses to make room for.
+     * @param offHeap Whether the slots are allocated outside the Java heap.
+     */
+    AddressTable(final int slotSize, final int expectedSize, final boolean offHeap) {
+        Preconditions.checkArgument(expectedSize >= 0, "expectedSize must not be negative");
+        this.slotSize = slotSize;
+        this.offHeap = offHeap;
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the number of addresses in the table.
+     *
+     * @return The size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines if the table holds no address.
+     *
+     * @return true if the table is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all addresses, keeping the allocated slots.
+     */
+    public void clear() {
+        for (int slot = 0; slot < capacity; slot++) {
+            page(slot).putInt(offset(slot) + STATE, 0);
+        }
+        size = 0;
+    }
+
+    /**
+     * Determines if the table is allocated outside the Java heap.
+     *
+     * @return true if the slots are off-heap.
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Finds the slot of an address.
+     *
+     * @return The slot, or {@code -1 - slot} of the free slot it would be inserted into.
+     */
+    final int find(final Address address) {
+        Preconditions.checkNotNull(address);
+        final int mask = capacity - 1;
+        for (int slot = address.hashCode() & mask; ; slot = (slot + 1) & mask) {
+            final ByteBuffer page = page(slot);
+            final int offset = offset(slot);
+            if (page.getInt(offset + STATE) != OCCUPIED) {
+                return -1 - slot;
+            }
+            if (page.getLong(offset + HIGH) == address.getHigh()
+                    && page.getLong(offset + MIDDLE) == address.getMiddle()
+                    && page.getInt(offset + LOW) == address.getLow()) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of an address, inserting it if it is absent.
+     *
+     * @return The slot, or {@code -1 - slot} if the address was inserted.
+     */
+    final int insert(final Address address) {
+        int slot = find(address);
+        if (slot >= 0) {
+            return slot;
+        }
+        if (3 * (size + 1L) > 2L * capacity) {
+            grow();
+            slot = find(address);
+        }
+        final int free = -1 - slot;
+        final ByteBuffer page = page(free);
+        final int offset = offset(free);
+        page.putLong(offset + HIGH, address.getHigh());
+        page.putLong(offset + MIDDLE, address.getMiddle());
+        page.putInt(offset + LOW, address.getLow());
+        page.putInt(offset + STATE, OCCUPIED);
+        size++;
+        return slot;
+    }
+
+    /**
+     * Removes the address of an occupied slot.
+     */
+    final void delete(final int slot) {
+        final int mask = capacity - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; page(next).getInt(offset(next) + STATE) == OCCUPIED; next = (next + 1) & mask) {
+            final int home = hashAt(page(next), offset(next)) & mask;
+            // the entry may fill the hole unless its home lies cyclically in (hole, next]
+            final boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!stays) {
+                copySlot(page(next), offset(next), page(hole), offset(hole));
+                hole = next;
+            }
+        }
+        page(hole).putInt(offset(hole) + STATE, 0);
+        size--;
+    }
+
+    /**
+     * Gets the address held by an occupied slot.
+     */
+    final Address addressAt(final int slot) {
+        final ByteBuffer page = page(slot);
+        final int offset = offset(slot);
+        return new Address(page.getLong(offset + HIGH), page.getLong(offset + MIDDLE), page.getInt(offset + LOW));
+    }
+
+    /**
+     * Determines if a slot holds an address.
+     */
+    final boolean isOccupied(final int slot) {
+        return page(slot).getInt(offset(slot) + STATE) == OCCUPIED;
+    }
+
+    /**
+     * Gets the number of slots.
+     */
+    final int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the page holding a slot.
+     */
+    final ByteBuffer page(final int slot) {
+        return pages[slot / PAGE_SLOTS];
+    }
+
+    /**
+     * Gets the offset of a slot in its page.
+     */
+    final int offset(final int slot) {
+        return (slot % PAGE_SLOTS) * slotSize;
+    }
+
+    private void grow() {
+        Preconditions.checkState(capacity < MAX_CAPACITY, "table is full");
+        final ByteBuffer[] oldPages = pages;
+        final int oldCapacity = capacity;
+        allocate(capacity * 2);
+
+        final int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            final ByteBuffer oldPage = oldPages[oldSlot / PAGE_SLOTS];
+            final int oldOffset = (oldSlot % PAGE_SLOTS) * slotSize;
+            if (oldPage.getInt(oldOffset + STATE) != OCCUPIED) {
+                continue;
+            }
+            int slot = hashAt(oldPage, oldOffset) & mask;
+            while (isOccupied(slot)) {
+                slot = (slot + 1) & mask;
+            }
+            copySlot(oldPage, oldOffset, page(slot), offset(slot));
+        }
+    }
+
+    private void allocate(final int newCapacity) {
+        final int pageSlots = Math.min(newCapacity, PAGE_SLOTS);
+        final ByteBuffer[] newPages = new ByteBuffer[newCapacity / pageSlots];
+        for (int i = 0; i < newPages.length; i++) {
+            final ByteBuffer page = offHeap
+                    ? ByteBuffer.allocateDirect(pageSlots * slotSize)
+                    : ByteBuffer.allocate(pageSlots * slotSize);
+            newPages[i] = page.order(ByteOrder.nativeOrder());
+        }
+        this.pages = newPages;
+        this.capacity = newCapacity;
+    }
+
+    private static int hashAt(final ByteBuffer page, final int offset) {
+        return Address.hash(page.getLong(offset + HIGH), page.getLong(offset + MIDDLE), page.getInt(offset + LOW));
+    }
+
+    private void copySlot(final ByteBuffer from, final int fromOffset, final ByteBuffer to, final int toOffset) {
+        for (int i = 0; i < slotSize; i += 8) {
+            to.putLong(toOffset + i, from.getLong(fromOffset + i));
+        }
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        final long needed = Math.max(MIN_CAPACITY, (3L * expectedSize + 1) / 2 + 1);
+        Preconditions.checkArgument(needed <= MAX_CAPACITY, "expectedSize is too large");
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
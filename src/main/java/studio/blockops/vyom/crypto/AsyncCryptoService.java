@@ -0,0 +1,91 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service that runs signing, verification and encryption on the dedicated
+ * {@link CryptoExecutor}, completing futures with the results. The singleton is
+ * available from {@link CryptoEngine#getAsyncService()}.
+ * <p>
+ * The number of operations submitted but not yet completed is bounded: once the limit
+ * is reached, new operations fail at once with a {@link RejectedExecutionException}
+ * rather than queueing. Verifications arriving close together may be checked as one
+ * batch; the result of each is the one {@link Signer#verify(byte[], Signature)} returns.
+ */
+public interface AsyncCryptoService extends AutoCloseable {
+
+    /**
+     * Kinds of operations whose latencies are recorded.
+     */
+    enum Operation {
+        SIGN,
+        VERIFY,
+        ENCRYPT,
+        DECRYPT
+    }
+
+    /**
+     * Signs the SHA3 hash of an arbitrarily sized message.
+     *
+     * @param privateKey The private key.
+     * @param data The message to sign.
+     * @return The future signature.
+     * @see SigningService#sign(PrivateKey, byte[])
+     */
+    CompletableFuture<Signature> sign(final PrivateKey privateKey, final byte[] data);
+
+    /**
+     * Signs a message hash computed by the caller.
+     *
+     * @param privateKey The private key.
+     * @param messageHash The 32-byte SHA3 hash of the message.
+     * @return The future signature.
+     * @see SigningService#signHash(PrivateKey, byte[])
+     */
+    CompletableFuture<Signature> signHash(final PrivateKey privateKey, final byte[] messageHash);
+
+    /**
+     * Verifies a signature.
+     *
+     * @param request The message, signature and public key to check.
+     * @return The future result: true if the signature is valid.
+     */
+    CompletableFuture<Boolean> verify(final VerificationRequest request);
+
+    /**
+     * Encrypts a message.
+     *
+     * @param senderPrivateKey The sender private key.
+     * @param recipientPublicKey The recipient public key.
+     * @param input The message.
+     * @return The future cipher.
+     * @see BlockCipher#encrypt(PrivateKey, PublicKey, byte[])
+     */
+    CompletableFuture<byte[]> encrypt(final PrivateKey senderPrivateKey, final PublicKey recipientPublicKey, final byte[] input);
+
+    /**
+     * Decrypts a message.
+     *
+     * @param recipientPrivateKey The recipient private key.
+     * @param cipher The cipher.
+     * @return The future message.
+     * @see BlockCipher#decrypt(PrivateKey, byte[])
+     */
+    CompletableFuture<byte[]> decrypt(final PrivateKey recipientPrivateKey, final byte[] cipher);
+
+    /**
+     * Gets the latencies of an operation, from submission to completion.
+     *
+     * @param operation The operation.
+     * @return The live histogram of the latencies.
+     */
+    LatencyHistogram getLatencies(final Operation operation);
+
+    /**
+     * Stops accepting operations. Submitted operations are completed first; the shared
+     * {@link CryptoExecutor} keeps running.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,18 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.List;
+
+/**
+ * Interface that verifies many independent signatures at once.
+ */
+public interface BatchVerifier {
+
+    /**
+     * Verifies every request. The result of each request is the one
+     * {@link Signer#verify(byte[], Signature)} would return for it.
+     *
+     * @param requests The messages, signatures and public keys to check.
+     * @return The results, in the order of the requests.
+     */
+    boolean[] verify(final List<VerificationRequest> requests);
+}
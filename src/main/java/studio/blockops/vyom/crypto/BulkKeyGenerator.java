@@ -0,0 +1,49 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service that generates large numbers of keys in parallel.
+ * <p>
+ * The keys of one call have consecutive private keys {@code k, k + 1, ...}, so that each
+ * public key costs a point addition rather than a scalar multiplication. They are
+ * therefore related: anyone learning one private key of a range can derive all the
+ * others. Use them where the whole range is protected by the same secret, such as a
+ * pool of deposit keys held by one wallet, and never hand out a private key of a range.
+ */
+public interface BulkKeyGenerator extends AutoCloseable {
+
+    /**
+     * Generates keys with consecutive private keys starting at {@code first}, handing
+     * them to {@code consumer} on the calling thread in the order of their private keys.
+     *
+     * @param first The private key of the first key.
+     * @param count The number of keys; {@code first + count - 1} must be a valid private key.
+     * @param consumer The receiver of the keys.
+     */
+    void generate(final PrivateKey first, final int count, final Consumer<GeneratedKey> consumer);
+
+    /**
+     * Generates keys with consecutive private keys starting at {@code first}.
+     *
+     * @param first The private key of the first key.
+     * @param count The number of keys; {@code first + count - 1} must be a valid private key.
+     * @return The keys, in the order of their private keys.
+     */
+    List<GeneratedKey> generate(final PrivateKey first, final int count);
+
+    /**
+     * Generates keys with consecutive private keys starting at a random private key.
+     *
+     * @param count The number of keys.
+     * @return The keys, in the order of their private keys.
+     */
+    List<GeneratedKey> generate(final int count);
+
+    /**
+     * Stops accepting requests. The shared {@link CryptoExecutor} keeps running.
+     */
+    @Override
+    void close();
+}
@@ -13,6 +13,13 @@ public interface CryptoEngine {
      */
     Signer createSigner(final KeyPair keyPair);
 
+    /**
+     * Creates a batch signature verifier.
+     *
+     * @return The batch verifier.
+     */
+    BatchVerifier createBatchVerifier();
+
     /**
      * Creates a key generator.
      *
@@ -26,4 +33,11 @@ public interface CryptoEngine {
      * @return The IES cipher.
      */
     BlockCipher createBlockCipher();
+
+    /**
+     * Gets the asynchronous crypto service, shared by all users of the engine.
+     *
+     * @return The asynchronous crypto service singleton.
+     */
+    AsyncCryptoService getAsyncService();
 }
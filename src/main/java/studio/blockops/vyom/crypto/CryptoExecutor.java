@@ -0,0 +1,92 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Fixed pool of daemon threads running the CPU-bound work of the crypto services.
+ * <p>
+ * {@link CryptoModule} binds one instance, with a thread per available processor, that
+ * is shared by the asynchronous crypto service, the recovery service, the bulk key
+ * generator and the batch verifier, so together they never run more crypto threads than
+ * there are processors.
+ * Each service bounds its own submissions with permits; the queue holds at most
+ * {@link #QUEUED_PER_THREAD} tasks per thread on top of that, and rejects the rest with
+ * a {@link RejectedExecutionException}. Closing a service does not stop the threads;
+ * {@link #shutdown()} does, once for the whole application.
+ */
+public final class CryptoExecutor {
+
+    /**
+     * Number of tasks allowed to wait per worker thread.
+     */
+    public static final int QUEUED_PER_THREAD = 1024;
+
+    /**
+     * The worker threads
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates an executor with one thread per available processor.
+     */
+    public CryptoExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an executor with a fixed number of threads.
+     *
+     * @param threads The number of worker threads.
+     */
+    public CryptoExecutor(final int threads) {
+        Preconditions.checkArgument(threads > 0, "threads must be positive");
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(threads * QUEUED_PER_THREAD),
+                new ThreadFactoryBuilder().setNameFormat("vyom-crypto-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Gets the number of worker threads.
+     *
+     * @return The thread count.
+     */
+    public int getThreads() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * Runs a task on a worker thread.
+     *
+     * @param task The task.
+     * @throws RejectedExecutionException If the queue is full or the executor is shut down.
+     */
+    public void execute(final Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Runs a task on a worker thread.
+     *
+     * @param task The task.
+     * @return The future result of the task.
+     * @throws RejectedExecutionException If the queue is full or the executor is shut down.
+     */
+    public <T> Future<T> submit(final Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Stops the worker threads once the submitted tasks are done. Later tasks are rejected.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -3,6 +3,8 @@ package studio.blockops.vyom.crypto;
 import java.security.Provider;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
 
 /**
  * Base module for all crypto needs.
@@ -14,4 +16,12 @@ public class CryptoModule extends AbstractModule {
         bind(Provider.class).toProvider(SpongyCastleInstaller.class).asEagerSingleton();
     }
 
+    /**
+     * Guice provides method to get the {@link CryptoExecutor} shared by the crypto services
+     * @return A {@link CryptoExecutor} singleton instance
+     */
+    @Provides @Singleton
+    CryptoExecutor provideCryptoExecutor() {
+        return new CryptoExecutor();
+    }
 }
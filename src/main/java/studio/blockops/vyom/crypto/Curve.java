@@ -3,6 +3,7 @@ package studio.blockops.vyom.crypto;
 import java.math.BigInteger;
 
 import org.spongycastle.crypto.params.ECDomainParameters;
+import org.spongycastle.math.ec.ECPoint;
 
 /**
  * Interface for getting information for a curve.
@@ -36,4 +37,12 @@ public interface Curve {
      * @return The curve parameters.
      */
     ECDomainParameters getParams();
+
+    /**
+     * Multiplies the base point by a scalar.
+     *
+     * @param k The scalar.
+     * @return The normalized point k * G.
+     */
+    ECPoint multiplyGenerator(final BigInteger k);
 }
@@ -0,0 +1,319 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Implementation of the asynchronous crypto service on the shared {@link CryptoExecutor}.
+ * <p>
+ * At most {@link #DEFAULT_PENDING_PER_THREAD} operations per executor thread may be pending.
+ * Verifications are collected for up to {@link #DEFAULT_BATCH_WINDOW_MICROS}
+ * microseconds, or until {@link #MAX_BATCH_SIZE} have arrived, and checked together by
+ * a {@link BatchVerifier}. Verifications of non-canonical signatures complete at once
+ * with false, are not counted as pending and have no latency recorded.
+ */
+public class DefaultAsyncCryptoService implements AsyncCryptoService {
+
+    /**
+     * Number of submitted but not yet completed operations allowed per worker thread.
+     */
+    static final int DEFAULT_PENDING_PER_THREAD = 256;
+
+    /**
+     * Time a verification waits for others to be checked with.
+     */
+    static final long DEFAULT_BATCH_WINDOW_MICROS = 200;
+
+    /**
+     * Number of verifications that are checked as soon as they have arrived.
+     */
+    static final int MAX_BATCH_SIZE = 64;
+
+    /**
+     * A {@link CryptoEngine} creating batch verifiers and block ciphers
+     */
+    private final CryptoEngine engine;
+
+    /**
+     * A {@link SigningService} instance
+     */
+    private final SigningService signingService;
+
+    /**
+     * The worker threads, shared with the other crypto services
+     */
+    private final CryptoExecutor executor;
+
+    /**
+     * Flushes batches whose window has elapsed, or null if verifications are not batched
+     */
+    private final ScheduledExecutorService batchTimer;
+
+    private final long batchWindowNanos;
+
+    /**
+     * One permit per operation that may still be submitted
+     */
+    private final Semaphore pending;
+
+    private final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+
+    private final Object batchLock = new Object();
+
+    /**
+     * Verifications waiting for their batch to be dispatched
+     */
+    private List<PendingVerification> batch = new ArrayList<>();
+
+    /**
+     * Incremented whenever a batch is dispatched, so that a stale timer leaves the next one alone
+     */
+    private long batchGeneration;
+
+    private volatile boolean closed;
+
+    @Inject
+    private DefaultAsyncCryptoService(
+            CryptoEngine engine,
+            SigningService signingService,
+            CryptoExecutor executor) {
+        this(engine, signingService, executor,
+                executor.getThreads() * DEFAULT_PENDING_PER_THREAD, DEFAULT_BATCH_WINDOW_MICROS);
+    }
+
+    DefaultAsyncCryptoService(final CryptoEngine engine, final SigningService signingService,
+            final CryptoExecutor executor, final int maxPending, final long batchWindowMicros) {
+        Preconditions.checkNotNull(executor);
+        Preconditions.checkArgument(maxPending > 0, "maxPending must be positive");
+        Preconditions.checkArgument(batchWindowMicros >= 0, "batchWindowMicros must not be negative");
+        this.engine = engine;
+        this.signingService = signingService;
+        this.executor = executor;
+        this.pending = new Semaphore(maxPending);
+        this.batchWindowNanos = TimeUnit.MICROSECONDS.toNanos(batchWindowMicros);
+        this.batchTimer = batchWindowNanos == 0 ? null : Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("vyom-crypto-batch").setDaemon(true).build());
+        for (final Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Signature> sign(final PrivateKey privateKey, final byte[] data) {
+        Preconditions.checkNotNull(privateKey);
+        Preconditions.checkNotNull(data);
+        return submit(Operation.SIGN, () -> signingService.sign(privateKey, data));
+    }
+
+    @Override
+    public CompletableFuture<Signature> signHash(final PrivateKey privateKey, final byte[] messageHash) {
+        Preconditions.checkNotNull(privateKey);
+        Preconditions.checkNotNull(messageHash);
+        return submit(Operation.SIGN, () -> signingService.signHash(privateKey, messageHash));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> encrypt(final PrivateKey senderPrivateKey, final PublicKey recipientPublicKey, final byte[] input) {
+        Preconditions.checkNotNull(senderPrivateKey);
+        Preconditions.checkNotNull(recipientPublicKey);
+        Preconditions.checkNotNull(input);
+        return submit(Operation.ENCRYPT, () -> engine.createBlockCipher().encrypt(senderPrivateKey, recipientPublicKey, input));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> decrypt(final PrivateKey recipientPrivateKey, final byte[] cipher) {
+        Preconditions.checkNotNull(recipientPrivateKey);
+        Preconditions.checkNotNull(cipher);
+        return submit(Operation.DECRYPT, () -> engine.createBlockCipher().decrypt(recipientPrivateKey, cipher));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> verify(final VerificationRequest request) {
+        Preconditions.checkNotNull(request);
+        if (!request.getSignature().isCanonical()) {
+            // never valid: reject before taking a permit or doing any EC math
+            return CompletableFuture.completedFuture(Boolean.FALSE);
+        }
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        if (!pending.tryAcquire()) {
+            future.completeExceptionally(new RejectedExecutionException("Too many pending crypto operations"));
+            return future;
+        }
+
+        List<PendingVerification> ready = null;
+        long generation = -1;
+        synchronized (batchLock) {
+            if (closed) {
+                pending.release();
+                future.completeExceptionally(new RejectedExecutionException("Crypto service is closed"));
+                return future;
+            }
+            batch.add(new PendingVerification(request, future, System.nanoTime()));
+            if (batchTimer == null || batch.size() >= MAX_BATCH_SIZE) {
+                ready = takeBatch();
+            } else if (batch.size() == 1) {
+                generation = batchGeneration;
+            }
+        }
+
+        if (ready != null) {
+            dispatch(ready);
+        } else if (generation >= 0) {
+            final long batchToFlush = generation;
+            try {
+                batchTimer.schedule(() -> flush(batchToFlush), batchWindowNanos, TimeUnit.NANOSECONDS);
+            } catch (final RejectedExecutionException e) {
+                // closed meanwhile: close() has dispatched the batch
+            }
+        }
+        return future;
+    }
+
+    @Override
+    public LatencyHistogram getLatencies(final Operation operation) {
+        Preconditions.checkNotNull(operation);
+        return latencies.get(operation);
+    }
+
+    @Override
+    public void close() {
+        final List<PendingVerification> ready;
+        synchronized (batchLock) {
+            closed = true;
+            ready = takeBatch();
+        }
+        dispatch(ready);
+        if (batchTimer != null) {
+            batchTimer.shutdownNow();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(final Operation operation, final Supplier<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new RejectedExecutionException("Crypto service is closed"));
+            return future;
+        }
+        if (!pending.tryAcquire()) {
+            future.completeExceptionally(new RejectedExecutionException("Too many pending crypto operations"));
+            return future;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                T result = null;
+                Throwable failure = null;
+                try {
+                    result = task.get();
+                } catch (final Throwable e) {
+                    failure = e;
+                }
+                latencies.get(operation).record(System.nanoTime() - start);
+                pending.release();
+                if (failure == null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(failure);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            pending.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void flush(final long generation) {
+        final List<PendingVerification> ready;
+        synchronized (batchLock) {
+            if (generation != batchGeneration) {
+                return;
+            }
+            ready = takeBatch();
+        }
+        dispatch(ready);
+    }
+
+    /**
+     * Takes the waiting verifications. Must hold {@link #batchLock}.
+     */
+    private List<PendingVerification> takeBatch() {
+        final List<PendingVerification> ready = batch;
+        batch = new ArrayList<>();
+        batchGeneration++;
+        return ready;
+    }
+
+    private void dispatch(final List<PendingVerification> ready) {
+        if (ready.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> verifyBatch(ready));
+        } catch (final RejectedExecutionException e) {
+            pending.release(ready.size());
+            for (final PendingVerification verification : ready) {
+                verification.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void verifyBatch(final List<PendingVerification> ready) {
+        final List<VerificationRequest> requests = new ArrayList<>(ready.size());
+        for (final PendingVerification verification : ready) {
+            requests.add(verification.request);
+        }
+
+        boolean[] results = null;
+        Throwable failure = null;
+        try {
+            results = engine.createBatchVerifier().verify(requests);
+        } catch (final Throwable e) {
+            failure = e;
+        }
+
+        final long end = System.nanoTime();
+        final LatencyHistogram histogram = latencies.get(Operation.VERIFY);
+        for (final PendingVerification verification : ready) {
+            histogram.record(end - verification.start);
+        }
+        pending.release(ready.size());
+        for (int i = 0; i < ready.size(); i++) {
+            if (failure == null) {
+                ready.get(i).future.complete(results[i]);
+            } else {
+                ready.get(i).future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * A verification waiting for its batch.
+     */
+    private static final class PendingVerification {
+        private final VerificationRequest request;
+        private final CompletableFuture<Boolean> future;
+        private final long start;
+
+        private PendingVerification(final VerificationRequest request, final CompletableFuture<Boolean> future, final long start) {
+            this.request = request;
+            this.future = future;
+            this.start = start;
+        }
+    }
+}
@@ -37,6 +37,21 @@ public class ECKeyUtil {
      */
     @Nullable
     public static byte[] recoverPubBytesFromSignature(final Curve curve, final int recoverID, final Signature signature, final byte[] messageHash) {
+        final ECPoint q = recoverPublicKeyPoint(curve, recoverID, signature, messageHash);
+        return q == null ? null : q.getEncoded(/* compressed */ false);
+    }
+
+    /**
+     * Same as {@link #recoverPubBytesFromSignature(Curve, int, Signature, byte[])}, returning
+     * the normalized public key point instead of its encoding.
+     *
+     * @param recoverID Which possible key to recover.
+     * @param signature the R and S components of the signature, wrapped.
+     * @param messageHash Hash of the data that was signed.
+     * @return the public key point
+     */
+    @Nullable
+    public static ECPoint recoverPublicKeyPoint(final Curve curve, final int recoverID, final Signature signature, final byte[] messageHash) {
         Preconditions.checkArgument(recoverID >= 0, "recId must be positive");
         Preconditions.checkArgument(signature.getR().signum() >= 0, "r must be positive");
         Preconditions.checkArgument(signature.getS().signum() >= 0, "s must be positive");
@@ -54,8 +69,8 @@ public class ECKeyUtil {
         //        do another iteration of Step 1.
         //
         // More concisely, what these points mean is to use X as a compressed public key.
-        ECCurve.Fp ecCurve = (ECCurve.Fp) curve.getParams().getCurve();
-        BigInteger prime = ecCurve.getQ();  // Bouncy Castle is not consistent about the letter it uses for the prime.
+        ECCurve ecCurve = curve.getParams().getCurve();
+        BigInteger prime = ecCurve.getField().getCharacteristic();
         if (x.compareTo(prime) >= 0) {
             // Cannot have point co-ordinates larger than this as everything takes place modulo Q.
             return null;
@@ -64,7 +79,8 @@ public class ECKeyUtil {
         // So it's encoded in the recId.
         ECPoint R = decompressKey(curve, x, (recoverID & 1) == 1);
         //   1.4. If nR != point at infinity, then do another iteration of Step 1 (callers responsibility).
-        if (!R.multiply(n).isInfinity())
+        //        With a cofactor of 1 every curve point has order n, so the check always passes.
+        if (!BigInteger.ONE.equals(curve.getParams().getH()) && !R.multiply(n).isInfinity())
             return null;
         //   1.5. Compute e from M using Steps 2 and 3 of ECDSA signature verification.
         BigInteger e = new BigInteger(1, messageHash);
@@ -83,8 +99,8 @@ public class ECKeyUtil {
         BigInteger rInv = signature.getR().modInverse(n);
         BigInteger srInv = rInv.multiply(signature.getS()).mod(n);
         BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
-        ECPoint.Fp q = (ECPoint.Fp) ECAlgorithms.sumOfTwoMultiplies(curve.getParams().getG(), eInvrInv, R, srInv);
-        return q.getEncoded(/* compressed */ false);
+        ECPoint q = ECAlgorithms.sumOfTwoMultiplies(curve.getParams().getG(), eInvrInv, R, srInv);
+        return q.isInfinity() ? null : q.normalize();
     }
 
 
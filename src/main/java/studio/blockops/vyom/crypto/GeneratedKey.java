@@ -0,0 +1,58 @@
+package studio.blockops.vyom.crypto;
+
+import com.google.common.base.Preconditions;
+
+import studio.blockops.vyom.core.Address;
+
+/**
+ * Holds a key pair created by a {@link BulkKeyGenerator} together with its address.
+ */
+public final class GeneratedKey {
+
+    /**
+     * The generated key pair
+     */
+    private final KeyPair keyPair;
+
+    /**
+     * The address of the public key
+     */
+    private final Address address;
+
+    /**
+     * Creates a generated key.
+     *
+     * @param keyPair The key pair.
+     * @param address The address of the public key.
+     * @return The generated key.
+     */
+    public static GeneratedKey create(final KeyPair keyPair, final Address address) {
+        return new GeneratedKey(keyPair, address);
+    }
+
+    private GeneratedKey(final KeyPair keyPair, final Address address) {
+        Preconditions.checkNotNull(keyPair);
+        Preconditions.checkNotNull(address);
+
+        this.keyPair = keyPair;
+        this.address = address;
+    }
+
+    /**
+     * Gets the key pair.
+     *
+     * @return The key pair.
+     */
+    public KeyPair getKeyPair() {
+        return keyPair;
+    }
+
+    /**
+     * Gets the address of the public key.
+     *
+     * @return The address.
+     */
+    public Address getAddress() {
+        return address;
+    }
+}
@@ -0,0 +1,411 @@
+package studio.blockops.vyom.crypto;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Memoizes SHA3-256 hashes by input content.
+ * <p>
+ * A cache is installed with {@link Hashing#setCache(HashCache)} and consulted by the
+ * single-input {@code Hashing.sha3_256} calls, and therefore by {@link Hashing#sha3omit12(byte[])}.
+ * The default, {@link #none()}, never stores anything. A {@link #bounded(long, int, Eviction)}
+ * cache keeps at most a fixed number of hashes, evicting by the chosen {@link Eviction}
+ * policy, and lets inputs longer than a size cap bypass it.
+ * <p>
+ * Inputs come from untrusted sources, so keys are hashed with a random per-cache seed,
+ * which keeps a fixed set of colliding inputs from working against every cache. The
+ * murmur-style mix is not a keyed PRF, though: it only makes collisions harder to find,
+ * not infeasible. Keeping {@code maximumInputLength} small bounds the cost of a crowded bucket.
+ * <p>
+ * Instances are thread-safe.
+ */
+public abstract class HashCache {
+
+    /**
+     * Eviction policies of a bounded cache.
+     */
+    public enum Eviction {
+
+        /**
+         * Evicts the least recently used hash. Every lookup updates the recency order,
+         * which serializes concurrent readers of a segment.
+         */
+        LRU,
+
+        /**
+         * Evicts with the CLOCK approximation of LRU: a hit only sets a reference bit, and
+         * a store sweeps the entries in insertion order, clearing the bits, until it finds
+         * one that has not been referenced since the last sweep. Lookups take no lock.
+         */
+        CLOCK
+    }
+
+    private static final SecureRandom SEEDS = new SecureRandom();
+
+    private static final HashCache NONE = new HashCache() {
+
+        @Override
+        void lookupOrCompute(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+            Hashing.sha3_256Uncached(input, offset, length, output, outputOffset);
+        }
+
+        @Override
+        public long hitCount() {
+            return 0;
+        }
+
+        @Override
+        public long missCount() {
+            return 0;
+        }
+
+        @Override
+        public long size() {
+            return 0;
+        }
+
+        @Override
+        public void invalidateAll() {
+        }
+    };
+
+    /**
+     * Gets the cache that stores nothing.
+     *
+     * @return The no-op cache.
+     */
+    public static HashCache none() {
+        return NONE;
+    }
+
+    /**
+     * Creates an {@link Eviction#LRU} cache holding up to {@code maximumSize} hashes of
+     * inputs no longer than {@code maximumInputLength} bytes.
+     *
+     * @param maximumSize The maximum number of cached hashes.
+     * @param maximumInputLength The length in bytes above which inputs are not cached.
+     * @return The cache.
+     */
+    public static HashCache bounded(final long maximumSize, final int maximumInputLength) {
+        return bounded(maximumSize, maximumInputLength, Eviction.LRU);
+    }
+
+    /**
+     * Creates a cache holding up to {@code maximumSize} hashes of inputs no longer than
+     * {@code maximumInputLength} bytes.
+     *
+     * @param maximumSize The maximum number of cached hashes.
+     * @param maximumInputLength The length in bytes above which inputs are not cached.
+     * @param eviction The eviction policy.
+     * @return The cache.
+     */
+    public static HashCache bounded(final long maximumSize, final int maximumInputLength, final Eviction eviction) {
+        Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+        Preconditions.checkArgument(maximumInputLength >= 0, "maximumInputLength must not be negative");
+        Preconditions.checkNotNull(eviction);
+        switch (eviction) {
+        case CLOCK:
+            Preconditions.checkArgument(maximumSize <= Integer.MAX_VALUE - 8, "maximumSize is too large for CLOCK eviction");
+            return new ClockHashCache((int) maximumSize, maximumInputLength);
+        default:
+            return new LruHashCache(maximumSize, maximumInputLength);
+        }
+    }
+
+    HashCache() {
+    }
+
+    /**
+     * Copies the hash of an input into {@code output}: the cached hash if present,
+     * otherwise a newly computed one, which is then recorded. The input is keyed once
+     * for both steps.
+     */
+    abstract void lookupOrCompute(byte[] input, int offset, int length, byte[] output, int outputOffset);
+
+    /**
+     * Gets the number of lookups that found a cached hash.
+     *
+     * @return The hit count.
+     */
+    public abstract long hitCount();
+
+    /**
+     * Gets the number of lookups of cacheable inputs that found no cached hash.
+     * Inputs bypassing the cache because of their length are not counted.
+     *
+     * @return The miss count.
+     */
+    public abstract long missCount();
+
+    /**
+     * Gets the approximate number of cached hashes.
+     *
+     * @return The size.
+     */
+    public abstract long size();
+
+    /**
+     * Discards all cached hashes.
+     */
+    public abstract void invalidateAll();
+
+    private static final class LruHashCache extends HashCache {
+
+        private final int maximumInputLength;
+        private final long seed = SEEDS.nextLong();
+        private final Cache<Key, byte[]> cache;
+
+        private LruHashCache(final long maximumSize, final int maximumInputLength) {
+            this.maximumInputLength = maximumInputLength;
+            this.cache = CacheBuilder.newBuilder()
+                    .maximumSize(maximumSize)
+                    .recordStats()
+                    .build();
+        }
+
+        @Override
+        void lookupOrCompute(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+            if (length > maximumInputLength) {
+                Hashing.sha3_256Uncached(input, offset, length, output, outputOffset);
+                return;
+            }
+            final Key key = new Key(seed, input, offset, length);
+            final byte[] hash = cache.getIfPresent(key);
+            if (hash != null) {
+                System.arraycopy(hash, 0, output, outputOffset, Hashing.SHA3_256_LENGTH);
+                return;
+            }
+            Hashing.sha3_256Uncached(input, offset, length, output, outputOffset);
+            cache.put(key.copy(), Arrays.copyOfRange(output, outputOffset, outputOffset + Hashing.SHA3_256_LENGTH));
+        }
+
+        @Override
+        public long hitCount() {
+            return cache.stats().hitCount();
+        }
+
+        @Override
+        public long missCount() {
+            return cache.stats().missCount();
+        }
+
+        @Override
+        public long size() {
+            return cache.size();
+        }
+
+        @Override
+        public void invalidateAll() {
+            cache.invalidateAll();
+        }
+    }
+
+    private static final class ClockHashCache extends HashCache {
+
+        private final int maximumSize;
+        private final int maximumInputLength;
+        private final long seed = SEEDS.nextLong();
+        private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        /**
+         * The entries in clock order, guarded by {@code this}
+         */
+        private final List<Entry> clock = new ArrayList<>();
+
+        /**
+         * The position of the next eviction candidate in {@link #clock}, guarded by {@code this}
+         */
+        private int hand;
+
+        private ClockHashCache(final int maximumSize, final int maximumInputLength) {
+            this.maximumSize = maximumSize;
+            this.maximumInputLength = maximumInputLength;
+        }
+
+        @Override
+        void lookupOrCompute(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+            if (length > maximumInputLength) {
+                Hashing.sha3_256Uncached(input, offset, length, output, outputOffset);
+                return;
+            }
+            final Key lookupKey = new Key(seed, input, offset, length);
+            final Entry found = entries.get(lookupKey);
+            if (found != null) {
+                if (!found.referenced) {
+                    found.referenced = true;
+                }
+                System.arraycopy(found.hash, 0, output, outputOffset, Hashing.SHA3_256_LENGTH);
+                hits.increment();
+                return;
+            }
+            misses.increment();
+            Hashing.sha3_256Uncached(input, offset, length, output, outputOffset);
+            store(lookupKey.copy(), output, outputOffset);
+        }
+
+        private void store(final Key key, final byte[] output, final int outputOffset) {
+            final Entry entry = new Entry(key, Arrays.copyOfRange(output, outputOffset, outputOffset + Hashing.SHA3_256_LENGTH));
+            synchronized (this) {
+                if (entries.containsKey(key)) {
+                    return;
+                }
+                if (clock.size() < maximumSize) {
+                    clock.add(entry);
+                } else {
+                    Entry victim = clock.get(hand);
+                    while (victim.referenced) {
+                        victim.referenced = false;
+                        hand = (hand + 1) % maximumSize;
+                        victim = clock.get(hand);
+                    }
+                    entries.remove(victim.key);
+                    clock.set(hand, entry);
+                    hand = (hand + 1) % maximumSize;
+                }
+                entries.put(key, entry);
+            }
+        }
+
+        @Override
+        public long hitCount() {
+            return hits.sum();
+        }
+
+        @Override
+        public long missCount() {
+            return misses.sum();
+        }
+
+        @Override
+        public long size() {
+            return entries.size();
+        }
+
+        @Override
+        public synchronized void invalidateAll() {
+            entries.clear();
+            clock.clear();
+            hand = 0;
+        }
+
+        private static final class Entry {
+
+            private final Key key;
+            private final byte[] hash;
+
+            /**
+             * Set by lookups, cleared by the sweeping hand
+             */
+            private volatile boolean referenced;
+
+            private Entry(final Key key, final byte[] hash) {
+                this.key = key;
+                this.hash = hash;
+            }
+        }
+    }
+
+    /**
+     * Content key over a region of an array. Lookups wrap the caller's array in place;
+     * stored keys own a private copy.
+     */
+    private static final class Key {
+
+        private final byte[] data;
+        private final int offset;
+        private final int length;
+        private final int hash;
+
+        private Key(final long seed, final byte[] data, final int offset, final int length) {
+            this(data, offset, length, hash(seed, data, offset, length));
+        }
+
+        private Key(final byte[] data, final int offset, final int length, final int hash) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        /**
+         * Gets a key owning a copy of this key's region, keeping the computed hash.
+         */
+        private Key copy() {
+            return new Key(Arrays.copyOfRange(data, offset, offset + length), 0, length, hash);
+        }
+
+        /**
+         * Seeded hash of a region, mixing eight bytes at a time as murmur3 does and
+         * finishing with its 64-bit finalizer.
+         */
+        private static int hash(final long seed, final byte[] data, final int offset, final int length) {
+            long h = seed ^ length;
+            final int end = offset + length;
+            int i = offset;
+            for (; i + 8 <= end; i += 8) {
+                h ^= mix(readLong(data, i));
+                h = Long.rotateLeft(h, 27) * 5 + 0x52DCE729;
+            }
+            long tail = 0;
+            for (int shift = 0; i < end; i++, shift += 8) {
+                tail |= (data[i] & 0xFFL) << shift;
+            }
+            h ^= mix(tail);
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+
+        private static long mix(long k) {
+            k *= 0x87C37B91114253D5L;
+            k = Long.rotateLeft(k, 31);
+            return k * 0x4CF5AD432745937FL;
+        }
+
+        private static long readLong(final byte[] data, final int offset) {
+            long value = 0;
+            for (int i = 7; i >= 0; i--) {
+                value = (value << 8) | (data[offset + i] & 0xFF);
+            }
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            if (hash != other.hash || length != other.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (data[offset + i] != other.data[other.offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
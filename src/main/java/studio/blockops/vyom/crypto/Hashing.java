@@ -1,18 +1,126 @@
 package studio.blockops.vyom.crypto;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.NoSuchProviderException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.ethereum.crypto.cryptohash.Keccak256;
+import org.ethereum.crypto.cryptohash.Keccak512;
+import org.spongycastle.crypto.digests.RIPEMD160Digest;
+import org.spongycastle.util.encoders.Hex;
+
+import com.google.common.base.Preconditions;
 
 /**
  * Static class that exposes hash functions.
+ * <p>
+ * Hashes are computed directly on thread-confined {@link Keccak256}, {@link Keccak512}
+ * and {@link RIPEMD160Digest} instances, bypassing the JCA provider lookup and reusing
+ * the engine state of the calling thread. No JCA provider is consulted, so installing
+ * another one does not change these hashes; the digests registered by
+ * {@link SpongyCastleInstaller} only serve code calling {@code MessageDigest} itself.
+ * <p>
+ * On JDK 16+ with the {@code jdk.incubator.vector} module present, batches are
+ * hashed by a multi-buffer SIMD engine. It is loaded reflectively and can be
+ * disabled by setting the {@code vyom.keccak.vector} system property to {@code false};
+ * otherwise, and on older JVMs, batches use the scalar engine.
+ * <p>
+ * Single-input SHA3-256 hashes can be memoized by installing a {@link HashCache}
+ * with {@link #setCache(HashCache)}; by default nothing is cached. The hashes of the
+ * empty string and of the RLP encodings of an empty string and an empty list are never
+ * recomputed: they are recognized by length and copied from precomputed values.
  */
 public class Hashing {
 
-    private static final String SHA3_256_ALGORITHM = "ETH-KECCAK-256";
-    private static final String SHA3_512_ALGORITHM = "ETH-KECCAK-512";
-    private static final String RIPEMD160_ALGORITHM = "RIPEMD160";
+    /**
+     * Length in bytes of a SHA3-256 hash.
+     */
+    public static final int SHA3_256_LENGTH = 32;
+
+    /**
+     * Length in bytes of a SHA3-512 hash.
+     */
+    public static final int SHA3_512_LENGTH = 64;
+
+    /**
+     * Length in bytes of a RIPEMD160 hash.
+     */
+    public static final int RIPEMD160_LENGTH = 20;
+
+    /**
+     * SHA3-256 hash of the empty byte string
+     */
+    private static final byte[] EMPTY_DATA_HASH = Hex.decode("c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470");
+
+    /**
+     * SHA3-256 hash of the RLP encoding of an empty list ({@code 0xc0})
+     */
+    private static final byte[] EMPTY_LIST_HASH = Hex.decode("1dcc4de8dec75d7aab85b567b6ccd41ad312451b948a7413f0a142fd40d49347");
+
+    /**
+     * SHA3-256 hash of the RLP encoding of an empty string ({@code 0x80}), the root hash of an empty trie
+     */
+    private static final byte[] EMPTY_TRIE_HASH = Hex.decode("56e81f171bcc55a6ff8345e692c0f86e5b48e01b996cadc001622fb5e363b421");
+
+    /**
+     * Number of messages from which a batch is split across the common {@link ForkJoinPool}.
+     * Smaller batches are hashed on the calling thread.
+     */
+    public static final int BATCH_PARALLEL_THRESHOLD = 512;
+
+    /**
+     * Number of messages hashed by a single fork-join task.
+     */
+    private static final int BATCH_CHUNK_SIZE = 128;
+
+    private static final String VECTOR_ENGINE_PROPERTY = "vyom.keccak.vector";
+    private static final String VECTOR_ENGINE_CLASS = "studio.blockops.vyom.crypto.VectorKeccak256";
+
+    /**
+     * Multi-buffer engine used for batches, or null when only the scalar engine is available.
+     */
+    private static final MultiKeccak256 MULTI_KECCAK_256 = loadMultiKeccak256();
+
+    /**
+     * Per-thread Keccak-256 engine, always left in its reset state between calls.
+     */
+    private static final ThreadLocal<Keccak256> KECCAK_256 = ThreadLocal.withInitial(Keccak256::new);
+
+    /**
+     * Per-thread Keccak-512 engine, always left in its reset state between calls.
+     */
+    private static final ThreadLocal<Keccak512> KECCAK_512 = ThreadLocal.withInitial(Keccak512::new);
+
+    /**
+     * Per-thread RIPEMD160 engine, always left in its reset state between calls.
+     */
+    private static final ThreadLocal<RIPEMD160Digest> RIPEMD_160 = ThreadLocal.withInitial(RIPEMD160Digest::new);
+
+    /**
+     * Memo cache consulted by the single-input SHA3-256 calls.
+     */
+    private static volatile HashCache cache = HashCache.none();
+
+    /**
+     * Installs the cache consulted by the single-input SHA3-256 calls.
+     *
+     * @param hashCache The cache, {@link HashCache#none()} to disable caching.
+     */
+    public static void setCache(final HashCache hashCache) {
+        Preconditions.checkNotNull(hashCache);
+        cache = hashCache;
+    }
+
+    /**
+     * Gets the cache consulted by the single-input SHA3-256 calls.
+     *
+     * @return The installed cache.
+     */
+    public static HashCache getCache() {
+        return cache;
+    }
 
     /**
      * Performs a SHA3-256 hash of the concatenated inputs.
@@ -22,7 +130,220 @@ public class Hashing {
      * @throws CryptoException if the hash operation failed.
      */
     public static byte[] sha3_256(final byte[]... inputs) {
-        return hash(SHA3_256_ALGORITHM, inputs);
+        final byte[] output = new byte[SHA3_256_LENGTH];
+        sha3_256(output, 0, inputs);
+        return output;
+    }
+
+    /**
+     * Performs a SHA3-256 hash of the concatenated inputs and stores it into
+     * a caller supplied buffer.
+     *
+     * @param output The buffer receiving the 32-byte hash.
+     * @param outputOffset The offset in {@code output} at which the hash is written.
+     * @param inputs The byte arrays to concatenate and hash.
+     */
+    public static void sha3_256(final byte[] output, final int outputOffset, final byte[]... inputs) {
+        Preconditions.checkNotNull(inputs);
+        if (inputs.length == 1) {
+            Preconditions.checkNotNull(inputs[0]);
+            sha3_256(inputs[0], 0, inputs[0].length, output, outputOffset);
+            return;
+        }
+        int totalLength = 0;
+        for (final byte[] input : inputs) {
+            Preconditions.checkNotNull(input);
+            totalLength += input.length;
+        }
+        checkOutput(output, outputOffset, SHA3_256_LENGTH);
+        if (totalLength == 0) {
+            System.arraycopy(EMPTY_DATA_HASH, 0, output, outputOffset, SHA3_256_LENGTH);
+            return;
+        }
+
+        final Keccak256 digest = KECCAK_256.get();
+        for (final byte[] input : inputs) {
+            digest.update(input, 0, input.length);
+        }
+        digest.digest(output, outputOffset, SHA3_256_LENGTH);
+    }
+
+    /**
+     * Performs a SHA3-256 hash of a region of the input and stores it into
+     * a caller supplied buffer.
+     *
+     * @param input The buffer holding the data to hash.
+     * @param offset The offset of the data in {@code input}.
+     * @param length The length of the data.
+     * @param output The buffer receiving the 32-byte hash.
+     * @param outputOffset The offset in {@code output} at which the hash is written.
+     */
+    public static void sha3_256(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+        Preconditions.checkNotNull(input);
+        Preconditions.checkPositionIndexes(offset, offset + length, input.length);
+        checkOutput(output, outputOffset, SHA3_256_LENGTH);
+
+        final byte[] wellKnown = wellKnownHash(length, length == 1 ? input[offset] : 0);
+        if (wellKnown != null) {
+            System.arraycopy(wellKnown, 0, output, outputOffset, SHA3_256_LENGTH);
+            return;
+        }
+        cache.lookupOrCompute(input, offset, length, output, outputOffset);
+    }
+
+    /**
+     * Performs a SHA3-256 hash of a region of the input on the thread-confined engine,
+     * bypassing the installed {@link HashCache}. The caches compute their misses here.
+     *
+     * @param input The buffer holding the data to hash.
+     * @param offset The offset of the data in {@code input}.
+     * @param length The length of the data.
+     * @param output The buffer receiving the hash.
+     * @param outputOffset The offset of the hash in {@code output}.
+     */
+    static void sha3_256Uncached(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+        final Keccak256 digest = KECCAK_256.get();
+        digest.update(input, offset, length);
+        digest.digest(output, outputOffset, SHA3_256_LENGTH);
+    }
+
+    /**
+     * Performs a SHA3-256 hash of the remaining bytes of a heap or direct buffer.
+     * The input is read in place and its position is advanced to its limit.
+     *
+     * @param input The buffer holding the data to hash.
+     * @return The hash of the data.
+     */
+    public static byte[] sha3_256(final ByteBuffer input) {
+        final byte[] output = new byte[SHA3_256_LENGTH];
+        sha3_256(input, output, 0);
+        return output;
+    }
+
+    /**
+     * Performs a SHA3-256 hash of the remaining bytes of a heap or direct buffer
+     * and stores it into a caller supplied buffer. The input is read in place and
+     * its position is advanced to its limit.
+     *
+     * @param input The buffer holding the data to hash.
+     * @param output The buffer receiving the 32-byte hash.
+     * @param outputOffset The offset in {@code output} at which the hash is written.
+     */
+    public static void sha3_256(final ByteBuffer input, final byte[] output, final int outputOffset) {
+        Preconditions.checkNotNull(input);
+        checkOutput(output, outputOffset, SHA3_256_LENGTH);
+
+        final int length = input.remaining();
+        final byte[] wellKnown = wellKnownHash(length, length == 1 ? input.get(input.position()) : 0);
+        if (wellKnown != null) {
+            System.arraycopy(wellKnown, 0, output, outputOffset, SHA3_256_LENGTH);
+            input.position(input.limit());
+            return;
+        }
+        final Keccak256 digest = KECCAK_256.get();
+        digest.update(input);
+        digest.digest(output, outputOffset, SHA3_256_LENGTH);
+    }
+
+    /**
+     * Performs a SHA3-256 hash of each input independently.
+     *
+     * @param inputs The messages to hash.
+     * @return The hashes, in the order of the inputs.
+     * @see #sha3_256Batch(byte[][], byte[][])
+     */
+    public static List<byte[]> sha3_256Batch(final List<byte[]> inputs) {
+        Preconditions.checkNotNull(inputs);
+        final byte[][] outputs = new byte[inputs.size()][];
+        sha3_256Batch(inputs.toArray(new byte[inputs.size()][]), outputs);
+        return Arrays.asList(outputs);
+    }
+
+    /**
+     * Performs a SHA3-256 hash of each input independently, storing the hash of
+     * {@code inputs[i]} into {@code outputs[i]}. A {@code null} output slot is filled
+     * with a new array; otherwise the hash is written at the start of the supplied array.
+     * <p>
+     * Every worker reuses its thread-confined engine for all the messages it handles.
+     * Batches of at least {@link #BATCH_PARALLEL_THRESHOLD} messages are split across
+     * the common {@link ForkJoinPool}.
+     *
+     * @param inputs The messages to hash.
+     * @param outputs The hash slots, of the same length as {@code inputs}.
+     */
+    public static void sha3_256Batch(final byte[][] inputs, final byte[][] outputs) {
+        Preconditions.checkNotNull(inputs);
+        Preconditions.checkNotNull(outputs);
+        Preconditions.checkArgument(inputs.length == outputs.length, "inputs and outputs must have the same length");
+        // validate everything before filling any slot, so a rejected call leaves outputs untouched
+        for (int i = 0; i < inputs.length; i++) {
+            Preconditions.checkNotNull(inputs[i]);
+            if (outputs[i] != null) {
+                checkOutput(outputs[i], 0, SHA3_256_LENGTH);
+            }
+        }
+        for (int i = 0; i < outputs.length; i++) {
+            if (outputs[i] == null) {
+                outputs[i] = new byte[SHA3_256_LENGTH];
+            }
+        }
+
+        if (inputs.length < BATCH_PARALLEL_THRESHOLD) {
+            sha3_256Range(inputs, outputs, 0, inputs.length);
+        } else {
+            ForkJoinPool.commonPool().invoke(new Sha3_256BatchTask(inputs, outputs, 0, inputs.length));
+        }
+    }
+
+    private static void sha3_256Range(final byte[][] inputs, final byte[][] outputs, final int from, final int to) {
+        if (MULTI_KECCAK_256 != null) {
+            MULTI_KECCAK_256.sha3_256(inputs, outputs, from, to);
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            sha3_256Uncached(inputs[i], outputs[i]);
+        }
+    }
+
+    /**
+     * Performs a SHA3-256 hash of a whole message on the thread-confined engine,
+     * bypassing the installed {@link HashCache}. Batch hashing goes through here on
+     * every engine, so batches never read or fill the memo cache.
+     *
+     * @param input The message to hash.
+     * @param output The buffer receiving the 32-byte hash at its start.
+     */
+    static void sha3_256Uncached(final byte[] input, final byte[] output) {
+        final byte[] wellKnown = wellKnownHash(input.length, input.length == 1 ? input[0] : 0);
+        if (wellKnown != null) {
+            System.arraycopy(wellKnown, 0, output, 0, SHA3_256_LENGTH);
+            return;
+        }
+        sha3_256Uncached(input, 0, input.length, output, 0);
+    }
+
+    /**
+     * Recognizes the inputs whose hash is precomputed.
+     *
+     * @param length The input length.
+     * @param first The first input byte, only meaningful when {@code length} is 1.
+     * @return The precomputed hash, or null if the input is not one of the well-known ones.
+     */
+    private static byte[] wellKnownHash(final int length, final byte first) {
+        if (length == 0) {
+            return EMPTY_DATA_HASH;
+        }
+        if (length == 1) {
+            final int b = first & 0xFF;
+            if (b == 0x80) {
+                return EMPTY_TRIE_HASH;
+            }
+            if (b == 0xc0) {
+                return EMPTY_LIST_HASH;
+            }
+        }
+        return null;
     }
 
     /**
@@ -30,10 +351,50 @@ public class Hashing {
      *
      * @param inputs The byte arrays to concatenate and hash.
      * @return The hash of the concatenated inputs.
-     * @throws CryptoException if the hash operation failed.
      */
     public static byte[] sha3_512(final byte[]... inputs) {
-        return hash(SHA3_512_ALGORITHM, inputs);
+        final byte[] output = new byte[SHA3_512_LENGTH];
+        sha3_512(output, 0, inputs);
+        return output;
+    }
+
+    /**
+     * Performs a SHA3-512 hash of the concatenated inputs and stores it into
+     * a caller supplied buffer.
+     *
+     * @param output The buffer receiving the 64-byte hash.
+     * @param outputOffset The offset in {@code output} at which the hash is written.
+     * @param inputs The byte arrays to concatenate and hash.
+     */
+    public static void sha3_512(final byte[] output, final int outputOffset, final byte[]... inputs) {
+        checkInputs(inputs);
+        checkOutput(output, outputOffset, SHA3_512_LENGTH);
+
+        final Keccak512 digest = KECCAK_512.get();
+        for (final byte[] input : inputs) {
+            digest.update(input, 0, input.length);
+        }
+        digest.digest(output, outputOffset, SHA3_512_LENGTH);
+    }
+
+    /**
+     * Performs a SHA3-512 hash of a region of the input and stores it into
+     * a caller supplied buffer.
+     *
+     * @param input The buffer holding the data to hash.
+     * @param offset The offset of the data in {@code input}.
+     * @param length The length of the data.
+     * @param output The buffer receiving the 64-byte hash.
+     * @param outputOffset The offset in {@code output} at which the hash is written.
+     */
+    public static void sha3_512(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+        Preconditions.checkNotNull(input);
+        Preconditions.checkPositionIndexes(offset, offset + length, input.length);
+        checkOutput(output, outputOffset, SHA3_512_LENGTH);
+
+        final Keccak512 digest = KECCAK_512.get();
+        digest.update(input, offset, length);
+        digest.digest(output, outputOffset, SHA3_512_LENGTH);
     }
 
     /**
@@ -54,26 +415,105 @@ public class Hashing {
      *
      * @param inputs The byte arrays to concatenate and hash.
      * @return The hash of the concatenated inputs.
-     * @throws CryptoException if the hash operation failed.
      */
     public static byte[] ripemd160(final byte[]... inputs) {
-        return hash(RIPEMD160_ALGORITHM, inputs);
+        final byte[] output = new byte[RIPEMD160_LENGTH];
+        ripemd160(output, 0, inputs);
+        return output;
+    }
+
+    /**
+     * Performs a RIPEMD160 hash of the concatenated inputs and stores it into
+     * a caller supplied buffer.
+     *
+     * @param output The buffer receiving the 20-byte hash.
+     * @param outputOffset The offset in {@code output} at which the hash is written.
+     * @param inputs The byte arrays to concatenate and hash.
+     */
+    public static void ripemd160(final byte[] output, final int outputOffset, final byte[]... inputs) {
+        checkInputs(inputs);
+        checkOutput(output, outputOffset, RIPEMD160_LENGTH);
+
+        final RIPEMD160Digest digest = RIPEMD_160.get();
+        for (final byte[] input : inputs) {
+            digest.update(input, 0, input.length);
+        }
+        digest.doFinal(output, outputOffset);
+    }
+
+    /**
+     * Performs a RIPEMD160 hash of a region of the input and stores it into
+     * a caller supplied buffer.
+     *
+     * @param input The buffer holding the data to hash.
+     * @param offset The offset of the data in {@code input}.
+     * @param length The length of the data.
+     * @param output The buffer receiving the 20-byte hash.
+     * @param outputOffset The offset in {@code output} at which the hash is written.
+     */
+    public static void ripemd160(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+        Preconditions.checkNotNull(input);
+        Preconditions.checkPositionIndexes(offset, offset + length, input.length);
+        checkOutput(output, outputOffset, RIPEMD160_LENGTH);
+
+        final RIPEMD160Digest digest = RIPEMD_160.get();
+        digest.update(input, offset, length);
+        digest.doFinal(output, outputOffset);
     }
 
-    private static byte[] hash(final String algorithm, final byte[]... inputs) {
-        MessageDigest digest = null;
+    private static MultiKeccak256 loadMultiKeccak256() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_ENGINE_PROPERTY, "true"))) {
+            return null;
+        }
         try {
-            digest = MessageDigest.getInstance(algorithm, "SC");
+            return (MultiKeccak256) Class.forName(VECTOR_ENGINE_CLASS).getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            // not compiled in, JVM older than 16, incubator module missing or no usable SIMD width
+            return null;
+        }
+    }
 
-            for (final byte[] input : inputs) {
-                digest.update(input);
-            }
-        } catch (NoSuchAlgorithmException e) {
-            throw new CryptoException(e);
-        } catch (NoSuchProviderException e) {
-            throw new CryptoException(e);
+    private static void checkInputs(final byte[]... inputs) {
+        Preconditions.checkNotNull(inputs);
+        for (final byte[] input : inputs) {
+            Preconditions.checkNotNull(input);
         }
+    }
 
-        return digest.digest();
+    private static void checkOutput(final byte[] output, final int outputOffset, final int length) {
+        Preconditions.checkNotNull(output);
+        Preconditions.checkPositionIndexes(outputOffset, outputOffset + length, output.length);
+    }
+
+    /**
+     * Hashes a slice of a batch, halving it until it fits in a single chunk.
+     */
+    private static final class Sha3_256BatchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -3218760941295637418L;
+
+        private final byte[][] inputs;
+        private final byte[][] outputs;
+        private final int from;
+        private final int to;
+
+        private Sha3_256BatchTask(final byte[][] inputs, final byte[][] outputs, final int from, final int to) {
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_CHUNK_SIZE) {
+                sha3_256Range(inputs, outputs, from, to);
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(
+                        new Sha3_256BatchTask(inputs, outputs, from, middle),
+                        new Sha3_256BatchTask(inputs, outputs, middle, to));
+            }
+        }
     }
 }
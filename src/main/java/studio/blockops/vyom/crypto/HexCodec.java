@@ -0,0 +1,153 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Table-driven hex encoding and decoding.
+ * <p>
+ * Bytes are encoded to lowercase digits; both cases are decoded. The buffer variants
+ * read and write caller supplied arrays and allocate nothing; the others allocate only
+ * their result. Unlike SpongyCastle's {@code Hex}, no intermediate streams are created
+ * and whitespace is not skipped.
+ */
+public final class HexCodec {
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The two digits of every byte value, high digit first
+     */
+    private static final char[] BYTE_DIGITS = new char[2 * 256];
+
+    /**
+     * The value of every ASCII digit, or -1
+     */
+    private static final byte[] DIGIT_VALUES = new byte[128];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            BYTE_DIGITS[2 * i] = DIGITS[i >>> 4];
+            BYTE_DIGITS[2 * i + 1] = DIGITS[i & 0x0F];
+        }
+        Arrays.fill(DIGIT_VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            DIGIT_VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            DIGIT_VALUES['a' + i] = (byte) (10 + i);
+            DIGIT_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private HexCodec() {
+    }
+
+    /**
+     * Encodes bytes as a lowercase hex string.
+     *
+     * @param input The bytes to encode.
+     * @return The hex string.
+     */
+    public static String encode(final byte[] input) {
+        Preconditions.checkNotNull(input);
+        final char[] output = new char[2 * input.length];
+        encode(input, 0, input.length, output, 0);
+        return new String(output);
+    }
+
+    /**
+     * Encodes a region of bytes as lowercase hex digits into a caller supplied buffer.
+     *
+     * @param input The buffer holding the bytes to encode.
+     * @param offset The offset of the bytes in {@code input}.
+     * @param length The number of bytes.
+     * @param output The buffer receiving {@code 2 * length} digits.
+     * @param outputOffset The offset in {@code output} at which the digits are written.
+     */
+    public static void encode(final byte[] input, final int offset, final int length, final char[] output, final int outputOffset) {
+        Preconditions.checkNotNull(input);
+        Preconditions.checkNotNull(output);
+        Preconditions.checkPositionIndexes(offset, offset + length, input.length);
+        Preconditions.checkPositionIndexes(outputOffset, outputOffset + 2 * length, output.length);
+        for (int i = 0; i < length; i++) {
+            final int digits = 2 * (input[offset + i] & 0xFF);
+            output[outputOffset + 2 * i] = BYTE_DIGITS[digits];
+            output[outputOffset + 2 * i + 1] = BYTE_DIGITS[digits + 1];
+        }
+    }
+
+    /**
+     * Encodes one byte as two lowercase hex digits into a caller supplied buffer.
+     *
+     * @param value The byte to encode.
+     * @param output The buffer receiving the digits.
+     * @param outputOffset The offset in {@code output} at which the digits are written.
+     */
+    public static void encode(final byte value, final char[] output, final int outputOffset) {
+        Preconditions.checkNotNull(output);
+        Preconditions.checkPositionIndexes(outputOffset, outputOffset + 2, output.length);
+        final int digits = 2 * (value & 0xFF);
+        output[outputOffset] = BYTE_DIGITS[digits];
+        output[outputOffset + 1] = BYTE_DIGITS[digits + 1];
+    }
+
+    /**
+     * Decodes a hex string.
+     *
+     * @param input The hex digits, of either case.
+     * @return The decoded bytes.
+     * @throws CryptoException if the input has an odd length or a character that is not a hex digit.
+     */
+    public static byte[] decode(final CharSequence input) {
+        Preconditions.checkNotNull(input);
+        if (input.length() % 2 != 0) {
+            throw new CryptoException("Hex string has an odd length");
+        }
+        final byte[] output = new byte[input.length() / 2];
+        decode(input, 0, input.length(), output, 0);
+        return output;
+    }
+
+    /**
+     * Decodes a region of hex digits into a caller supplied buffer.
+     *
+     * @param input The hex digits, of either case.
+     * @param offset The offset of the digits in {@code input}.
+     * @param length The number of digits, even.
+     * @param output The buffer receiving {@code length / 2} bytes.
+     * @param outputOffset The offset in {@code output} at which the bytes are written.
+     * @throws CryptoException if the region has an odd length or a character that is not a hex digit.
+     */
+    public static void decode(final CharSequence input, final int offset, final int length, final byte[] output, final int outputOffset) {
+        Preconditions.checkNotNull(input);
+        Preconditions.checkNotNull(output);
+        Preconditions.checkPositionIndexes(offset, offset + length, input.length());
+        if (length % 2 != 0) {
+            throw new CryptoException("Hex string has an odd length");
+        }
+        Preconditions.checkPositionIndexes(outputOffset, outputOffset + length / 2, output.length);
+        for (int i = 0; i < length; i += 2) {
+            output[outputOffset + i / 2] = (byte) (digit(input.charAt(offset + i)) << 4 | digit(input.charAt(offset + i + 1)));
+        }
+    }
+
+    /**
+     * Gets the value of a hex digit.
+     *
+     * @param c The digit, of either case.
+     * @return The value, or -1 if {@code c} is not a hex digit.
+     */
+    static int digitValue(final char c) {
+        return c < DIGIT_VALUES.length ? DIGIT_VALUES[c] : -1;
+    }
+
+    private static int digit(final char c) {
+        final int value = digitValue(c);
+        if (value < 0) {
+            throw new CryptoException("Invalid hex character: " + c);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,119 @@
+package studio.blockops.vyom.crypto;
+
+import java.nio.ByteBuffer;
+
+import org.ethereum.crypto.cryptohash.Keccak256;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Incremental SHA3-256 (Keccak-256) hasher.
+ * <p>
+ * Data is absorbed with the {@code update} methods and the hash is produced by
+ * {@link #digest()} or {@link #digestInto(byte[], int)}, after which the hasher is
+ * reset and can be reused. {@link #copy()} forks the current sponge state, so a
+ * common prefix can be absorbed once and completed with different suffixes.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class Keccak256Hasher {
+
+    /**
+     * The underlying sponge
+     */
+    private final Keccak256 digest;
+
+    /**
+     * Creates a new hasher in its initial state.
+     *
+     * @return The hasher.
+     */
+    public static Keccak256Hasher create() {
+        return new Keccak256Hasher(new Keccak256());
+    }
+
+    private Keccak256Hasher(final Keccak256 digest) {
+        this.digest = digest;
+    }
+
+    /**
+     * Absorbs a single byte.
+     *
+     * @param input The byte.
+     */
+    public void update(final byte input) {
+        digest.update(input);
+    }
+
+    /**
+     * Absorbs a byte array.
+     *
+     * @param input The bytes.
+     */
+    public void update(final byte[] input) {
+        Preconditions.checkNotNull(input);
+        digest.update(input, 0, input.length);
+    }
+
+    /**
+     * Absorbs a region of a byte array.
+     *
+     * @param input The buffer holding the bytes.
+     * @param offset The offset of the bytes in {@code input}.
+     * @param length The number of bytes.
+     */
+    public void update(final byte[] input, final int offset, final int length) {
+        Preconditions.checkNotNull(input);
+        Preconditions.checkPositionIndexes(offset, offset + length, input.length);
+        digest.update(input, offset, length);
+    }
+
+    /**
+     * Absorbs the remaining bytes of a heap or direct buffer, advancing its position to its limit.
+     *
+     * @param input The buffer.
+     */
+    public void update(final ByteBuffer input) {
+        Preconditions.checkNotNull(input);
+        digest.update(input);
+    }
+
+    /**
+     * Creates an independent hasher holding the same absorbed state as this one.
+     *
+     * @return The copy.
+     */
+    public Keccak256Hasher copy() {
+        return new Keccak256Hasher((Keccak256) digest.copy());
+    }
+
+    /**
+     * Completes the hash and resets this hasher.
+     *
+     * @return The 32-byte hash.
+     */
+    public byte[] digest() {
+        final byte[] output = new byte[Hashing.SHA3_256_LENGTH];
+        digest.digest(output, 0, Hashing.SHA3_256_LENGTH);
+        return output;
+    }
+
+    /**
+     * Completes the hash into a caller supplied buffer and resets this hasher.
+     *
+     * @param output The buffer receiving the 32-byte hash.
+     * @param outputOffset The offset in {@code output} at which the hash is written.
+     */
+    public void digestInto(final byte[] output, final int outputOffset) {
+        Preconditions.checkNotNull(output);
+        Preconditions.checkPositionIndexes(outputOffset, outputOffset + Hashing.SHA3_256_LENGTH, output.length);
+        digest.digest(output, outputOffset, Hashing.SHA3_256_LENGTH);
+    }
+
+    /**
+     * Discards the absorbed data.
+     */
+    public void reset() {
+        digest.reset();
+    }
+}
@@ -0,0 +1,94 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Histogram of latencies in power-of-two nanosecond buckets.
+ * <p>
+ * Bucket {@code i} counts latencies from {@code 2^i} to {@code 2^(i+1) - 1} nanoseconds,
+ * so percentiles are reported to within a factor of two. Recording is lock-free;
+ * readings taken while latencies are recorded may be slightly inconsistent.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    /**
+     * Number of latencies per bucket
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Sum of all recorded latencies
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    void record(final long nanos) {
+        final long value = Math.max(nanos, 1);
+        counts.incrementAndGet(63 - Long.numberOfLeadingZeros(value));
+        totalNanos.add(value);
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the mean of the recorded latencies.
+     *
+     * @return The mean in nanoseconds, or 0 if none was recorded.
+     */
+    public long getMeanNanos() {
+        final long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / count;
+    }
+
+    /**
+     * Gets an upper bound of a percentile of the recorded latencies.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The upper bound of the bucket holding the percentile in nanoseconds, or 0 if none was recorded.
+     */
+    public long getPercentileNanos(final double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+        final long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,21 @@
+package studio.blockops.vyom.crypto;
+
+/**
+ * Engine computing the SHA3-256 hashes of several independent messages at once.
+ * <p>
+ * Used behind {@link Hashing#sha3_256Batch(byte[][], byte[][])} when an implementation
+ * is available on the running JVM; see {@link Hashing} for how it is loaded.
+ */
+interface MultiKeccak256 {
+
+    /**
+     * Hashes {@code inputs[i]} into the first 32 bytes of {@code outputs[i]}
+     * for every {@code i} in {@code [from, to)}. Arguments are validated by the caller.
+     *
+     * @param inputs The messages to hash.
+     * @param outputs The hash slots.
+     * @param from The first index to hash, inclusive.
+     * @param to The last index to hash, exclusive.
+     */
+    void sha3_256(final byte[][] inputs, final byte[][] outputs, final int from, final int to);
+}
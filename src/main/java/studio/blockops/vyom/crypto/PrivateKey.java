@@ -3,8 +3,6 @@ package studio.blockops.vyom.crypto;
 import java.math.BigInteger;
 
 import org.ethereum.util.ByteUtil;
-import org.spongycastle.util.encoders.DecoderException;
-import org.spongycastle.util.encoders.Hex;
 
 import com.google.common.base.Preconditions;
 
@@ -51,12 +49,8 @@ public final class PrivateKey {
      * @return The new private key.
      */
     public static PrivateKey createFromHexString(final String value) {
-        try {
-            Preconditions.checkNotNull(value);
-            return new PrivateKey(new BigInteger(1, Hex.decode(value)));
-        } catch (final DecoderException e) {
-            throw new CryptoException(e);
-        }
+        Preconditions.checkNotNull(value);
+        return new PrivateKey(new BigInteger(1, HexCodec.decode(value)));
     }
 
     private PrivateKey(final BigInteger value) {
@@ -94,7 +88,7 @@ public final class PrivateKey {
 
     @Override
     public String toString() {
-        return Hex.toHexString(ByteUtil.bigIntegerToBytes(this.value));
+        return HexCodec.encode(ByteUtil.bigIntegerToBytes(this.value));
     }
 
 }
@@ -2,22 +2,46 @@ package studio.blockops.vyom.crypto;
 
 import java.util.Arrays;
 
-import org.spongycastle.util.encoders.DecoderException;
-import org.spongycastle.util.encoders.Hex;
+import org.spongycastle.math.ec.ECPoint;
 
 import com.google.common.base.Preconditions;
 
+import studio.blockops.vyom.core.Address;
+
 /**
  * Represents a public key.
+ * <p>
+ * A key created from its curve point carries the point, so that the code receiving it
+ * neither decodes it nor multiplies the generator again; its compressed and
+ * uncompressed encodings and its address are computed on first use and cached. Keys
+ * created from an encoding have no address until a key generator has checked that
+ * the encoding is a curve point.
  */
 public final class PublicKey {
 
     private static final int COMPRESSED_KEY_SIZE = 33;
 
+    private static final int UNCOMPRESSED_KEY_SIZE = 65;
+
+    /**
+     * The normalized point of the key, or null if the key was created from its encoding
+     */
+    private final ECPoint point;
+
+    /**
+     * The raw public key value, computed from the point on first use
+     */
+    private volatile byte[] value;
+
+    /**
+     * The uncompressed encoding, computed from the point on first use
+     */
+    private volatile byte[] uncompressed;
+
     /**
-     * The raw public key value
+     * The address, computed from the point on first use
      */
-    private final byte[] value;
+    private volatile Address address;
 
     /**
      * Creates a new public key.
@@ -30,6 +54,19 @@ public final class PublicKey {
         return new PublicKey(value);
     }
 
+    /**
+     * Creates a new public key from its curve point. The raw value is the compressed
+     * encoding of the point.
+     *
+     * @param point The point.
+     * @return The new public key.
+     */
+    public static PublicKey createFromPoint(final ECPoint point) {
+        Preconditions.checkNotNull(point);
+        Preconditions.checkArgument(!point.isInfinity(), "point must not be infinity");
+        return new PublicKey(point.normalize());
+    }
+
     /**
      * Creates a new public key from a hex string.
      *
@@ -37,27 +74,92 @@ public final class PublicKey {
      * @return The new public key.
      */
     public static PublicKey createFromHexString(final String value) {
-        try {
-            Preconditions.checkNotNull(value);
-            return new PublicKey(Hex.decode(value));
-        } catch (final DecoderException e) {
-            throw new CryptoException(e);
-        }
+        Preconditions.checkNotNull(value);
+        return new PublicKey(HexCodec.decode(value));
     }
 
     private PublicKey(final byte[] value) {
+        this.point = null;
         this.value = value;
     }
 
+    private PublicKey(final ECPoint point) {
+        this.point = point;
+    }
+
     /**
      * Returns raw private key value
      * @return raw private key value as byte array
      */
     public byte[] getRaw() {
-        return this.value;
+        byte[] raw = this.value;
+        if (raw == null) {
+            raw = point.getEncoded(true);
+            this.value = raw;
+        }
+        return raw;
+    }
+
+    /**
+     * Gets the curve point of the key, if it is known.
+     *
+     * @return The normalized point, or null if the key was created from its encoding.
+     */
+    public ECPoint getPoint() {
+        return point;
+    }
+
+    /**
+     * Gets the uncompressed encoding of the key, if it is known without decoding the key.
+     *
+     * @return A copy of the 65-byte encoding, or null if the key was created from a compressed encoding.
+     */
+    public byte[] getUncompressed() {
+        final byte[] encoded = uncompressed();
+        return encoded == null ? null : encoded.clone();
+    }
+
+    /**
+     * Gets the cached uncompressed encoding, which for a key created from a 65-byte
+     * encoding is the raw value itself. The array is never handed out.
+     */
+    private byte[] uncompressed() {
+        byte[] encoded = this.uncompressed;
+        if (encoded == null) {
+            if (point != null) {
+                encoded = point.getEncoded(false);
+            } else if (value.length == UNCOMPRESSED_KEY_SIZE && value[0] == 0x04) {
+                encoded = value;
+            } else {
+                return null;
+            }
+            this.uncompressed = encoded;
+        }
+        return encoded;
+    }
+
+    /**
+     * Gets the address of a key that carries its point. The address of an encoded key,
+     * which may not be a curve point, is computed by {@link KeyGenerator#computeAddress(PublicKey)}.
+     *
+     * @return The address, or null if the key was created from its encoding.
+     */
+    public Address getAddress() {
+        Address known = this.address;
+        if (known == null) {
+            if (point == null) {
+                return null;
+            }
+            final byte[] hash = new byte[Hashing.SHA3_256_LENGTH];
+            Hashing.sha3_256(uncompressed(), 1, UNCOMPRESSED_KEY_SIZE - 1, hash, 0);
+            known = Address.create(hash, Address.HASH_OFFSET);
+            this.address = known;
+        }
+        return known;
     }
 
     public boolean isCompressed() {
+        final byte[] value = getRaw();
         if (COMPRESSED_KEY_SIZE != value.length) {
             return false;
         }
@@ -73,7 +175,7 @@ public final class PublicKey {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(this.value);
+        return Arrays.hashCode(getRaw());
     }
 
     @Override
@@ -89,12 +191,12 @@ public final class PublicKey {
         }
 
         final PublicKey other = (PublicKey) obj;
-        return Arrays.equals(this.value, other.value);
+        return Arrays.equals(getRaw(), other.getRaw());
     }
 
     @Override
     public String toString() {
-        return Hex.toHexString(this.value);
+        return HexCodec.encode(getRaw());
     }
 
 }
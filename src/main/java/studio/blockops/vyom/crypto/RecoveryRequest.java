@@ -0,0 +1,56 @@
+package studio.blockops.vyom.crypto;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Holds a message hash and a recoverable signature of it.
+ */
+public final class RecoveryRequest {
+
+    /**
+     * The SHA3 hash of the signed message
+     */
+    private final byte[] messageHash;
+
+    /**
+     * The signature, with the recovery id in its v-part
+     */
+    private final Signature signature;
+
+    /**
+     * Creates a new recovery request.
+     *
+     * @param messageHash The SHA3 hash of the signed message.
+     * @param signature The signature, with the recovery id in its v-part.
+     * @return The recovery request.
+     */
+    public static RecoveryRequest create(final byte[] messageHash, final Signature signature) {
+        return new RecoveryRequest(messageHash, signature);
+    }
+
+    private RecoveryRequest(final byte[] messageHash, final Signature signature) {
+        Preconditions.checkNotNull(messageHash);
+        Preconditions.checkNotNull(signature);
+
+        this.messageHash = messageHash;
+        this.signature = signature;
+    }
+
+    /**
+     * Gets the SHA3 hash of the signed message.
+     *
+     * @return The message hash.
+     */
+    public byte[] getMessageHash() {
+        return messageHash;
+    }
+
+    /**
+     * Gets the signature.
+     *
+     * @return The signature.
+     */
+    public Signature getSignature() {
+        return signature;
+    }
+}
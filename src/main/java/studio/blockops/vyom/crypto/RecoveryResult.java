@@ -0,0 +1,73 @@
+package studio.blockops.vyom.crypto;
+
+import studio.blockops.vyom.core.Address;
+
+/**
+ * Holds the signer recovered from a {@link RecoveryRequest}.
+ */
+public final class RecoveryResult {
+
+    private static final RecoveryResult FAILED = new RecoveryResult(null, null);
+
+    /**
+     * The recovered public key
+     */
+    private final PublicKey publicKey;
+
+    /**
+     * The address of the recovered public key
+     */
+    private final Address address;
+
+    /**
+     * Creates a result holding a recovered signer.
+     *
+     * @param publicKey The recovered public key.
+     * @param address The address of the public key.
+     * @return The recovery result.
+     */
+    public static RecoveryResult create(final PublicKey publicKey, final Address address) {
+        return new RecoveryResult(publicKey, address);
+    }
+
+    /**
+     * Gets the result of a request whose signer could not be recovered.
+     *
+     * @return The failed recovery result.
+     */
+    public static RecoveryResult failed() {
+        return FAILED;
+    }
+
+    private RecoveryResult(final PublicKey publicKey, final Address address) {
+        this.publicKey = publicKey;
+        this.address = address;
+    }
+
+    /**
+     * Determines if the signer was recovered.
+     *
+     * @return true if the public key and address are available.
+     */
+    public boolean isRecovered() {
+        return publicKey != null;
+    }
+
+    /**
+     * Gets the recovered public key, in compressed form.
+     *
+     * @return The public key, or null if recovery failed.
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /**
+     * Gets the address of the recovered public key.
+     *
+     * @return The address, or null if recovery failed.
+     */
+    public Address getAddress() {
+        return address;
+    }
+}
@@ -0,0 +1,34 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service that recovers the signers of many signatures in parallel.
+ */
+public interface RecoveryService extends AutoCloseable {
+
+    /**
+     * Recovers the signer of every request, handing the results to {@code consumer}
+     * on the calling thread in the order of the requests, as soon as each is available.
+     *
+     * @param requests The message hashes and signatures.
+     * @param consumer The receiver of the results.
+     */
+    void recover(final List<RecoveryRequest> requests, final Consumer<RecoveryResult> consumer);
+
+    /**
+     * Recovers the signer of every request.
+     *
+     * @param requests The message hashes and signatures.
+     * @return The results, in the order of the requests.
+     */
+    List<RecoveryResult> recover(final List<RecoveryRequest> requests);
+
+    /**
+     * Stops accepting requests. Pending recoveries are completed first; the shared
+     * {@link CryptoExecutor} keeps running.
+     */
+    @Override
+    void close();
+}
@@ -1,39 +1,57 @@
 package studio.blockops.vyom.crypto;
 
-import static org.ethereum.util.BIUtil.isLessThan;
-import static org.ethereum.util.BIUtil.isMoreThan;
-
 import java.math.BigInteger;
 import java.util.Arrays;
-import java.util.Objects;
 
 import org.ethereum.config.Constants;
-import org.ethereum.util.ByteUtil;
-import org.spongycastle.util.encoders.Hex;
+import org.spongycastle.util.BigIntegers;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 
 /**
  * ECDSA Signature
+ * <p>
+ * The signature is held as its 64-byte big-endian {@code r || s} encoding and v. The
+ * {@link BigInteger} values of r and s are only built when first requested. Range checks
+ * on binary input run in constant time.
  */
 public class Signature {
 
     /**
-     * The r-part of the signature.
+     * Length in bytes of each of r and s.
      */
-    private final BigInteger r;
+    public static final int COMPONENT_LENGTH = 32;
 
     /**
-     * The s-part of the signature.
+     * Length in bytes of the binary representation of the signature with its recovery id.
      */
-    private final BigInteger s;
+    public static final int ENCODED_LENGTH = 2 * COMPONENT_LENGTH + 1;
+
+    private static final byte[] MIN_EXCLUSIVE = BigIntegers.asUnsignedByteArray(COMPONENT_LENGTH, BigInteger.ONE);
+    private static final byte[] MAX_EXCLUSIVE = BigIntegers.asUnsignedByteArray(COMPONENT_LENGTH, Constants.getSECP256K1N());
+    private static final byte[] HALF_ORDER = BigIntegers.asUnsignedByteArray(COMPONENT_LENGTH, Constants.getSECP256K1N().shiftRight(1));
+
+    /**
+     * The big-endian r-part followed by the big-endian s-part of the signature.
+     */
+    private final byte[] rs;
 
     /**
      * The v-part (Recovery ID) of the signature.
      */
     private final byte v;
 
+    /**
+     * The r-part of the signature, built on first use.
+     */
+    private BigInteger r;
+
+    /**
+     * The s-part of the signature, built on first use.
+     */
+    private BigInteger s;
+
     /**
      * Creates a new signature.
      *
@@ -41,26 +59,30 @@ public class Signature {
      * @param s The s-part of the signature.
      */
     public static Signature create(final BigInteger r, final BigInteger s) {
-        validate(r, s, (byte) 0);
-        return new Signature(r, s, (byte) 0);
+        return create(r, s, (byte) 0);
     }
 
     /**
      * Creates a new signature.
      *
-     * @param bytes The binary representation of the signature.
+     * @param bytes The binary representation of the signature: {@code r || s}, optionally
+     *              followed by a recovery id of 0 or 1 that sets v to 27 or 28.
      */
     public static Signature create(final byte[] bytes) {
         Preconditions.checkNotNull(bytes);
         Preconditions.checkArgument(
-                (64 != bytes.length),
-                "binary signature representation must be 64 bytes");
-
-        BigInteger r = new BigInteger(1, Arrays.copyOfRange(bytes, 0, 32));
-        BigInteger s = new BigInteger(1, Arrays.copyOfRange(bytes, 32, 64));
-
-        validate(r, s, (byte) 0);
-        return new Signature(r, s, (byte) 0);
+                (2 * COMPONENT_LENGTH == bytes.length || ENCODED_LENGTH == bytes.length),
+                "binary signature representation must be 64 or 65 bytes");
+
+        byte v = 0;
+        if (ENCODED_LENGTH == bytes.length) {
+            final byte recoverID = bytes[2 * COMPONENT_LENGTH];
+            Preconditions.checkArgument(recoverID == 0 || recoverID == 1, "Not a valid value for the recovery id");
+            v = (byte) (recoverID + 27);
+        }
+        final byte[] rs = Arrays.copyOf(bytes, 2 * COMPONENT_LENGTH);
+        validate(rs, v);
+        return new Signature(rs, v, null, null);
     }
 
     /**
@@ -73,14 +95,14 @@ public class Signature {
         Preconditions.checkNotNull(r);
         Preconditions.checkNotNull(s);
         Preconditions.checkArgument(
-                (32 != r.length || 32 != s.length),
+                (COMPONENT_LENGTH == r.length && COMPONENT_LENGTH == s.length),
                 "binary signature representation of r and s must both have 32 bytes length");
 
-        final BigInteger r1 = new BigInteger(1, r);
-        final BigInteger s1 = new BigInteger(1, s);
-
-        validate(r1, s1, (byte) 0);
-        return new Signature(r1, s1, (byte) 0);
+        final byte[] rs = new byte[2 * COMPONENT_LENGTH];
+        System.arraycopy(r, 0, rs, 0, COMPONENT_LENGTH);
+        System.arraycopy(s, 0, rs, COMPONENT_LENGTH, COMPONENT_LENGTH);
+        validate(rs, (byte) 0);
+        return new Signature(rs, (byte) 0, null, null);
     }
 
     /**
@@ -91,10 +113,7 @@ public class Signature {
      * @param v The v-part of the signature.
      */
     public static Signature create(final String r, final String s, final byte v) {
-        final BigInteger r1 = new BigInteger(r);
-        final BigInteger s1 = new BigInteger(s);
-        validate(r1, s1, v);
-        return new Signature(r1, s1, v);
+        return create(new BigInteger(r), new BigInteger(s), v);
     }
 
     /**
@@ -104,27 +123,68 @@ public class Signature {
      * @param s The s-part of the signature.
      */
     public static Signature create(final BigInteger r, final BigInteger s, final byte v) {
-        validate(r, s, v);
-        return new Signature(r, s, v);
+        Preconditions.checkNotNull(r);
+        Preconditions.checkNotNull(s);
+        Preconditions.checkArgument(r.signum() > 0, "r cannot be less than 1");
+        Preconditions.checkArgument(s.signum() > 0, "s cannot be less than 1");
+        Preconditions.checkArgument(r.bitLength() <= 8 * COMPONENT_LENGTH, "r cannot be more than max value%s", Constants.getSECP256K1N());
+        Preconditions.checkArgument(s.bitLength() <= 8 * COMPONENT_LENGTH, "s cannot be more than max value%s", Constants.getSECP256K1N());
+
+        final byte[] rs = new byte[2 * COMPONENT_LENGTH];
+        writeComponent(r, rs, 0);
+        writeComponent(s, rs, COMPONENT_LENGTH);
+        validate(rs, v);
+        return new Signature(rs, v, r, s);
     }
 
-    private Signature(final BigInteger r, final BigInteger s, final byte v) {
+    private Signature(final byte[] rs, final byte v, final BigInteger r, final BigInteger s) {
+        this.rs = rs;
+        this.v = v;
         this.r = r;
         this.s = s;
-        this.v = v;
     }
 
-    private static void validate(final BigInteger r, final BigInteger s, final byte v) {
-        Preconditions.checkNotNull(r);
-        Preconditions.checkNotNull(s);
-
+    private static void validate(final byte[] rs, final byte v) {
         Preconditions.checkArgument(v == 0 || v == 27 || v == 28, "Not a valid value for v");
 
-        Preconditions.checkArgument(isMoreThan(r, BigInteger.ONE), "r cannot be less than 1");
-        Preconditions.checkArgument(isMoreThan(s, BigInteger.ONE), "s cannot be less than 1");
+        Preconditions.checkArgument(isLessThan(MIN_EXCLUSIVE, 0, rs, 0), "r cannot be less than 1");
+        Preconditions.checkArgument(isLessThan(MIN_EXCLUSIVE, 0, rs, COMPONENT_LENGTH), "s cannot be less than 1");
+
+        Preconditions.checkArgument(isLessThan(rs, 0, MAX_EXCLUSIVE, 0), "r cannot be more than max value%s", Constants.getSECP256K1N());
+        Preconditions.checkArgument(isLessThan(rs, COMPONENT_LENGTH, MAX_EXCLUSIVE, 0), "s cannot be more than max value%s", Constants.getSECP256K1N());
+    }
+
+    /**
+     * Compares two 32-byte big-endian unsigned numbers in time independent of their values.
+     *
+     * @return true if {@code a < b}.
+     */
+    private static boolean isLessThan(final byte[] a, final int aOffset, final byte[] b, final int bOffset) {
+        int borrow = 0;
+        for (int i = COMPONENT_LENGTH - 1; i >= 0; i--) {
+            borrow = ((a[aOffset + i] & 0xFF) - (b[bOffset + i] & 0xFF) - borrow) >>> 31;
+        }
+        return borrow == 1;
+    }
+
+    /**
+     * Subtracts a 32-byte big-endian unsigned number from a larger one in time independent
+     * of their values.
+     */
+    private static void subtract(final byte[] a, final byte[] b, final int bOffset, final byte[] output, final int outputOffset) {
+        int borrow = 0;
+        for (int i = COMPONENT_LENGTH - 1; i >= 0; i--) {
+            final int difference = (a[i] & 0xFF) - (b[bOffset + i] & 0xFF) - borrow;
+            output[outputOffset + i] = (byte) difference;
+            borrow = difference >>> 31;
+        }
+    }
 
-        Preconditions.checkArgument(isLessThan(r, Constants.getSECP256K1N()), "r cannot be more than max value" + Constants.getSECP256K1N());
-        Preconditions.checkArgument(isLessThan(s, Constants.getSECP256K1N()), "s cannot be more than max value" + Constants.getSECP256K1N());
+    private static void writeComponent(final BigInteger value, final byte[] output, final int offset) {
+        final byte[] bytes = value.toByteArray();
+        // toByteArray may carry a leading sign byte
+        final int length = Math.min(bytes.length, COMPONENT_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, output, offset + COMPONENT_LENGTH - length, length);
     }
 
     /**
@@ -133,16 +193,21 @@ public class Signature {
      * @return The r-part of the signature.
      */
     public BigInteger getR() {
-        return r;
+        BigInteger value = r;
+        if (value == null) {
+            value = new BigInteger(1, getBinaryR());
+            r = value;
+        }
+        return value;
     }
 
     /**
      * Gets the r-part of the signature.
      *
-     * @return The r-part of the signature.
+     * @return The 32-byte big-endian r-part of the signature.
      */
     public byte[] getBinaryR() {
-        return this.r.toByteArray();
+        return Arrays.copyOfRange(rs, 0, COMPONENT_LENGTH);
     }
 
     /**
@@ -151,16 +216,21 @@ public class Signature {
      * @return The s-part of the signature.
      */
     public BigInteger getS() {
-        return s;
+        BigInteger value = s;
+        if (value == null) {
+            value = new BigInteger(1, getBinaryS());
+            s = value;
+        }
+        return value;
     }
 
     /**
      * Gets the s-part of the signature.
      *
-     * @return The s-part of the signature.
+     * @return The 32-byte big-endian s-part of the signature.
      */
     public byte[] getBinaryS() {
-        return this.s.toByteArray();
+        return Arrays.copyOfRange(rs, COMPONENT_LENGTH, 2 * COMPONENT_LENGTH);
     }
 
     /**
@@ -172,18 +242,54 @@ public class Signature {
         return v;
     }
 
+    /**
+     * Determines if the signature is canonical, that is if its s-part is at most half the
+     * group order. The binary s-part is compared in constant time, without building a
+     * {@link BigInteger}.
+     *
+     * @return true if the signature is canonical.
+     */
+    public boolean isCanonical() {
+        return !isLessThan(HALF_ORDER, 0, rs, COMPONENT_LENGTH);
+    }
+
+    /**
+     * Gets the canonical form of the signature. A non-canonical s-part is replaced by
+     * {@code N - s}, which negates the nonce point R, so a recovery id in v is flipped too.
+     *
+     * @return This signature if it is canonical, its canonical form otherwise.
+     */
+    public Signature toCanonical() {
+        if (isCanonical()) {
+            return this;
+        }
+        final byte[] canonical = Arrays.copyOf(rs, 2 * COMPONENT_LENGTH);
+        subtract(MAX_EXCLUSIVE, rs, COMPONENT_LENGTH, canonical, COMPONENT_LENGTH);
+        return new Signature(canonical, v == 0 ? v : (byte) (55 - v), r, null);
+    }
+
     /**
      * Gets a big-endian 65-byte representation of the signature with recoverID.
      *
      * @return a big-endian 65-byte representation of the signature with recoverID.
      */
     public byte[] getBytes() {
-        final byte fixedV = (this.v>=27) ? (byte) (this.v - 27) : this.v;
+        final byte[] bytes = new byte[ENCODED_LENGTH];
+        writeTo(bytes, 0);
+        return bytes;
+    }
 
-        return ByteUtil.merge(
-                ByteUtil.bigIntegerToBytes(this.r),
-                ByteUtil.bigIntegerToBytes(this.s),
-                new byte[]{fixedV});
+    /**
+     * Writes the big-endian 65-byte representation of the signature with recoverID.
+     *
+     * @param output The array to write to.
+     * @param offset The offset of the first byte written.
+     */
+    public void writeTo(final byte[] output, final int offset) {
+        Preconditions.checkNotNull(output);
+        Preconditions.checkPositionIndexes(offset, offset + ENCODED_LENGTH, output.length);
+        System.arraycopy(rs, 0, output, offset, 2 * COMPONENT_LENGTH);
+        output[offset + 2 * COMPONENT_LENGTH] = (v >= 27) ? (byte) (v - 27) : v;
     }
 
     /**
@@ -191,19 +297,22 @@ public class Signature {
      * @return Hex representation of this Signature
      */
     public String toHexString() {
-        return Hex.toHexString(getBytes());
+        final char[] digits = new char[2 * ENCODED_LENGTH];
+        HexCodec.encode(rs, 0, 2 * COMPONENT_LENGTH, digits, 0);
+        HexCodec.encode((v >= 27) ? (byte) (v - 27) : v, digits, 4 * COMPONENT_LENGTH);
+        return new String(digits);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(r, s, v);
+        return 31 * Arrays.hashCode(rs) + v;
     }
 
     @Override
     public boolean equals(Object object) {
         if (object instanceof Signature) {
             Signature that = (Signature) object;
-            return Objects.equals(this.r, that.r) && Objects.equals(this.s, that.s) && Objects.equals(this.v, that.v);
+            return this.v == that.v && Arrays.equals(this.rs, that.rs);
         }
         return false;
     }
@@ -211,8 +320,8 @@ public class Signature {
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-                .add("r", r)
-                .add("s", s)
+                .add("r", getR())
+                .add("s", getS())
                 .add("v", v)
                 .toString();
     }
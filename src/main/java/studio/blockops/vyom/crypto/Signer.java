@@ -13,6 +13,15 @@ public interface Signer {
      */
     Signature sign(final byte[] data);
 
+    /**
+     * Signs the SHA3 hash of an arbitrarily sized message, producing a canonical signature
+     * whose v-part holds the recovery id of the signer's public key.
+     *
+     * @param data The message to sign.
+     * @return The generated signature.
+     */
+    Signature signRecoverable(final byte[] data);
+
     /**
      * Makes this signature canonical.
      *
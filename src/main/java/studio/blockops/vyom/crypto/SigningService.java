@@ -0,0 +1,28 @@
+package studio.blockops.vyom.crypto;
+
+/**
+ * Stateless, thread-safe service that signs with any private key.
+ * <p>
+ * Signatures are the ones {@link Signer#signRecoverable(byte[])} produces for the same key:
+ * deterministic, canonical, and with the recovery id of the signer's public key in v.
+ */
+public interface SigningService {
+
+    /**
+     * Signs the SHA3 hash of an arbitrarily sized message.
+     *
+     * @param privateKey The private key.
+     * @param data The message to sign.
+     * @return The generated signature.
+     */
+    Signature sign(final PrivateKey privateKey, final byte[] data);
+
+    /**
+     * Signs a message hash computed by the caller.
+     *
+     * @param privateKey The private key.
+     * @param messageHash The 32-byte SHA3 hash of the message.
+     * @return The generated signature.
+     */
+    Signature signHash(final PrivateKey privateKey, final byte[] messageHash);
+}
@@ -0,0 +1,73 @@
+package studio.blockops.vyom.crypto;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Holds a message, its signature and the public key expected to have signed it.
+ */
+public final class VerificationRequest {
+
+    /**
+     * The original message
+     */
+    private final byte[] data;
+
+    /**
+     * The signature of the message
+     */
+    private final Signature signature;
+
+    /**
+     * The public key of the signer
+     */
+    private final PublicKey publicKey;
+
+    /**
+     * Creates a new verification request.
+     *
+     * @param data The original message.
+     * @param signature The signature of the message.
+     * @param publicKey The public key of the signer.
+     * @return The verification request.
+     */
+    public static VerificationRequest create(final byte[] data, final Signature signature, final PublicKey publicKey) {
+        return new VerificationRequest(data, signature, publicKey);
+    }
+
+    private VerificationRequest(final byte[] data, final Signature signature, final PublicKey publicKey) {
+        Preconditions.checkNotNull(data);
+        Preconditions.checkNotNull(signature);
+        Preconditions.checkNotNull(publicKey);
+
+        this.data = data;
+        this.signature = signature;
+        this.publicKey = publicKey;
+    }
+
+    /**
+     * Gets the original message.
+     *
+     * @return The message.
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Gets the signature of the message.
+     *
+     * @return The signature.
+     */
+    public Signature getSignature() {
+        return signature;
+    }
+
+    /**
+     * Gets the public key of the signer.
+     *
+     * @return The public key.
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+}
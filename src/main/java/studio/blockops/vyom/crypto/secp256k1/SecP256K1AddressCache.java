@@ -0,0 +1,104 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import studio.blockops.vyom.core.Address;
+import studio.blockops.vyom.crypto.PublicKey;
+
+/**
+ * Memoizes the addresses of public keys by their encoding.
+ * <p>
+ * Keys received as encodings, such as those of incoming transactions, are new objects
+ * every time; the cache spares them decoding a compressed key, a modular square root,
+ * and hashing once their address has been computed. Keys that carry their point
+ * memoize their address themselves and are not cached. An entry takes a few hundred
+ * bytes; the cache keeps at most a fixed number of keys, evicting the least recently
+ * used ones.
+ * <p>
+ * One instance is shared by the key generators of a {@link SecP256K1Module}. Instances
+ * are thread-safe.
+ */
+public class SecP256K1AddressCache {
+
+    /**
+     * Number of public keys cached when none is configured.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 16384;
+
+    /**
+     * The computed addresses
+     */
+    private final Cache<PublicKey, Address> cache;
+
+    /**
+     * Constructor
+     *
+     * @param maximumSize The maximum number of cached public keys.
+     */
+    SecP256K1AddressCache(final long maximumSize) {
+        Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the cached address of a public key.
+     *
+     * @param publicKey The public key.
+     * @return The address, or null if it is not cached.
+     */
+    public Address getIfPresent(final PublicKey publicKey) {
+        Preconditions.checkNotNull(publicKey);
+        return cache.getIfPresent(publicKey);
+    }
+
+    /**
+     * Caches the address of a public key.
+     *
+     * @param publicKey The public key.
+     * @param address Its address.
+     */
+    public void put(final PublicKey publicKey, final Address address) {
+        Preconditions.checkNotNull(publicKey);
+        Preconditions.checkNotNull(address);
+        cache.put(PublicKey.create(publicKey.getRaw().clone()), address);
+    }
+
+    /**
+     * Gets the number of lookups that found a cached address.
+     *
+     * @return The hit count.
+     */
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * Gets the number of lookups that found no cached address.
+     *
+     * @return The miss count.
+     */
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Gets the approximate number of cached addresses.
+     *
+     * @return The size.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Discards all cached addresses.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
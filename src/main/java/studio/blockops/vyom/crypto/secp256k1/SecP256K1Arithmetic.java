@@ -0,0 +1,70 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import org.spongycastle.asn1.sec.SECNamedCurves;
+import org.spongycastle.asn1.x9.X9ECParameters;
+import org.spongycastle.crypto.ec.CustomNamedCurves;
+import org.spongycastle.crypto.params.ECDomainParameters;
+import org.spongycastle.math.ec.ECCurve;
+import org.spongycastle.math.ec.WNafL2RMultiplier;
+
+/**
+ * Point arithmetic backing a {@link SecP256K1Curve}.
+ * <p>
+ * All choices compute identical keys, signatures and shared secrets; they differ only
+ * in speed. The GLV choices split every scalar {@code k} into two half-length scalars
+ * with {@code k*P = k1*P + k2*phi(P)}, where {@code phi(x, y) = (beta*x, y)} is the
+ * curve endomorphism, halving the doublings of variable-base multiplications such as
+ * those of verification, recovery and ECDH.
+ */
+public enum SecP256K1Arithmetic {
+
+    /**
+     * Generic prime-field arithmetic on {@code BigInteger}s, without the endomorphism.
+     * The reference to compare the other choices against.
+     */
+    GENERIC {
+        @Override
+        ECDomainParameters createParameters() {
+            final X9ECParameters params = SECNamedCurves.getByName(CURVE_NAME);
+            final ECCurve curve = params.getCurve().configure()
+                    .setEndomorphism(null)
+                    .setMultiplier(new WNafL2RMultiplier())
+                    .create();
+            return new ECDomainParameters(curve, curve.importPoint(params.getG()), params.getN(), params.getH());
+        }
+    },
+
+    /**
+     * Generic prime-field arithmetic on {@code BigInteger}s with the GLV endomorphism.
+     */
+    GENERIC_GLV {
+        @Override
+        ECDomainParameters createParameters() {
+            return fromX9(SECNamedCurves.getByName(CURVE_NAME));
+        }
+    },
+
+    /**
+     * Field arithmetic specialized for the secp256k1 prime on 32-bit limbs with the
+     * GLV endomorphism. The fastest choice and the default.
+     */
+    CUSTOM_GLV {
+        @Override
+        ECDomainParameters createParameters() {
+            return fromX9(CustomNamedCurves.getByName(CURVE_NAME));
+        }
+    };
+
+    private static final String CURVE_NAME = "secp256k1";
+
+    /**
+     * Creates the domain parameters of secp256k1 on this arithmetic.
+     *
+     * @return The domain parameters.
+     */
+    abstract ECDomainParameters createParameters();
+
+    private static ECDomainParameters fromX9(final X9ECParameters params) {
+        return new ECDomainParameters(params.getCurve(), params.getG(), params.getN(), params.getH());
+    }
+}
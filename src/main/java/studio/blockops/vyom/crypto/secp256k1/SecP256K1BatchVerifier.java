@@ -0,0 +1,328 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.spongycastle.crypto.params.ECPublicKeyParameters;
+import org.spongycastle.crypto.signers.ECDSASigner;
+import org.spongycastle.math.ec.ECAlgorithms;
+import org.spongycastle.math.ec.ECCurve;
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.util.BigIntegers;
+
+import com.google.common.base.Preconditions;
+
+import studio.blockops.vyom.crypto.BatchVerifier;
+import studio.blockops.vyom.crypto.CryptoException;
+import studio.blockops.vyom.crypto.CryptoExecutor;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.VerificationRequest;
+
+/**
+ * Implementation of the batch signature verifier for SECP256K1.
+ * <p>
+ * Each signature {@code (r, s, v)} determines its nonce point {@code R} from {@code r}
+ * and the recovery id in {@code v}. A group of signatures is valid if, for random
+ * 128-bit weights {@code a_i},
+ * <pre>
+ * sum(a_i * R_i) = sum(a_i * z_i / s_i) * G + sum(a_i * r_i / s_i * Q_i)
+ * </pre>
+ * which is checked with a single multi-scalar multiplication. A failing group is
+ * bisected until the bad signatures are isolated and checked one by one, so the
+ * result of every request is the one {@link SecP256K1Signer#verify(byte[], Signature)}
+ * returns. Signatures without a recovery id or whose {@code R} cannot be rebuilt are
+ * always checked individually.
+ * <p>
+ * Messages are hashed as one batch, public keys are decoded through the shared
+ * {@link SecP256K1PointCache}, and groups of {@link #GROUP_SIZE} signatures are checked
+ * in parallel on the shared {@link CryptoExecutor}. The calling thread checks groups too,
+ * and only waits for groups already being checked by a worker, so a verification running
+ * on the executor itself cannot deadlock it; a full executor queue just leaves more
+ * groups to the caller.
+ */
+public class SecP256K1BatchVerifier implements BatchVerifier {
+
+    /**
+     * Number of signatures combined into one equation by a single task.
+     */
+    static final int GROUP_SIZE = 64;
+
+    /**
+     * Size up to which a group is verified signature by signature rather than combined.
+     */
+    private static final int INDIVIDUAL_THRESHOLD = 2;
+
+    private static final int WEIGHT_BITS = 128;
+
+    /**
+     * Random Number Generator
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * A {@link SecP256K1Curve} instance
+     */
+    private final Curve curve;
+
+    /**
+     * The shared {@link SecP256K1PointCache} decoding public keys
+     */
+    private final SecP256K1PointCache pointCache;
+
+    /**
+     * The shared {@link CryptoExecutor} checking the groups
+     */
+    private final CryptoExecutor executor;
+
+    @Inject
+    private SecP256K1BatchVerifier(
+            Curve curve,
+            SecP256K1PointCache pointCache,
+            CryptoExecutor executor) {
+        this.curve = curve;
+        this.pointCache = pointCache;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean[] verify(final List<VerificationRequest> requests) {
+        Preconditions.checkNotNull(requests);
+        final int count = requests.size();
+        final boolean[] results = new boolean[count];
+        if (count == 0) {
+            return results;
+        }
+
+        final byte[][] messages = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            messages[i] = requests.get(i).getData();
+        }
+        final byte[][] hashes = new byte[count][];
+        Hashing.sha3_256Batch(messages, hashes);
+
+        final Item[] items = new Item[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = prepare(i, requests.get(i), hashes[i]);
+        }
+
+        if (count <= GROUP_SIZE) {
+            verifyGroup(items, 0, count, results);
+        } else {
+            verifyGroups(items, results);
+        }
+        return results;
+    }
+
+    private void verifyGroups(final Item[] items, final boolean[] results) {
+        final Groups groups = new Groups(items, results);
+        final int helpers = Math.min(executor.getThreads(), groups.count - 1);
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(groups::drain);
+            } catch (final RejectedExecutionException e) {
+                break;
+            }
+        }
+        groups.drain();
+        groups.await();
+    }
+
+    private Item prepare(final int index, final VerificationRequest request, final byte[] hash) {
+        final Signature signature = request.getSignature();
+        final Item item = new Item(index, signature, hash);
+        if (!signature.isCanonical()) {
+            item.invalid = true;
+            return item;
+        }
+
+        try {
+            item.q = pointCache.getPoint(request.getPublicKey());
+        } catch (final IllegalArgumentException e) {
+            // not a curve point
+            item.invalid = true;
+            return item;
+        }
+        item.r = nonceOf(signature);
+        return item;
+    }
+
+    private ECPoint decodePoint(final byte[] encoded) {
+        try {
+            return curve.getParams().getCurve().decodePoint(encoded);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the nonce point of a signature from r and its recovery id.
+     *
+     * @return The point, or null if the signature has no usable recovery id.
+     */
+    private ECPoint nonceOf(final Signature signature) {
+        final int recId = signature.getV() - 27;
+        if (recId < 0 || recId > 3) {
+            return null;
+        }
+        final ECCurve ecCurve = curve.getParams().getCurve();
+        final BigInteger x = (recId & 2) == 0 ? signature.getR() : signature.getR().add(curve.getGroupOrder());
+        if (x.compareTo(ecCurve.getField().getCharacteristic()) >= 0) {
+            return null;
+        }
+        final byte[] encoded = new byte[1 + ecCurve.getFieldSize() / 8];
+        encoded[0] = (byte) (0x02 | (recId & 1));
+        final byte[] xBytes = BigIntegers.asUnsignedByteArray(encoded.length - 1, x);
+        System.arraycopy(xBytes, 0, encoded, 1, xBytes.length);
+        return decodePoint(encoded);
+    }
+
+    private void verifyGroup(final Item[] items, final int from, final int to, final boolean[] results) {
+        // move the items that can be combined to the front of the range
+        int end = from;
+        for (int i = from; i < to; i++) {
+            final Item item = items[i];
+            if (item.invalid) {
+                results[item.index] = false;
+            } else if (item.r == null) {
+                results[item.index] = verifyIndividually(item);
+            } else {
+                items[i] = items[end];
+                items[end++] = item;
+            }
+        }
+        bisect(items, from, end, results);
+    }
+
+    private void bisect(final Item[] items, final int from, final int to, final boolean[] results) {
+        if (to - from <= INDIVIDUAL_THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                results[items[i].index] = verifyIndividually(items[i]);
+            }
+            return;
+        }
+        if (verifyCombined(items, from, to)) {
+            for (int i = from; i < to; i++) {
+                results[items[i].index] = true;
+            }
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        bisect(items, from, middle, results);
+        bisect(items, middle, to, results);
+    }
+
+    private boolean verifyCombined(final Item[] items, final int from, final int to) {
+        final BigInteger n = curve.getGroupOrder();
+        final int count = to - from;
+        final ECPoint[] points = new ECPoint[2 * count + 1];
+        final BigInteger[] scalars = new BigInteger[2 * count + 1];
+
+        BigInteger generatorScalar = BigInteger.ZERO;
+        for (int i = 0; i < count; i++) {
+            final Item item = items[from + i];
+            final BigInteger weight = new BigInteger(WEIGHT_BITS, RANDOM).setBit(0);
+            final BigInteger weightOverS = weight.multiply(item.signature.getS().modInverse(n)).mod(n);
+
+            generatorScalar = generatorScalar.add(weightOverS.multiply(new BigInteger(1, item.hash)));
+            points[2 * i] = item.q;
+            scalars[2 * i] = weightOverS.multiply(item.signature.getR()).mod(n);
+            points[2 * i + 1] = item.r;
+            scalars[2 * i + 1] = n.subtract(weight);
+        }
+        points[2 * count] = curve.getParams().getG();
+        scalars[2 * count] = generatorScalar.mod(n);
+
+        return ECAlgorithms.sumOfMultiplies(points, scalars).isInfinity();
+    }
+
+    private boolean verifyIndividually(final Item item) {
+        if (item.q == null) {
+            return false;
+        }
+        final ECDSASigner signer = new ECDSASigner();
+        signer.init(false, new ECPublicKeyParameters(item.q, curve.getParams()));
+        return signer.verifySignature(item.hash, item.signature.getR(), item.signature.getS());
+    }
+
+    /**
+     * Verification state of one request.
+     */
+    private static final class Item {
+        private final int index;
+        private final Signature signature;
+        private final byte[] hash;
+        private ECPoint q;
+        private ECPoint r;
+        private boolean invalid;
+
+        private Item(final int index, final Signature signature, final byte[] hash) {
+            this.index = index;
+            this.signature = signature;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * The groups of a batch, claimed in order by the calling thread and the workers.
+     */
+    private final class Groups {
+
+        private final Item[] items;
+        private final boolean[] results;
+        private final int count;
+        private final AtomicInteger next = new AtomicInteger();
+        private final CountDownLatch done;
+
+        /**
+         * The first failure of a worker, rethrown to the caller
+         */
+        private volatile RuntimeException failure;
+
+        private Groups(final Item[] items, final boolean[] results) {
+            this.items = items;
+            this.results = results;
+            this.count = (items.length + GROUP_SIZE - 1) / GROUP_SIZE;
+            this.done = new CountDownLatch(count);
+        }
+
+        /**
+         * Checks unclaimed groups until none is left.
+         */
+        private void drain() {
+            int group;
+            while ((group = next.getAndIncrement()) < count) {
+                try {
+                    final int from = group * GROUP_SIZE;
+                    verifyGroup(items, from, Math.min(from + GROUP_SIZE, items.length), results);
+                } catch (final RuntimeException e) {
+                    failure = e;
+                } finally {
+                    done.countDown();
+                }
+            }
+        }
+
+        /**
+         * Waits for the groups claimed by workers.
+         */
+        private void await() {
+            try {
+                done.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CryptoException(e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
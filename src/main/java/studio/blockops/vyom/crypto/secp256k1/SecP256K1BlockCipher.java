@@ -51,14 +51,20 @@ public class SecP256K1BlockCipher implements BlockCipher {
      */
     private final Curve curve;
 
+    /**
+     * The shared {@link SecP256K1PointCache} decoding public keys
+     */
+    private final SecP256K1PointCache pointCache;
+
     /**
      * Ethereum IES Engine
      */
     private final EthereumIESEngine iesEngine;
 
     @Inject
-    private SecP256K1BlockCipher(Curve curve) {
+    private SecP256K1BlockCipher(Curve curve, SecP256K1PointCache pointCache) {
         this.curve = curve;
+        this.pointCache = pointCache;
         iesEngine = createEngine();
     }
 
@@ -69,7 +75,7 @@ public class SecP256K1BlockCipher implements BlockCipher {
         Preconditions.checkNotNull(input);
 
         // Public Key Point
-        final ECPoint publicKeyPoint = curve.getParams().getCurve().decodePoint(recipientPublicKey.getRaw());
+        final ECPoint publicKeyPoint = pointCache.getPoint(recipientPublicKey);
 
         // IV
         final byte[] IV = new byte[KEY_SIZE/8];
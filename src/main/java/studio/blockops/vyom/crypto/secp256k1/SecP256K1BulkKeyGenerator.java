@@ -0,0 +1,216 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+
+import org.spongycastle.math.ec.ECPoint;
+
+import com.google.common.base.Preconditions;
+
+import studio.blockops.vyom.core.Address;
+import studio.blockops.vyom.crypto.BulkKeyGenerator;
+import studio.blockops.vyom.crypto.CryptoException;
+import studio.blockops.vyom.crypto.CryptoExecutor;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.GeneratedKey;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
+
+/**
+ * Implementation of the bulk key generator for SECP256K1.
+ * <p>
+ * A range is split into chunks of {@link #CHUNK_SIZE} keys generated on the shared
+ * {@link CryptoExecutor}. A chunk costs one multiplication of the
+ * generator for its first key and one point addition for each further key; its points
+ * are converted to affine coordinates with a single field inversion and its addresses
+ * hashed in one batch. The keys carry their points. At most {@link #IN_FLIGHT_PER_THREAD}
+ * unfinished chunks per executor thread are allowed across all callers: a calling thread stops
+ * submitting until a permit is free or, once it has as many chunks pending itself, until
+ * its oldest one has been handed to the consumer.
+ */
+public class SecP256K1BulkKeyGenerator implements BulkKeyGenerator {
+
+    /**
+     * Number of consecutive keys generated by one task.
+     */
+    static final int CHUNK_SIZE = 256;
+
+    /**
+     * Number of submitted but not yet consumed chunks allowed per worker thread.
+     */
+    static final int IN_FLIGHT_PER_THREAD = 4;
+
+    /**
+     * Random Number Generator
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * A {@link SecP256K1Curve} instance
+     */
+    private final Curve curve;
+
+    /**
+     * The worker threads, shared with the other crypto services
+     */
+    private final CryptoExecutor executor;
+
+    /**
+     * Maximum number of submitted but not yet consumed chunks
+     */
+    private final int maxInFlight;
+
+    /**
+     * Permits for the unfinished chunks of all callers
+     */
+    private final Semaphore inFlight;
+
+    /**
+     * Set once the service is closed
+     */
+    private volatile boolean closed;
+
+    @Inject
+    SecP256K1BulkKeyGenerator(
+            Curve curve,
+            CryptoExecutor executor) {
+        Preconditions.checkNotNull(executor);
+        this.curve = curve;
+        this.executor = executor;
+        this.maxInFlight = executor.getThreads() * IN_FLIGHT_PER_THREAD;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @Override
+    public void generate(final PrivateKey first, final int count, final Consumer<GeneratedKey> consumer) {
+        Preconditions.checkNotNull(first);
+        Preconditions.checkArgument(count >= 0, "count must not be negative");
+        Preconditions.checkNotNull(consumer);
+        final BigInteger start = first.getRaw();
+        Preconditions.checkArgument(start.signum() > 0
+                && start.add(BigInteger.valueOf(count)).compareTo(curve.getGroupOrder()) <= 0,
+                "keys must be between 1 and the group order");
+
+        final ArrayDeque<Future<GeneratedKey[]>> pending = new ArrayDeque<>(maxInFlight);
+        for (int offset = 0; offset < count; offset += CHUNK_SIZE) {
+            if (pending.size() == maxInFlight) {
+                accept(await(pending.poll()), consumer);
+            }
+            final BigInteger chunkStart = start.add(BigInteger.valueOf(offset));
+            final int chunkSize = Math.min(CHUNK_SIZE, count - offset);
+            pending.add(submit(() -> generateChunk(chunkStart, chunkSize)));
+        }
+        while (!pending.isEmpty()) {
+            accept(await(pending.poll()), consumer);
+        }
+    }
+
+    @Override
+    public List<GeneratedKey> generate(final PrivateKey first, final int count) {
+        Preconditions.checkArgument(count >= 0, "count must not be negative");
+        final List<GeneratedKey> keys = new ArrayList<>(count);
+        generate(first, count, keys::add);
+        return keys;
+    }
+
+    @Override
+    public List<GeneratedKey> generate(final int count) {
+        Preconditions.checkArgument(count >= 0, "count must not be negative");
+        // the whole range must stay below the group order
+        final BigInteger bound = curve.getGroupOrder().subtract(BigInteger.valueOf(count));
+        BigInteger first;
+        do {
+            first = new BigInteger(bound.bitLength(), RANDOM);
+        } while (first.signum() == 0 || first.compareTo(bound) > 0);
+        return generate(PrivateKey.create(first), count);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private GeneratedKey[] generateChunk(final BigInteger start, final int size) {
+        final ECPoint generator = curve.getParams().getG();
+        final ECPoint[] points = new ECPoint[size];
+        points[0] = curve.multiplyGenerator(start);
+        for (int i = 1; i < size; i++) {
+            points[i] = points[i - 1].add(generator);
+        }
+        curve.getParams().getCurve().normalizeAll(points);
+
+        final PublicKey[] publicKeys = new PublicKey[size];
+        final byte[][] uncompressedKeys = new byte[size][];
+        final byte[][] hashes = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            publicKeys[i] = PublicKey.createFromPoint(points[i]);
+            // the batch hashes whole arrays, so the prefix byte is cut off with one copy
+            final byte[] encoded = points[i].getEncoded(false);
+            uncompressedKeys[i] = Arrays.copyOfRange(encoded, 1, encoded.length);
+        }
+        Hashing.sha3_256Batch(uncompressedKeys, hashes);
+
+        final GeneratedKey[] keys = new GeneratedKey[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = GeneratedKey.create(
+                    KeyPair.create(PrivateKey.create(start.add(BigInteger.valueOf(i))), publicKeys[i]),
+                    Address.create(hashes[i], Address.HASH_OFFSET));
+        }
+        return keys;
+    }
+
+    private <T> Future<T> submit(final Callable<T> task) {
+        if (closed) {
+            throw new RejectedExecutionException("Bulk key generator is closed");
+        }
+        try {
+            inFlight.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CryptoException(e);
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private static void accept(final GeneratedKey[] keys, final Consumer<GeneratedKey> consumer) {
+        for (final GeneratedKey key : keys) {
+            consumer.accept(key);
+        }
+    }
+
+    private static GeneratedKey[] await(final Future<GeneratedKey[]> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CryptoException(e);
+        } catch (final ExecutionException e) {
+            throw new CryptoException(e.getCause());
+        }
+    }
+}
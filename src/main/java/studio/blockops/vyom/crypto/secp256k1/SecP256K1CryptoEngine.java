@@ -0,0 +1,78 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import studio.blockops.vyom.crypto.AsyncCryptoService;
+import studio.blockops.vyom.crypto.BatchVerifier;
+import studio.blockops.vyom.crypto.BlockCipher;
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.Signer;
+
+/**
+ * Implementation of the crypto engine for SECP256K1.
+ * <p>
+ * Crypto-providers are created by an assisted-inject {@link Factory}; the asynchronous
+ * service is the singleton bound by {@link SecP256K1Module}.
+ */
+public class SecP256K1CryptoEngine implements CryptoEngine {
+
+    /**
+     * Factory of the crypto-providers, built by guice.
+     */
+    interface Factory {
+
+        Signer createSigner(final KeyPair keyPair);
+
+        BatchVerifier createBatchVerifier();
+
+        KeyGenerator createKeyGenerator();
+
+        BlockCipher createBlockCipher();
+    }
+
+    /**
+     * A {@link Factory} instance
+     */
+    private final Factory factory;
+
+    /**
+     * Provider of the {@link AsyncCryptoService} singleton, which itself depends on the engine
+     */
+    private final Provider<AsyncCryptoService> asyncService;
+
+    @Inject
+    private SecP256K1CryptoEngine(
+            Factory factory,
+            Provider<AsyncCryptoService> asyncService) {
+        this.factory = factory;
+        this.asyncService = asyncService;
+    }
+
+    @Override
+    public Signer createSigner(final KeyPair keyPair) {
+        return factory.createSigner(keyPair);
+    }
+
+    @Override
+    public BatchVerifier createBatchVerifier() {
+        return factory.createBatchVerifier();
+    }
+
+    @Override
+    public KeyGenerator createKeyGenerator() {
+        return factory.createKeyGenerator();
+    }
+
+    @Override
+    public BlockCipher createBlockCipher() {
+        return factory.createBlockCipher();
+    }
+
+    @Override
+    public AsyncCryptoService getAsyncService() {
+        return asyncService.get();
+    }
+}
@@ -2,24 +2,97 @@ package studio.blockops.vyom.crypto.secp256k1;
 
 import java.math.BigInteger;
 
+import org.spongycastle.crypto.generators.ECKeyPairGenerator;
 import org.spongycastle.crypto.params.ECDomainParameters;
+import org.spongycastle.crypto.signers.ECDSASigner;
+import org.spongycastle.math.ec.ECMultiplier;
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.math.ec.FixedPointCombMultiplier;
+import org.spongycastle.math.ec.FixedPointUtil;
+
+import com.google.common.base.Preconditions;
 
 import studio.blockops.vyom.crypto.Curve;
 
 /**
  * Class that wraps the elliptic curve SECP256K1.
+ * <p>
+ * Multiples of the base point are computed with a fixed-point comb whose table of
+ * {@code 2^combWidth} points is built once, when the curve is created. The table is
+ * attached to a copy of the base point owned by this curve, so curves of different
+ * widths never share or grow each other's tables. {@link ECKeyPairGenerator} and
+ * {@link ECDSASigner} are created from {@link #getParams()} and use the same comb
+ * multiplier, so they share the table.
+ * <p>
+ * Building the table costs time and memory that grow with {@code 2^combWidth}. With
+ * {@link SecP256K1Arithmetic#CUSTOM_GLV} it takes roughly 20 ms at width 8, 80 ms at
+ * width 12 and 0.5 to 0.8 s at width 16. {@link SecP256K1Arithmetic#GENERIC} is four
+ * to five times slower: about 0.5 s at width 12 and close to 3 s at width 16. A width
+ * 16 table holds 65536 points, several megabytes of heap per curve.
  */
 public class SecP256K1Curve implements Curve {
 
+    /**
+     * Smallest supported comb width: a 32-point table. The comb multiplier rebuilds
+     * narrower tables at this width on first use, so they are not accepted.
+     */
+    public static final int MIN_COMB_WIDTH = 5;
+
+    /**
+     * Comb width used when none is configured: a 256-point table.
+     */
+    public static final int DEFAULT_COMB_WIDTH = 8;
+
+    /**
+     * Largest supported comb width: a 65536-point table.
+     */
+    public static final int MAX_COMB_WIDTH = 16;
+
+    /**
+     * Base point multiplier, reusing the table precomputed on the base point
+     */
+    private static final ECMultiplier BASE_POINT_MULTIPLIER = new FixedPointCombMultiplier();
+
     private final ECDomainParameters params;
 
+    /**
+     * Half the group order, the largest canonical s
+     */
+    private final BigInteger halfGroupOrder;
+
     /**
      * Constructor
      *
      * @param params {@link ECDomainParameters}
      */
     SecP256K1Curve(final ECDomainParameters params) {
-        this.params = params;
+        this(params, DEFAULT_COMB_WIDTH);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param params {@link ECDomainParameters}
+     * @param combWidth The comb width of the base point table.
+     */
+    SecP256K1Curve(final ECDomainParameters params, final int combWidth) {
+        Preconditions.checkArgument(combWidth >= MIN_COMB_WIDTH && combWidth <= MAX_COMB_WIDTH,
+                "combWidth must be between " + MIN_COMB_WIDTH + " and " + MAX_COMB_WIDTH);
+        this.params = withOwnBasePoint(params);
+        this.halfGroupOrder = params.getN().shiftRight(1);
+        FixedPointUtil.precompute(this.params.getG(), combWidth);
+    }
+
+    /**
+     * Copies the domain parameters onto a new instance of the base point. The named
+     * curve parameters hand out one base point per JVM, and the comb table is attached
+     * to the point it is built for.
+     */
+    private static ECDomainParameters withOwnBasePoint(final ECDomainParameters params) {
+        final ECPoint g = params.getG().normalize();
+        final ECPoint ownG = params.getCurve().createPoint(
+                g.getAffineXCoord().toBigInteger(), g.getAffineYCoord().toBigInteger());
+        return new ECDomainParameters(params.getCurve(), ownG, params.getN(), params.getH(), params.getSeed());
     }
 
     @Override
@@ -34,11 +107,16 @@ public class SecP256K1Curve implements Curve {
 
     @Override
     public BigInteger getHalfGroupOrder() {
-        return this.params.getN().shiftRight(1);
+        return this.halfGroupOrder;
     }
 
     @Override
     public ECDomainParameters getParams() {
         return this.params;
     }
+
+    @Override
+    public ECPoint multiplyGenerator(final BigInteger k) {
+        return BASE_POINT_MULTIPLIER.multiply(this.params.getG(), k).normalize();
+    }
 }
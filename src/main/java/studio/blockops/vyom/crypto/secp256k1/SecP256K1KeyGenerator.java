@@ -1,7 +1,6 @@
 package studio.blockops.vyom.crypto.secp256k1;
 
 import java.security.SecureRandom;
-import java.util.Arrays;
 
 import javax.inject.Inject;
 
@@ -9,6 +8,7 @@ import org.spongycastle.crypto.AsymmetricCipherKeyPair;
 import org.spongycastle.crypto.generators.ECKeyPairGenerator;
 import org.spongycastle.crypto.params.ECKeyGenerationParameters;
 import org.spongycastle.crypto.params.ECPrivateKeyParameters;
+import org.spongycastle.crypto.params.ECPublicKeyParameters;
 import org.spongycastle.math.ec.ECPoint;
 
 import studio.blockops.vyom.core.Address;
@@ -29,15 +29,27 @@ public class SecP256K1KeyGenerator implements KeyGenerator {
      */
     private static final SecureRandom RANDOM = new SecureRandom();
 
+    /**
+     * Prefix of an uncompressed public key encoding
+     */
+    private static final byte UNCOMPRESSED_PREFIX = 0x04;
+
     /**
      * A {@link SecP256K1Curve} instance
      */
     private final Curve curve;
 
+    /**
+     * A {@link SecP256K1AddressCache} instance
+     */
+    private final SecP256K1AddressCache addressCache;
+
     @Inject
     private SecP256K1KeyGenerator(
-            Curve curve) {
+            Curve curve,
+            SecP256K1AddressCache addressCache) {
         this.curve = curve;
+        this.addressCache = addressCache;
     }
 
     @Override
@@ -48,22 +60,33 @@ public class SecP256K1KeyGenerator implements KeyGenerator {
 
         final AsymmetricCipherKeyPair keyPair = generator.generateKeyPair();
         final ECPrivateKeyParameters privateKeyParams = (ECPrivateKeyParameters) keyPair.getPrivate();
-        final PrivateKey privateKey = PrivateKey.create(privateKeyParams.getD());
-        final PublicKey publicKey = derivePublicKey(privateKey);
-        return KeyPair.create(privateKey, publicKey);
+        final ECPublicKeyParameters publicKeyParams = (ECPublicKeyParameters) keyPair.getPublic();
+        return KeyPair.create(PrivateKey.create(privateKeyParams.getD()), PublicKey.createFromPoint(publicKeyParams.getQ()));
     }
 
     @Override
     public PublicKey derivePublicKey(final PrivateKey privateKey) {
-        final ECPoint point = this.curve.getParams().getG().multiply(privateKey.getRaw());
-        return PublicKey.create(point.getEncoded(true));
+        final ECPoint point = this.curve.multiplyGenerator(privateKey.getRaw());
+        return PublicKey.createFromPoint(point);
     }
 
     @Override
     public Address computeAddress(PublicKey publicKey) {
-        final ECPoint point = curve.getParams().getCurve().decodePoint(publicKey.getRaw());
-        byte[] uncompressedPublicKey = point.getEncoded(false);
-        byte[] address = Hashing.sha3omit12(Arrays.copyOfRange(uncompressedPublicKey, 1, uncompressedPublicKey.length));
-        return Address.create(address);
+        if (publicKey.getPoint() != null) {
+            return publicKey.getAddress();
+        }
+
+        Address address = addressCache.getIfPresent(publicKey);
+        if (address == null) {
+            // decoding checks that the key is a curve point
+            final byte[] raw = publicKey.getRaw();
+            final ECPoint point = curve.getParams().getCurve().decodePoint(raw);
+            final byte[] uncompressedPublicKey = raw[0] == UNCOMPRESSED_PREFIX ? raw : point.getEncoded(false);
+            final byte[] hash = new byte[Hashing.SHA3_256_LENGTH];
+            Hashing.sha3_256(uncompressedPublicKey, 1, uncompressedPublicKey.length - 1, hash, 0);
+            address = Address.create(hash, Address.HASH_OFFSET);
+            addressCache.put(publicKey, address);
+        }
+        return address;
     }
 }
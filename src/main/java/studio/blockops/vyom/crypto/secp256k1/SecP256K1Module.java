@@ -1,32 +1,144 @@
 package studio.blockops.vyom.crypto.secp256k1;
 
-import org.spongycastle.asn1.sec.SECNamedCurves;
-import org.spongycastle.asn1.x9.X9ECParameters;
-import org.spongycastle.crypto.params.ECDomainParameters;
-
+import com.google.common.base.Preconditions;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 
+import studio.blockops.vyom.crypto.AsyncCryptoService;
+import studio.blockops.vyom.crypto.BatchVerifier;
 import studio.blockops.vyom.crypto.BlockCipher;
+import studio.blockops.vyom.crypto.BulkKeyGenerator;
 import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.DefaultAsyncCryptoService;
 import studio.blockops.vyom.crypto.Curve;
 import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.RecoveryService;
 import studio.blockops.vyom.crypto.Signer;
+import studio.blockops.vyom.crypto.SigningService;
 
 /**
  * The SecP256K1 guice module.
  */
 public class SecP256K1Module extends AbstractModule {
 
+    /**
+     * Point arithmetic of the curve
+     */
+    private final SecP256K1Arithmetic arithmetic;
+
+    /**
+     * Comb width of the base point table
+     */
+    private final int combWidth;
+
+    /**
+     * Maximum number of decoded public keys kept by the point cache
+     */
+    private final long pointCacheSize;
+
+    /**
+     * Creates the module with a base point table of {@link SecP256K1Curve#DEFAULT_COMB_WIDTH}.
+     */
+    public SecP256K1Module() {
+        this(SecP256K1Curve.DEFAULT_COMB_WIDTH);
+    }
+
+    /**
+     * Creates the module with a base point table of {@code 2^combWidth} points. Wider
+     * tables speed up key generation and signing at the cost of memory and startup time.
+     *
+     * @param combWidth The comb width, from {@link SecP256K1Curve#MIN_COMB_WIDTH} to
+     *        {@link SecP256K1Curve#MAX_COMB_WIDTH}.
+     */
+    public SecP256K1Module(final int combWidth) {
+        this(combWidth, SecP256K1PointCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates the module with a base point table of {@code 2^combWidth} points and a
+     * {@link SecP256K1PointCache} of up to {@code pointCacheSize} public keys.
+     *
+     * @param combWidth The comb width, from {@link SecP256K1Curve#MIN_COMB_WIDTH} to
+     *        {@link SecP256K1Curve#MAX_COMB_WIDTH}.
+     * @param pointCacheSize The maximum number of cached public keys.
+     */
+    public SecP256K1Module(final int combWidth, final long pointCacheSize) {
+        this(SecP256K1Arithmetic.CUSTOM_GLV, combWidth, pointCacheSize);
+    }
+
+    /**
+     * Creates the module on the given point arithmetic with the default base point table
+     * and point cache.
+     *
+     * @param arithmetic The point arithmetic.
+     */
+    public SecP256K1Module(final SecP256K1Arithmetic arithmetic) {
+        this(arithmetic, SecP256K1Curve.DEFAULT_COMB_WIDTH, SecP256K1PointCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates the module on the given point arithmetic with a base point table of
+     * {@code 2^combWidth} points and a {@link SecP256K1PointCache} of up to
+     * {@code pointCacheSize} public keys.
+     *
+     * @param arithmetic The point arithmetic.
+     * @param combWidth The comb width, from {@link SecP256K1Curve#MIN_COMB_WIDTH} to
+     *        {@link SecP256K1Curve#MAX_COMB_WIDTH}.
+     * @param pointCacheSize The maximum number of cached public keys.
+     */
+    public SecP256K1Module(final SecP256K1Arithmetic arithmetic, final int combWidth, final long pointCacheSize) {
+        Preconditions.checkNotNull(arithmetic);
+        Preconditions.checkArgument(
+                combWidth >= SecP256K1Curve.MIN_COMB_WIDTH && combWidth <= SecP256K1Curve.MAX_COMB_WIDTH,
+                "combWidth must be between " + SecP256K1Curve.MIN_COMB_WIDTH + " and " + SecP256K1Curve.MAX_COMB_WIDTH);
+        Preconditions.checkArgument(pointCacheSize > 0, "pointCacheSize must be positive");
+        this.arithmetic = arithmetic;
+        this.combWidth = combWidth;
+        this.pointCacheSize = pointCacheSize;
+    }
+
     @Override
     protected void configure() {
         install(new FactoryModuleBuilder()
-            .implement(Signer.class, SecP256K1Signer.class)
-            .implement(KeyGenerator.class, SecP256K1KeyGenerator.class)
+            .implement(Signer.class, signerClass())
+            .implement(BatchVerifier.class, SecP256K1BatchVerifier.class)
+            .implement(KeyGenerator.class, keyGeneratorClass())
             .implement(BlockCipher.class, SecP256K1BlockCipher.class)
-            .build(CryptoEngine.class));
+            .build(SecP256K1CryptoEngine.Factory.class));
+        bind(CryptoEngine.class).to(SecP256K1CryptoEngine.class).in(Singleton.class);
+        bind(RecoveryService.class).to(SecP256K1RecoveryService.class).in(Singleton.class);
+        bind(BulkKeyGenerator.class).to(SecP256K1BulkKeyGenerator.class).in(Singleton.class);
+        bind(AsyncCryptoService.class).to(DefaultAsyncCryptoService.class).in(Singleton.class);
+        bind(SigningService.class).to(signingServiceClass()).in(Singleton.class);
+    }
+
+    /**
+     * Gets the implementation created for {@link Signer}.
+     *
+     * @return The signer class.
+     */
+    protected Class<? extends Signer> signerClass() {
+        return SecP256K1Signer.class;
+    }
+
+    /**
+     * Gets the implementation created for {@link KeyGenerator}.
+     *
+     * @return The key generator class.
+     */
+    protected Class<? extends KeyGenerator> keyGeneratorClass() {
+        return SecP256K1KeyGenerator.class;
+    }
+
+    /**
+     * Gets the implementation bound to {@link SigningService}.
+     *
+     * @return The signing service class.
+     */
+    protected Class<? extends SigningService> signingServiceClass() {
+        return SecP256K1SigningService.class;
     }
 
     /**
@@ -35,8 +147,24 @@ public class SecP256K1Module extends AbstractModule {
      */
     @Provides @Singleton
     Curve provideCurve() {
-        final X9ECParameters params = SECNamedCurves.getByName("secp256k1");
-        final ECDomainParameters ecParams = new ECDomainParameters(params.getCurve(), params.getG(), params.getN(), params.getH());
-        return new SecP256K1Curve(ecParams);
+        return new SecP256K1Curve(arithmetic.createParameters(), combWidth);
+    }
+
+    /**
+     * Guice provides method to get the {@link SecP256K1PointCache} shared by the engines
+     * @return A {@link SecP256K1PointCache} singleton instance
+     */
+    @Provides @Singleton
+    SecP256K1PointCache providePointCache(final Curve curve) {
+        return new SecP256K1PointCache(curve, pointCacheSize);
+    }
+
+    /**
+     * Guice provides method to get the {@link SecP256K1AddressCache} shared by the key generators
+     * @return A {@link SecP256K1AddressCache} singleton instance
+     */
+    @Provides @Singleton
+    SecP256K1AddressCache provideAddressCache() {
+        return new SecP256K1AddressCache(SecP256K1AddressCache.DEFAULT_MAXIMUM_SIZE);
     }
 }
@@ -0,0 +1,134 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import java.util.Arrays;
+
+import fr.acinq.secp256k1.Secp256k1;
+import fr.acinq.secp256k1.Secp256k1Exception;
+import fr.acinq.secp256k1.jni.NativeSecp256k1JvmLoader;
+
+/**
+ * Binding to the native libsecp256k1 through the {@code fr.acinq.secp256k1} JNI library.
+ * <p>
+ * The library is extracted from the classpath and loaded once, on first use; builds are
+ * bundled for Linux x86-64 and aarch64. Loading can be disabled by setting the
+ * {@code vyom.secp256k1.native} system property to {@code false}. Callers must check
+ * {@link #isLoaded()} before using any other method.
+ * <p>
+ * Keys, hashes and signature components are passed as fixed-width big-endian arrays:
+ * 32-byte private keys and message hashes, and 64-byte {@code r || s} signatures.
+ * Invalid inputs make the methods return {@code null} or {@code false}.
+ */
+final class SecP256K1Native {
+
+    private static final String NATIVE_PROPERTY = "vyom.secp256k1.native";
+
+    private static final int MAX_RECOVERY_ID = 3;
+
+    private static final Secp256k1 SECP256K1 = load();
+
+    private SecP256K1Native() {
+    }
+
+    /**
+     * Determines if the native library is loaded.
+     *
+     * @return true if the native methods can be called.
+     */
+    static boolean isLoaded() {
+        return SECP256K1 != null;
+    }
+
+    private static Secp256k1 load() {
+        if (!Boolean.parseBoolean(System.getProperty(NATIVE_PROPERTY, "true"))) {
+            return null;
+        }
+        try {
+            return NativeSecp256k1JvmLoader.load();
+        } catch (Exception | LinkageError e) {
+            // no build for this platform, or the library could not be extracted
+            return null;
+        }
+    }
+
+    /**
+     * Signs a message hash with deterministic RFC 6979 nonces.
+     *
+     * @param messageHash The 32-byte message hash.
+     * @param privateKey The 32-byte private key.
+     * @return {@code r || s || recId} with a canonical s, or null if the private key is invalid.
+     */
+    static byte[] sign(final byte[] messageHash, final byte[] privateKey) {
+        try {
+            final byte[] compact = SECP256K1.sign(messageHash, privateKey);
+            final byte[] publicKey = SECP256K1.pubkeyCreate(privateKey);
+            // libsecp256k1 only returns the recovery id from its recovery module, which
+            // the binding does not expose for signing: find the one recovering the key
+            for (int recId = 0; recId <= MAX_RECOVERY_ID; recId++) {
+                if (Arrays.equals(publicKey, recover(compact, messageHash, recId))) {
+                    final byte[] signature = Arrays.copyOf(compact, compact.length + 1);
+                    signature[compact.length] = (byte) recId;
+                    return signature;
+                }
+            }
+            throw new IllegalStateException("No recovery id matches the signing key");
+        } catch (Secp256k1Exception e) {
+            return null;
+        }
+    }
+
+    private static byte[] recover(final byte[] signature, final byte[] messageHash, final int recId) {
+        try {
+            return SECP256K1.ecdsaRecover(signature, messageHash, recId);
+        } catch (Secp256k1Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Verifies a signature of a message hash.
+     *
+     * @param messageHash The 32-byte message hash.
+     * @param signature The 64-byte {@code r || s} signature, with a canonical s.
+     * @param publicKey The compressed or uncompressed public key.
+     * @return true if the signature is valid.
+     */
+    static boolean verify(final byte[] messageHash, final byte[] signature, final byte[] publicKey) {
+        try {
+            return SECP256K1.verify(signature, messageHash, publicKey);
+        } catch (Secp256k1Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Derives the public key of a private key.
+     *
+     * @param privateKey The 32-byte private key.
+     * @param compressed true for the 33-byte encoding, false for the 65-byte one.
+     * @return The encoded public key, or null if the private key is invalid.
+     */
+    static byte[] derivePublicKey(final byte[] privateKey, final boolean compressed) {
+        try {
+            final byte[] publicKey = SECP256K1.pubkeyCreate(privateKey);
+            return compressed ? SECP256K1.pubKeyCompress(publicKey) : publicKey;
+        } catch (Secp256k1Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Re-encodes a public key.
+     *
+     * @param publicKey The compressed or uncompressed public key.
+     * @param compressed true for the 33-byte encoding, false for the 65-byte one.
+     * @return The encoded public key, or null if it is not a curve point.
+     */
+    static byte[] convertPublicKey(final byte[] publicKey, final boolean compressed) {
+        try {
+            final byte[] uncompressed = SECP256K1.pubkeyParse(publicKey);
+            return compressed ? SECP256K1.pubKeyCompress(uncompressed) : uncompressed;
+        } catch (Secp256k1Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import javax.inject.Inject;
+
+import org.spongycastle.util.BigIntegers;
+
+import com.google.common.base.Preconditions;
+
+import studio.blockops.vyom.core.Address;
+import studio.blockops.vyom.crypto.CryptoException;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
+
+/**
+ * Implementation of the key generator for SECP256K1 backed by the native libsecp256k1.
+ */
+public class SecP256K1NativeKeyGenerator implements KeyGenerator {
+
+    private static final int SCALAR_LENGTH = 32;
+
+    /**
+     * Random Number Generator
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * A {@link SecP256K1Curve} instance
+     */
+    private final Curve curve;
+
+    /**
+     * A {@link SecP256K1AddressCache} instance
+     */
+    private final SecP256K1AddressCache addressCache;
+
+    @Inject
+    private SecP256K1NativeKeyGenerator(
+            Curve curve,
+            SecP256K1AddressCache addressCache) {
+        this.curve = curve;
+        this.addressCache = addressCache;
+    }
+
+    @Override
+    public KeyPair generateKeyPair() {
+        final BigInteger n = curve.getGroupOrder();
+        final byte[] d = new byte[SCALAR_LENGTH];
+        while (true) {
+            RANDOM.nextBytes(d);
+            final BigInteger value = new BigInteger(1, d);
+            if (value.signum() == 0 || value.compareTo(n) >= 0) {
+                continue;
+            }
+            final byte[] publicKey = SecP256K1Native.derivePublicKey(d, true);
+            return KeyPair.create(PrivateKey.create(value), PublicKey.create(publicKey));
+        }
+    }
+
+    @Override
+    public PublicKey derivePublicKey(final PrivateKey privateKey) {
+        final BigInteger d = privateKey.getRaw();
+        // the Java generator fails in the point encoding for these keys
+        Preconditions.checkArgument(d.signum() > 0 && d.compareTo(curve.getGroupOrder()) < 0, "Invalid private key");
+        final byte[] publicKey = SecP256K1Native.derivePublicKey(BigIntegers.asUnsignedByteArray(SCALAR_LENGTH, d), true);
+        if (publicKey == null) {
+            throw new CryptoException("Invalid private key");
+        }
+        return PublicKey.create(publicKey);
+    }
+
+    @Override
+    public Address computeAddress(final PublicKey publicKey) {
+        if (publicKey.getPoint() != null) {
+            return publicKey.getAddress();
+        }
+
+        Address address = addressCache.getIfPresent(publicKey);
+        if (address == null) {
+            final byte[] uncompressedPublicKey = SecP256K1Native.convertPublicKey(publicKey.getRaw(), false);
+            if (uncompressedPublicKey == null) {
+                // as the point decoding of SecP256K1KeyGenerator
+                throw new IllegalArgumentException("Invalid point coordinates");
+            }
+            final byte[] hash = new byte[Hashing.SHA3_256_LENGTH];
+            Hashing.sha3_256(uncompressedPublicKey, 1, uncompressedPublicKey.length - 1, hash, 0);
+            address = Address.create(hash, Address.HASH_OFFSET);
+            addressCache.put(publicKey, address);
+        }
+        return address;
+    }
+}
@@ -0,0 +1,86 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.Signer;
+import studio.blockops.vyom.crypto.SigningService;
+
+/**
+ * The SecP256K1 guice module preferring the native libsecp256k1.
+ * <p>
+ * Binds {@link CryptoEngine} to {@link SecP256K1NativeSigner} and
+ * {@link SecP256K1NativeKeyGenerator}, and {@link SigningService} to
+ * {@link SecP256K1NativeSigningService}, when the native library loads, and to the
+ * Java implementations of {@link SecP256K1Module} otherwise. It only overrides the
+ * implementation hooks of {@link SecP256K1Module}; every other binding is inherited.
+ * Install it instead of {@link SecP256K1Module}.
+ */
+public class SecP256K1NativeModule extends SecP256K1Module {
+
+    /**
+     * Creates the module; the Java fallback uses the default base point table.
+     */
+    public SecP256K1NativeModule() {
+        super();
+    }
+
+    /**
+     * Creates the module; the Java fallback uses a base point table of {@code 2^combWidth} points.
+     *
+     * @param combWidth The comb width, from {@link SecP256K1Curve#MIN_COMB_WIDTH} to
+     *        {@link SecP256K1Curve#MAX_COMB_WIDTH}.
+     */
+    public SecP256K1NativeModule(final int combWidth) {
+        super(combWidth);
+    }
+
+    /**
+     * Creates the module; the Java fallback uses a base point table of {@code 2^combWidth}
+     * points and the Java verifiers a point cache of up to {@code pointCacheSize} public keys.
+     *
+     * @param combWidth The comb width, from {@link SecP256K1Curve#MIN_COMB_WIDTH} to
+     *        {@link SecP256K1Curve#MAX_COMB_WIDTH}.
+     * @param pointCacheSize The maximum number of cached public keys.
+     */
+    public SecP256K1NativeModule(final int combWidth, final long pointCacheSize) {
+        super(combWidth, pointCacheSize);
+    }
+
+    /**
+     * Creates the module; the Java implementations use the given point arithmetic, a base
+     * point table of {@code 2^combWidth} points and a point cache of up to
+     * {@code pointCacheSize} public keys.
+     *
+     * @param arithmetic The point arithmetic.
+     * @param combWidth The comb width, from {@link SecP256K1Curve#MIN_COMB_WIDTH} to
+     *        {@link SecP256K1Curve#MAX_COMB_WIDTH}.
+     * @param pointCacheSize The maximum number of cached public keys.
+     */
+    public SecP256K1NativeModule(final SecP256K1Arithmetic arithmetic, final int combWidth, final long pointCacheSize) {
+        super(arithmetic, combWidth, pointCacheSize);
+    }
+
+    @Override
+    protected Class<? extends Signer> signerClass() {
+        return isNativeLoaded() ? SecP256K1NativeSigner.class : super.signerClass();
+    }
+
+    @Override
+    protected Class<? extends KeyGenerator> keyGeneratorClass() {
+        return isNativeLoaded() ? SecP256K1NativeKeyGenerator.class : super.keyGeneratorClass();
+    }
+
+    @Override
+    protected Class<? extends SigningService> signingServiceClass() {
+        return isNativeLoaded() ? SecP256K1NativeSigningService.class : super.signingServiceClass();
+    }
+
+    /**
+     * Determines if the native library is loaded.
+     *
+     * @return true if the native implementations are bound.
+     */
+    public static boolean isNativeLoaded() {
+        return SecP256K1Native.isLoaded();
+    }
+}
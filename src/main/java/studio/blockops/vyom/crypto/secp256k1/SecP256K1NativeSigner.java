@@ -0,0 +1,71 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import java.util.Arrays;
+
+import javax.inject.Inject;
+
+import com.google.inject.assistedinject.Assisted;
+
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.Signer;
+
+/**
+ * Implementation of the DSA signer for SECP256K1 backed by the native libsecp256k1.
+ * <p>
+ * Produces the same signatures as {@link SecP256K1Signer}: deterministic RFC 6979 nonces
+ * with HMAC-SHA256, canonical (low) s and the matching recovery id.
+ */
+public class SecP256K1NativeSigner implements Signer {
+
+    /**
+     * A {@link KeyPair} to hold public private key pair
+     */
+    private final KeyPair keyPair;
+
+    /**
+     * The {@link SecP256K1NativeSigningService} computing the signatures
+     */
+    private final SecP256K1NativeSigningService signingService;
+
+    @Inject
+    private SecP256K1NativeSigner(
+            SecP256K1NativeSigningService signingService,
+            @Assisted KeyPair keyPair) {
+        this.signingService = signingService;
+        this.keyPair = keyPair;
+    }
+
+    @Override
+    public Signature sign(final byte[] data) {
+        return signRecoverable(data);
+    }
+
+    @Override
+    public Signature signRecoverable(final byte[] data) {
+        return signingService.sign(keyPair.getPrivateKey(), data);
+    }
+
+    @Override
+    public Signature makeSignatureCanonical(final Signature signature) {
+        return signature.toCanonical();
+    }
+
+    @Override
+    public boolean verify(final byte[] data, final Signature signature) {
+        if (!isCanonicalSignature(signature)) {
+            return false;
+        }
+
+        final byte[] encoded = new byte[Signature.ENCODED_LENGTH];
+        signature.writeTo(encoded, 0);
+        final byte[] components = Arrays.copyOf(encoded, 2 * Signature.COMPONENT_LENGTH);
+        return SecP256K1Native.verify(Hashing.sha3_256(data), components, keyPair.getPublicKey().getRaw());
+    }
+
+    @Override
+    public boolean isCanonicalSignature(final Signature signature) {
+        return signature.isCanonical();
+    }
+}
@@ -0,0 +1,64 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import javax.inject.Inject;
+
+import org.spongycastle.util.BigIntegers;
+
+import com.google.common.base.Preconditions;
+
+import studio.blockops.vyom.crypto.CryptoException;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.SigningService;
+
+/**
+ * Implementation of the signing service for SECP256K1 backed by the native libsecp256k1.
+ * <p>
+ * libsecp256k1 also derives its nonces as in RFC 6979 with HMAC-SHA256 and returns a
+ * canonical s, so it produces the same signatures as {@link SecP256K1SigningService}.
+ */
+public class SecP256K1NativeSigningService implements SigningService {
+
+    private static final int SCALAR_LENGTH = 32;
+
+    /**
+     * A {@link SecP256K1Curve} instance
+     */
+    private final Curve curve;
+
+    @Inject
+    private SecP256K1NativeSigningService(
+            Curve curve) {
+        this.curve = curve;
+    }
+
+    @Override
+    public Signature sign(final PrivateKey privateKey, final byte[] data) {
+        Preconditions.checkNotNull(data);
+        return signHash(privateKey, Hashing.sha3_256(data));
+    }
+
+    @Override
+    public Signature signHash(final PrivateKey privateKey, final byte[] messageHash) {
+        Preconditions.checkNotNull(privateKey);
+        Preconditions.checkNotNull(messageHash);
+        Preconditions.checkArgument(messageHash.length == Hashing.SHA3_256_LENGTH, "messageHash must be 32 bytes");
+
+        final BigInteger d = privateKey.getRaw();
+        if (d.signum() <= 0 || d.compareTo(curve.getGroupOrder()) >= 0) {
+            throw new CryptoException("Invalid private key");
+        }
+        final byte[] signature = SecP256K1Native.sign(messageHash, BigIntegers.asUnsignedByteArray(SCALAR_LENGTH, d));
+        if (signature == null) {
+            throw new CryptoException("Invalid private key");
+        }
+        final BigInteger r = new BigInteger(1, Arrays.copyOfRange(signature, 0, Signature.COMPONENT_LENGTH));
+        final BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, Signature.COMPONENT_LENGTH, 2 * Signature.COMPONENT_LENGTH));
+        return Signature.create(r, s, (byte) (signature[2 * Signature.COMPONENT_LENGTH] + 27));
+    }
+}
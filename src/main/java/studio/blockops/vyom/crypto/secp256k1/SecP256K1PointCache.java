@@ -0,0 +1,121 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.math.ec.WNafUtil;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.PublicKey;
+
+/**
+ * Memoizes decoded public keys by their encoding.
+ * <p>
+ * Each cached point is normalized and carries the wNAF table that multi-scalar
+ * multiplications with it use, so verifying repeated signatures of the same key
+ * neither decodes the key nor rebuilds its table. Keys that carry their point are not
+ * cached; the table is built on their own point instead. A table holds a few dozen affine
+ * points, a few kilobytes per key; the cache keeps at most a fixed number of keys,
+ * evicting the least recently used ones.
+ * <p>
+ * One instance is shared by the signers, batch verifiers and key generators of a
+ * {@link SecP256K1Module}. Instances are thread-safe.
+ */
+public class SecP256K1PointCache {
+
+    /**
+     * Number of public keys cached when none is configured.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * A {@link SecP256K1Curve} instance
+     */
+    private final Curve curve;
+
+    /**
+     * Window width of the precomputed tables
+     */
+    private final int width;
+
+    /**
+     * The decoded points
+     */
+    private final Cache<PublicKey, ECPoint> cache;
+
+    /**
+     * Constructor
+     *
+     * @param curve The curve the keys are decoded on.
+     * @param maximumSize The maximum number of cached public keys.
+     */
+    SecP256K1PointCache(final Curve curve, final long maximumSize) {
+        Preconditions.checkArgument(maximumSize > 0, "maximumSize must be positive");
+        this.curve = curve;
+        this.width = WNafUtil.getWindowSize(curve.getGroupOrder().bitLength());
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the decoded point of a public key.
+     *
+     * @param publicKey The public key.
+     * @return The normalized point.
+     * @throws IllegalArgumentException if the public key is not a curve point.
+     */
+    public ECPoint getPoint(final PublicKey publicKey) {
+        Preconditions.checkNotNull(publicKey);
+        if (publicKey.getPoint() != null) {
+            // the key carries its point: only the table may be missing
+            WNafUtil.precompute(publicKey.getPoint(), width, true);
+            return publicKey.getPoint();
+        }
+        ECPoint point = cache.getIfPresent(publicKey);
+        if (point == null) {
+            point = curve.getParams().getCurve().decodePoint(publicKey.getRaw()).normalize();
+            // build the table before the point is published to other threads
+            WNafUtil.precompute(point, width, true);
+            cache.put(PublicKey.create(publicKey.getRaw().clone()), point);
+        }
+        return point;
+    }
+
+    /**
+     * Gets the number of lookups that found a cached point.
+     *
+     * @return The hit count.
+     */
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    /**
+     * Gets the number of lookups that found no cached point.
+     *
+     * @return The miss count.
+     */
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Gets the approximate number of cached points.
+     *
+     * @return The size.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Discards all cached points.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
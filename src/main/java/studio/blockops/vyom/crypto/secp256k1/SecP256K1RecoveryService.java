@@ -0,0 +1,169 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+
+import org.spongycastle.math.ec.ECPoint;
+
+import com.google.common.base.Preconditions;
+
+import studio.blockops.vyom.crypto.CryptoException;
+import studio.blockops.vyom.crypto.CryptoExecutor;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.ECKeyUtil;
+import studio.blockops.vyom.crypto.PublicKey;
+import studio.blockops.vyom.crypto.RecoveryRequest;
+import studio.blockops.vyom.crypto.RecoveryResult;
+import studio.blockops.vyom.crypto.RecoveryService;
+import studio.blockops.vyom.crypto.Signature;
+
+/**
+ * Implementation of the recovery service for SECP256K1.
+ * <p>
+ * Recoveries run on the shared {@link CryptoExecutor}, with at most
+ * {@link #IN_FLIGHT_PER_THREAD} unfinished requests per executor thread across all
+ * callers: a calling thread stops submitting until a permit is free or, once it has as
+ * many results pending itself, until its oldest one has been handed to the consumer.
+ */
+public class SecP256K1RecoveryService implements RecoveryService {
+
+    /**
+     * Number of submitted but not yet consumed requests allowed per worker thread.
+     */
+    static final int IN_FLIGHT_PER_THREAD = 4;
+
+    /**
+     * A {@link SecP256K1Curve} instance
+     */
+    private final Curve curve;
+
+    /**
+     * The worker threads, shared with the other crypto services
+     */
+    private final CryptoExecutor executor;
+
+    /**
+     * Maximum number of submitted but not yet consumed requests
+     */
+    private final int maxInFlight;
+
+    /**
+     * Permits for the unfinished requests of all callers
+     */
+    private final Semaphore inFlight;
+
+    /**
+     * Set once the service is closed
+     */
+    private volatile boolean closed;
+
+    @Inject
+    SecP256K1RecoveryService(
+            Curve curve,
+            CryptoExecutor executor) {
+        Preconditions.checkNotNull(executor);
+        this.curve = curve;
+        this.executor = executor;
+        this.maxInFlight = executor.getThreads() * IN_FLIGHT_PER_THREAD;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @Override
+    public void recover(final List<RecoveryRequest> requests, final Consumer<RecoveryResult> consumer) {
+        Preconditions.checkNotNull(requests);
+        Preconditions.checkNotNull(consumer);
+
+        final ArrayDeque<Future<RecoveryResult>> pending = new ArrayDeque<>(maxInFlight);
+        for (final RecoveryRequest request : requests) {
+            Preconditions.checkNotNull(request);
+            if (pending.size() == maxInFlight) {
+                consumer.accept(await(pending.poll()));
+            }
+            pending.add(submit(() -> recover(request)));
+        }
+        while (!pending.isEmpty()) {
+            consumer.accept(await(pending.poll()));
+        }
+    }
+
+    @Override
+    public List<RecoveryResult> recover(final List<RecoveryRequest> requests) {
+        Preconditions.checkNotNull(requests);
+        final List<RecoveryResult> results = new ArrayList<>(requests.size());
+        recover(requests, results::add);
+        return results;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private RecoveryResult recover(final RecoveryRequest request) {
+        final Signature signature = request.getSignature();
+        final int recoverID = signature.getV() - 27;
+        if (recoverID < 0 || recoverID > 3) {
+            return RecoveryResult.failed();
+        }
+
+        final ECPoint point;
+        try {
+            point = ECKeyUtil.recoverPublicKeyPoint(curve, recoverID, signature, request.getMessageHash());
+        } catch (final IllegalArgumentException e) {
+            // r is not the x coordinate of a curve point
+            return RecoveryResult.failed();
+        }
+        if (point == null) {
+            return RecoveryResult.failed();
+        }
+
+        final PublicKey publicKey = PublicKey.createFromPoint(point);
+        return RecoveryResult.create(
+                publicKey,
+                publicKey.getAddress());
+    }
+
+    private <T> Future<T> submit(final Callable<T> task) {
+        if (closed) {
+            throw new RejectedExecutionException("Recovery service is closed");
+        }
+        try {
+            inFlight.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CryptoException(e);
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private static RecoveryResult await(final Future<RecoveryResult> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CryptoException(e);
+        } catch (final ExecutionException e) {
+            throw new CryptoException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import java.math.BigInteger;
+
+import javax.inject.Inject;
+
+import org.spongycastle.crypto.digests.SHA256Digest;
+import org.spongycastle.crypto.signers.HMacDSAKCalculator;
+import org.spongycastle.math.ec.ECPoint;
+
+import com.google.common.base.Preconditions;
+
+import studio.blockops.vyom.crypto.CryptoException;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.SigningService;
+
+/**
+ * Implementation of the signing service for SECP256K1.
+ * <p>
+ * Nonces are derived as in RFC 6979 with HMAC-SHA256. Every signature creates its own
+ * nonce generator, so no state derived from a private key outlives the call.
+ */
+public class SecP256K1SigningService implements SigningService {
+
+    /**
+     * A {@link SecP256K1Curve} instance
+     */
+    private final Curve curve;
+
+    @Inject
+    private SecP256K1SigningService(
+            Curve curve) {
+        this.curve = curve;
+    }
+
+    @Override
+    public Signature sign(final PrivateKey privateKey, final byte[] data) {
+        Preconditions.checkNotNull(data);
+        return signHash(privateKey, Hashing.sha3_256(data));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The recovery id is read off the nonce point R computed while signing: bit 0 is the
+     * parity of R.y and bit 1 is set when R.x overflowed the group order. Normalizing s
+     * to its canonical value negates R, which flips the parity bit.
+     */
+    @Override
+    public Signature signHash(final PrivateKey privateKey, final byte[] messageHash) {
+        Preconditions.checkNotNull(privateKey);
+        Preconditions.checkNotNull(messageHash);
+        Preconditions.checkArgument(messageHash.length == Hashing.SHA3_256_LENGTH, "messageHash must be 32 bytes");
+
+        final BigInteger n = curve.getGroupOrder();
+        final BigInteger d = privateKey.getRaw();
+        if (d.signum() <= 0 || d.compareTo(n) >= 0) {
+            throw new CryptoException("Invalid private key");
+        }
+        final BigInteger e = new BigInteger(1, messageHash);
+
+        final HMacDSAKCalculator kCalculator = new HMacDSAKCalculator(new SHA256Digest());
+        kCalculator.init(n, d, messageHash);
+
+        while (true) {
+            final BigInteger k = kCalculator.nextK();
+            final ECPoint p = curve.multiplyGenerator(k);
+            final BigInteger x = p.getAffineXCoord().toBigInteger();
+            final BigInteger r = x.mod(n);
+            if (r.signum() == 0) {
+                continue;
+            }
+            BigInteger s = k.modInverse(n).multiply(e.add(d.multiply(r))).mod(n);
+            if (s.signum() == 0) {
+                continue;
+            }
+
+            int recoverID = (p.getAffineYCoord().testBitZero() ? 1 : 0) | (x.compareTo(n) >= 0 ? 2 : 0);
+            if (s.compareTo(curve.getHalfGroupOrder()) > 0) {
+                s = n.subtract(s);
+                recoverID ^= 1;
+            }
+            return Signature.create(r, s, (byte) (recoverID + 27));
+        }
+    }
+}
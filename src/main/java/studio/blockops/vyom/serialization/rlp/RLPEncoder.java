@@ -9,6 +9,7 @@ import org.spongycastle.util.BigIntegers;
 
 import com.google.common.base.Preconditions;
 
+import studio.blockops.vyom.crypto.Keccak256Hasher;
 import studio.blockops.vyom.serialization.Encodable;
 import studio.blockops.vyom.serialization.Encoder;
 
@@ -25,19 +26,41 @@ public final class RLPEncoder implements Encoder, RLPParameters {
      */
     private final ByteArrayOutputStream output;
 
+    /**
+     * Optional hasher receiving every encoded byte
+     */
+    private final Keccak256Hasher hasher;
+
     /**
      * Creates a {@link RLPEncoder} instance with a fresh {@link ByteArrayOutputStream} object.
      */
     public RLPEncoder() {
+        this(null);
+    }
+
+    /**
+     * Creates a {@link RLPEncoder} instance that also feeds the encoded bytes to {@code hasher}
+     * as they are written, so the hash of the encoding does not need a second pass.
+     *
+     * @param hasher The hasher receiving the encoded bytes, or null.
+     */
+    public RLPEncoder(final Keccak256Hasher hasher) {
         this.output = new ByteArrayOutputStream();
+        this.hasher = hasher;
     }
 
     private final void write(final byte b) {
         output.write(b);
+        if (hasher != null) {
+            hasher.update(b);
+        }
     }
 
     private final void write(final byte... b) {
         output.write(b, 0, b.length);
+        if (hasher != null) {
+            hasher.update(b);
+        }
     }
 
     /**
@@ -0,0 +1,280 @@
+package studio.blockops.vyom.crypto;
+
+import static jdk.incubator.vector.VectorOperators.AND_NOT;
+import static jdk.incubator.vector.VectorOperators.ROL;
+import static jdk.incubator.vector.VectorOperators.XOR;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Multi-buffer SHA3-256 running one Keccak state per SIMD lane of the preferred
+ * {@link LongVector} species (4 states on AVX2, 8 on AVX-512).
+ * <p>
+ * Messages of a range are grouped by the number of blocks they absorb, and each full
+ * group of as many messages as there are lanes is permuted together. Messages left over
+ * are hashed one at a time on the scalar path, which like the scalar batch engine
+ * bypasses the {@link HashCache}.
+ * <p>
+ * This class requires JDK 16+ and the {@code jdk.incubator.vector} module. It is compiled
+ * by the {@code vector} build profile and only ever loaded reflectively by {@link Hashing}.
+ */
+final class VectorKeccak256 implements MultiKeccak256 {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * Rate of Keccak-256, in bytes and in 64-bit words.
+     */
+    private static final int RATE = 136;
+    private static final int RATE_WORDS = RATE / 8;
+
+    private static final long[] RC = {
+        0x0000000000000001L, 0x0000000000008082L,
+        0x800000000000808AL, 0x8000000080008000L,
+        0x000000000000808BL, 0x0000000080000001L,
+        0x8000000080008081L, 0x8000000000008009L,
+        0x000000000000008AL, 0x0000000000000088L,
+        0x0000000080008009L, 0x000000008000000AL,
+        0x000000008000808BL, 0x800000000000008BL,
+        0x8000000000008089L, 0x8000000000008003L,
+        0x8000000000008002L, 0x8000000000000080L,
+        0x000000000000800AL, 0x800000008000000AL,
+        0x8000000080008081L, 0x8000000000008080L,
+        0x0000000080000001L, 0x8000000080008008L
+    };
+
+    /**
+     * Per-thread transposed state: word {@code w} of lane {@code l} is at {@code w * LANES + l}.
+     */
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[25 * LANES]);
+
+    VectorKeccak256() {
+        if (LANES < 2) {
+            throw new UnsupportedOperationException("no multi-lane long vector species on this platform");
+        }
+    }
+
+    @Override
+    public void sha3_256(final byte[][] inputs, final byte[][] outputs, final int from, final int to) {
+        final int count = to - from;
+        if (count < LANES) {
+            sha3_256Scalar(inputs, outputs, from, to);
+            return;
+        }
+
+        // sort indices by absorbed block count, keeping the index in the low 32 bits
+        final long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) blockCount(inputs[from + i]) << 32) | (from + i);
+        }
+        Arrays.sort(keys);
+
+        final long[] state = STATE.get();
+        final int[] group = new int[LANES];
+        int start = 0;
+        while (start < count) {
+            final int blocks = (int) (keys[start] >>> 32);
+            int end = start;
+            while (end < count && (int) (keys[end] >>> 32) == blocks) {
+                end++;
+            }
+            int i = start;
+            for (; i + LANES <= end; i += LANES) {
+                for (int l = 0; l < LANES; l++) {
+                    group[l] = (int) keys[i + l];
+                }
+                hashGroup(inputs, outputs, group, blocks, state);
+            }
+            for (; i < end; i++) {
+                final int index = (int) keys[i];
+                Hashing.sha3_256Uncached(inputs[index], outputs[index]);
+            }
+            start = end;
+        }
+    }
+
+    private static void sha3_256Scalar(final byte[][] inputs, final byte[][] outputs, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            Hashing.sha3_256Uncached(inputs[i], outputs[i]);
+        }
+    }
+
+    private static int blockCount(final byte[] input) {
+        return input.length / RATE + 1;
+    }
+
+    private static void hashGroup(final byte[][] inputs, final byte[][] outputs, final int[] group, final int blocks, final long[] state) {
+        Arrays.fill(state, 0L);
+        final int paddedLength = blocks * RATE;
+        for (int block = 0; block < blocks; block++) {
+            final int base = block * RATE;
+            for (int l = 0; l < LANES; l++) {
+                final byte[] input = inputs[group[l]];
+                for (int w = 0; w < RATE_WORDS; w++) {
+                    state[w * LANES + l] ^= paddedWord(input, base + 8 * w, paddedLength);
+                }
+            }
+            permute(state);
+        }
+        for (int l = 0; l < LANES; l++) {
+            final byte[] output = outputs[group[l]];
+            for (int w = 0; w < 4; w++) {
+                final long value = state[w * LANES + l];
+                for (int k = 0; k < 8; k++) {
+                    output[8 * w + k] = (byte) (value >>> (8 * k));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the little-endian word at {@code offset} of the Keccak-padded message.
+     */
+    private static long paddedWord(final byte[] input, final int offset, final int paddedLength) {
+        final int length = input.length;
+        long value = 0;
+        if (offset + 8 <= length) {
+            for (int k = 0; k < 8; k++) {
+                value |= (input[offset + k] & 0xFFL) << (8 * k);
+            }
+            return value;
+        }
+        for (int k = 0; k < 8; k++) {
+            final int position = offset + k;
+            long b = position < length ? input[position] & 0xFFL : 0L;
+            if (position == length) {
+                b |= 0x01L;
+            }
+            if (position == paddedLength - 1) {
+                b |= 0x80L;
+            }
+            value |= b << (8 * k);
+        }
+        return value;
+    }
+
+    private static void permute(final long[] state) {
+        LongVector a00 = LongVector.fromArray(SPECIES, state,  0 * LANES);
+        LongVector a01 = LongVector.fromArray(SPECIES, state,  1 * LANES);
+        LongVector a02 = LongVector.fromArray(SPECIES, state,  2 * LANES);
+        LongVector a03 = LongVector.fromArray(SPECIES, state,  3 * LANES);
+        LongVector a04 = LongVector.fromArray(SPECIES, state,  4 * LANES);
+        LongVector a05 = LongVector.fromArray(SPECIES, state,  5 * LANES);
+        LongVector a06 = LongVector.fromArray(SPECIES, state,  6 * LANES);
+        LongVector a07 = LongVector.fromArray(SPECIES, state,  7 * LANES);
+        LongVector a08 = LongVector.fromArray(SPECIES, state,  8 * LANES);
+        LongVector a09 = LongVector.fromArray(SPECIES, state,  9 * LANES);
+        LongVector a10 = LongVector.fromArray(SPECIES, state, 10 * LANES);
+        LongVector a11 = LongVector.fromArray(SPECIES, state, 11 * LANES);
+        LongVector a12 = LongVector.fromArray(SPECIES, state, 12 * LANES);
+        LongVector a13 = LongVector.fromArray(SPECIES, state, 13 * LANES);
+        LongVector a14 = LongVector.fromArray(SPECIES, state, 14 * LANES);
+        LongVector a15 = LongVector.fromArray(SPECIES, state, 15 * LANES);
+        LongVector a16 = LongVector.fromArray(SPECIES, state, 16 * LANES);
+        LongVector a17 = LongVector.fromArray(SPECIES, state, 17 * LANES);
+        LongVector a18 = LongVector.fromArray(SPECIES, state, 18 * LANES);
+        LongVector a19 = LongVector.fromArray(SPECIES, state, 19 * LANES);
+        LongVector a20 = LongVector.fromArray(SPECIES, state, 20 * LANES);
+        LongVector a21 = LongVector.fromArray(SPECIES, state, 21 * LANES);
+        LongVector a22 = LongVector.fromArray(SPECIES, state, 22 * LANES);
+        LongVector a23 = LongVector.fromArray(SPECIES, state, 23 * LANES);
+        LongVector a24 = LongVector.fromArray(SPECIES, state, 24 * LANES);
+
+        LongVector c0, c1, c2, c3, c4, d0, d1, d2, d3, d4;
+        LongVector b00, b01, b02, b03, b04, b05, b06, b07, b08, b09, b10, b11, b12, b13, b14, b15, b16, b17, b18, b19, b20, b21, b22, b23, b24;
+
+        for (int round = 0; round < 24; round++) {
+            c0 = a00.lanewise(XOR, a05).lanewise(XOR, a10).lanewise(XOR, a15).lanewise(XOR, a20);
+            c1 = a01.lanewise(XOR, a06).lanewise(XOR, a11).lanewise(XOR, a16).lanewise(XOR, a21);
+            c2 = a02.lanewise(XOR, a07).lanewise(XOR, a12).lanewise(XOR, a17).lanewise(XOR, a22);
+            c3 = a03.lanewise(XOR, a08).lanewise(XOR, a13).lanewise(XOR, a18).lanewise(XOR, a23);
+            c4 = a04.lanewise(XOR, a09).lanewise(XOR, a14).lanewise(XOR, a19).lanewise(XOR, a24);
+            d0 = c4.lanewise(XOR, c1.lanewise(ROL, 1));
+            d1 = c0.lanewise(XOR, c2.lanewise(ROL, 1));
+            d2 = c1.lanewise(XOR, c3.lanewise(ROL, 1));
+            d3 = c2.lanewise(XOR, c4.lanewise(ROL, 1));
+            d4 = c3.lanewise(XOR, c0.lanewise(ROL, 1));
+            b00 = a00.lanewise(XOR, d0);
+            b10 = a01.lanewise(XOR, d1).lanewise(ROL, 1);
+            b20 = a02.lanewise(XOR, d2).lanewise(ROL, 62);
+            b05 = a03.lanewise(XOR, d3).lanewise(ROL, 28);
+            b15 = a04.lanewise(XOR, d4).lanewise(ROL, 27);
+            b16 = a05.lanewise(XOR, d0).lanewise(ROL, 36);
+            b01 = a06.lanewise(XOR, d1).lanewise(ROL, 44);
+            b11 = a07.lanewise(XOR, d2).lanewise(ROL, 6);
+            b21 = a08.lanewise(XOR, d3).lanewise(ROL, 55);
+            b06 = a09.lanewise(XOR, d4).lanewise(ROL, 20);
+            b07 = a10.lanewise(XOR, d0).lanewise(ROL, 3);
+            b17 = a11.lanewise(XOR, d1).lanewise(ROL, 10);
+            b02 = a12.lanewise(XOR, d2).lanewise(ROL, 43);
+            b12 = a13.lanewise(XOR, d3).lanewise(ROL, 25);
+            b22 = a14.lanewise(XOR, d4).lanewise(ROL, 39);
+            b23 = a15.lanewise(XOR, d0).lanewise(ROL, 41);
+            b08 = a16.lanewise(XOR, d1).lanewise(ROL, 45);
+            b18 = a17.lanewise(XOR, d2).lanewise(ROL, 15);
+            b03 = a18.lanewise(XOR, d3).lanewise(ROL, 21);
+            b13 = a19.lanewise(XOR, d4).lanewise(ROL, 8);
+            b14 = a20.lanewise(XOR, d0).lanewise(ROL, 18);
+            b24 = a21.lanewise(XOR, d1).lanewise(ROL, 2);
+            b09 = a22.lanewise(XOR, d2).lanewise(ROL, 61);
+            b19 = a23.lanewise(XOR, d3).lanewise(ROL, 56);
+            b04 = a24.lanewise(XOR, d4).lanewise(ROL, 14);
+            a00 = b00.lanewise(XOR, b02.lanewise(AND_NOT, b01));
+            a01 = b01.lanewise(XOR, b03.lanewise(AND_NOT, b02));
+            a02 = b02.lanewise(XOR, b04.lanewise(AND_NOT, b03));
+            a03 = b03.lanewise(XOR, b00.lanewise(AND_NOT, b04));
+            a04 = b04.lanewise(XOR, b01.lanewise(AND_NOT, b00));
+            a05 = b05.lanewise(XOR, b07.lanewise(AND_NOT, b06));
+            a06 = b06.lanewise(XOR, b08.lanewise(AND_NOT, b07));
+            a07 = b07.lanewise(XOR, b09.lanewise(AND_NOT, b08));
+            a08 = b08.lanewise(XOR, b05.lanewise(AND_NOT, b09));
+            a09 = b09.lanewise(XOR, b06.lanewise(AND_NOT, b05));
+            a10 = b10.lanewise(XOR, b12.lanewise(AND_NOT, b11));
+            a11 = b11.lanewise(XOR, b13.lanewise(AND_NOT, b12));
+            a12 = b12.lanewise(XOR, b14.lanewise(AND_NOT, b13));
+            a13 = b13.lanewise(XOR, b10.lanewise(AND_NOT, b14));
+            a14 = b14.lanewise(XOR, b11.lanewise(AND_NOT, b10));
+            a15 = b15.lanewise(XOR, b17.lanewise(AND_NOT, b16));
+            a16 = b16.lanewise(XOR, b18.lanewise(AND_NOT, b17));
+            a17 = b17.lanewise(XOR, b19.lanewise(AND_NOT, b18));
+            a18 = b18.lanewise(XOR, b15.lanewise(AND_NOT, b19));
+            a19 = b19.lanewise(XOR, b16.lanewise(AND_NOT, b15));
+            a20 = b20.lanewise(XOR, b22.lanewise(AND_NOT, b21));
+            a21 = b21.lanewise(XOR, b23.lanewise(AND_NOT, b22));
+            a22 = b22.lanewise(XOR, b24.lanewise(AND_NOT, b23));
+            a23 = b23.lanewise(XOR, b20.lanewise(AND_NOT, b24));
+            a24 = b24.lanewise(XOR, b21.lanewise(AND_NOT, b20));
+            a00 = a00.lanewise(XOR, RC[round]);
+        }
+
+        a00.intoArray(state,  0 * LANES);
+        a01.intoArray(state,  1 * LANES);
+        a02.intoArray(state,  2 * LANES);
+        a03.intoArray(state,  3 * LANES);
+        a04.intoArray(state,  4 * LANES);
+        a05.intoArray(state,  5 * LANES);
+        a06.intoArray(state,  6 * LANES);
+        a07.intoArray(state,  7 * LANES);
+        a08.intoArray(state,  8 * LANES);
+        a09.intoArray(state,  9 * LANES);
+        a10.intoArray(state, 10 * LANES);
+        a11.intoArray(state, 11 * LANES);
+        a12.intoArray(state, 12 * LANES);
+        a13.intoArray(state, 13 * LANES);
+        a14.intoArray(state, 14 * LANES);
+        a15.intoArray(state, 15 * LANES);
+        a16.intoArray(state, 16 * LANES);
+        a17.intoArray(state, 17 * LANES);
+        a18.intoArray(state, 18 * LANES);
+        a19.intoArray(state, 19 * LANES);
+        a20.intoArray(state, 20 * LANES);
+        a21.intoArray(state, 21 * LANES);
+        a22.intoArray(state, 22 * LANES);
+        a23.intoArray(state, 23 * LANES);
+        a24.intoArray(state, 24 * LANES);
+    }
+}
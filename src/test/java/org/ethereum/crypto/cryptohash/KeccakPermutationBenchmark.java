@@ -0,0 +1,55 @@
+package org.ethereum.crypto.cryptohash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of one Keccak-f[1600] permutation for each {@link KeccakPermutation}.
+ * <p>
+ * Every forked JVM runs a single permutation, so its call site stays monomorphic as it
+ * is in {@link KeccakCore}. Not a unit test: after {@code mvn test-compile}, run it with
+ * {@code java -cp target/test-classes:target/classes:<test classpath>
+ * org.openjdk.jmh.Main KeccakPermutationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class KeccakPermutationBenchmark {
+
+    @Param({ "ARRAY", "LOCALS", "LOCALS_COMPLEMENTED" })
+    public String name;
+
+    private KeccakPermutation permutation;
+
+    private final long[] state = new long[25];
+
+    @Setup
+    public void setUp() {
+        permutation = KeccakPermutation.valueOf(name);
+        final Random random = new Random(1600);
+        for (int i = 0; i < state.length; i++) {
+            state[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public long permute() {
+        permutation.permute(state);
+        return state[0];
+    }
+}
@@ -0,0 +1,79 @@
+package org.ethereum.crypto.cryptohash;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(JukitoRunner.class)
+public class KeccakPermutationTest {
+
+    private static final int[] COMPLEMENTED_LANES = { 1, 2, 8, 12, 17, 20 };
+
+    public static class Module extends JukitoModule {
+
+        @Override
+        protected void configureTest() {
+            bindManyInstances(KeccakPermutation.class, KeccakPermutation.values());
+        }
+    }
+
+    @Test
+    public void permutationOfZeroStateMatchesReference(@All KeccakPermutation permutation) {
+        final long[] state = complement(new long[25]);
+
+        permutation.permute(state);
+        complement(state);
+
+        assertThat(state[0], equalTo(0xF1258F7940E1DDE7L));
+        assertThat(state[1], equalTo(0x84D5CCF933C0478AL));
+        assertThat(state[24], equalTo(0xEAF1FF7B5CECA249L));
+    }
+
+    @Test
+    public void permutationMatchesArrayImplementation(@All KeccakPermutation permutation) {
+        final Random random = new Random(0x5EED);
+        for (int i = 0; i < 100; i++) {
+            final long[] expected = new long[25];
+            for (int j = 0; j < 25; j++) {
+                expected[j] = random.nextLong();
+            }
+            final long[] actual = expected.clone();
+
+            KeccakPermutation.ARRAY.permute(expected);
+            permutation.permute(actual);
+
+            assertThat(actual, equalTo(expected));
+        }
+    }
+
+    @Test
+    public void permutationIsSelectedByName() {
+        assertThat(KeccakPermutation.fromName(null), equalTo(KeccakPermutation.LOCALS));
+        assertThat(KeccakPermutation.fromName("array"), equalTo(KeccakPermutation.ARRAY));
+        assertThat(KeccakPermutation.fromName(" Locals-Complemented "), equalTo(KeccakPermutation.LOCALS_COMPLEMENTED));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownNameIsRejected() {
+        KeccakPermutation.fromName("local");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyNameIsRejected() {
+        KeccakPermutation.fromName("");
+    }
+
+    private static long[] complement(long[] state) {
+        for (final int lane : COMPLEMENTED_LANES) {
+            state[lane] = ~state[lane];
+        }
+        return state;
+    }
+}
@@ -0,0 +1,76 @@
+package studio.blockops.vyom.core;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+@RunWith(Enclosed.class)
+public class AddressMapTest {
+
+    @RunWith(JukitoRunner.class)
+    public static class OperationsTest extends AddressMapTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(Boolean.class, false, true);
+            }
+        }
+
+        @Test
+        public void matchesHashMap(@All Boolean offHeap) {
+            final Random random = new Random(0x5EED);
+            final List<Address> addresses = AddressSetTest.randomAddresses(random, 3000);
+            final AddressMap map = new AddressMap(0, offHeap);
+            final Map<Address, Long> expected = new HashMap<>();
+
+            for (int i = 0; i < 20000; i++) {
+                final Address address = addresses.get(random.nextInt(addresses.size()));
+                if (random.nextInt(3) == 0) {
+                    assertThat(map.remove(address), equalTo(expected.remove(address) != null));
+                } else {
+                    final long value = random.nextLong();
+                    assertThat(map.put(address, value), equalTo(expected.put(address, value) == null));
+                }
+                assertThat(map.size(), equalTo(expected.size()));
+            }
+            for (final Address address : addresses) {
+                assertThat(map.containsKey(address), equalTo(expected.containsKey(address)));
+                assertThat(map.get(address, -1L), equalTo(expected.getOrDefault(address, -1L)));
+            }
+
+            final Map<Address, Long> iterated = new HashMap<>();
+            map.forEach(iterated::put);
+            assertThat(iterated, equalTo(expected));
+        }
+
+        @Test
+        public void valuesSurviveGrowth() {
+            final List<Address> addresses = AddressSetTest.randomAddresses(new Random(7), 1000);
+            final AddressMap map = new AddressMap();
+            for (int i = 0; i < addresses.size(); i++) {
+                assertTrue(map.put(addresses.get(i), i));
+            }
+
+            for (int i = 0; i < addresses.size(); i++) {
+                assertThat(map.get(addresses.get(i), -1L), equalTo((long) i));
+            }
+            assertFalse(map.put(addresses.get(0), 42L));
+            assertThat(map.get(addresses.get(0), -1L), equalTo(42L));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package studio.blockops.vyom.core;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+@RunWith(Enclosed.class)
+public class AddressSetTest {
+
+    @RunWith(JukitoRunner.class)
+    public static class OperationsTest extends AddressSetTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(Boolean.class, false, true);
+            }
+        }
+
+        @Test
+        public void matchesHashSet(@All Boolean offHeap) {
+            final Random random = new Random(0x5EED);
+            final List<Address> addresses = randomAddresses(random, 3000);
+            final AddressSet set = new AddressSet(0, offHeap);
+            final Set<Address> expected = new HashSet<>();
+
+            for (int i = 0; i < 20000; i++) {
+                final Address address = addresses.get(random.nextInt(addresses.size()));
+                if (random.nextInt(3) == 0) {
+                    assertThat(set.remove(address), equalTo(expected.remove(address)));
+                } else {
+                    assertThat(set.add(address), equalTo(expected.add(address)));
+                }
+                assertThat(set.size(), equalTo(expected.size()));
+            }
+            for (final Address address : addresses) {
+                assertThat(set.contains(address), equalTo(expected.contains(address)));
+            }
+
+            final Set<Address> iterated = new HashSet<>();
+            set.forEach(iterated::add);
+            assertThat(iterated, equalTo(expected));
+            assertThat(set.isOffHeap(), equalTo(offHeap));
+        }
+
+        @Test
+        public void zeroAddressIsAnOrdinaryMember() {
+            final AddressSet set = new AddressSet();
+            final Address zero = Address.create(new byte[Address.LENGTH]);
+
+            assertFalse(set.contains(zero));
+            assertTrue(set.add(zero));
+            assertTrue(set.contains(zero));
+            assertFalse(set.add(zero));
+        }
+
+        @Test
+        public void clearRemovesEverything() {
+            final AddressSet set = new AddressSet(100, false);
+            final List<Address> addresses = randomAddresses(new Random(7), 100);
+            addresses.forEach(set::add);
+
+            set.clear();
+
+            assertTrue(set.isEmpty());
+            for (final Address address : addresses) {
+                assertFalse(set.contains(address));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeExpectedSizeIsRejected() {
+            new AddressSet(-1, false);
+        }
+    }
+
+    static List<Address> randomAddresses(final Random random, final int count) {
+        final List<Address> addresses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final byte[] bytes = new byte[Address.LENGTH];
+            random.nextBytes(bytes);
+            addresses.add(Address.create(bytes));
+        }
+        return addresses;
+    }
+}
@@ -0,0 +1,170 @@
+package studio.blockops.vyom.core;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.spongycastle.util.encoders.Hex;
+
+import studio.blockops.vyom.crypto.CryptoException;
+
+@RunWith(Enclosed.class)
+public class AddressTest {
+
+    @RunWith(JukitoRunner.class)
+    public static class CreateTest extends AddressTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(String.class,
+                        "cd2a3d9f938e13cd947ec05abc7fe734df8dd826",
+                        "0000000000000000000000000000000000000000",
+                        "ffffffffffffffffffffffffffffffffffffffff",
+                        "8000000000000000800000000000000080000001");
+            }
+        }
+
+        @Test
+        public void rawValueRoundTrips(@All String hex) {
+            final Address address = Address.createFromHexString(hex);
+
+            assertThat(address.toString(), equalTo(hex));
+            assertThat(address.getRaw(), equalTo(Hex.decode(hex)));
+            assertThat(Address.create(address.getRaw()), equalTo(address));
+            assertThat(Address.create(address.getRaw()).hashCode(), equalTo(address.hashCode()));
+        }
+
+        @Test
+        public void canCreateFromBufferOffset(@All String hex) {
+            final byte[] buffer = new byte[Address.LENGTH + 12];
+            System.arraycopy(Hex.decode(hex), 0, buffer, 12, Address.LENGTH);
+
+            assertThat(Address.create(buffer, 12), equalTo(Address.createFromHexString(hex)));
+        }
+
+        @Test
+        public void writeToFillsTheCallerBuffer(@All String hex) {
+            final byte[] buffer = new byte[Address.LENGTH + 3];
+
+            Address.createFromHexString(hex).writeTo(buffer, 2);
+
+            assertThat(Arrays.copyOfRange(buffer, 2, 2 + Address.LENGTH), equalTo(Hex.decode(hex)));
+            assertThat(buffer[0] | buffer[1] | buffer[buffer.length - 1], equalTo(0));
+        }
+
+        @Test
+        public void rawValueIsACopy() {
+            final Address address = Address.createFromHexString("cd2a3d9f938e13cd947ec05abc7fe734df8dd826");
+            address.getRaw()[0] ^= 1;
+
+            assertThat(address.toString(), equalTo("cd2a3d9f938e13cd947ec05abc7fe734df8dd826"));
+        }
+
+        @Test
+        public void everyByteTakesPartInEquality() {
+            final byte[] bytes = Hex.decode("cd2a3d9f938e13cd947ec05abc7fe734df8dd826");
+            final Address address = Address.create(bytes.clone());
+            for (int i = 0; i < Address.LENGTH; i++) {
+                final byte[] changed = bytes.clone();
+                changed[i] ^= 1;
+
+                assertThat(Address.create(changed), is(not(equalTo(address))));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void wrongLengthIsRejected() {
+            Address.create(new byte[19]);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void shortBufferIsRejected() {
+            Address.create(new byte[Address.LENGTH], 1);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void writeToRejectsShortBuffer() {
+            Address.createFromHexString("cd2a3d9f938e13cd947ec05abc7fe734df8dd826").writeTo(new byte[Address.LENGTH], 1);
+        }
+
+        @Test(expected = CryptoException.class)
+        public void invalidHexStringIsRejected() {
+            Address.createFromHexString("1H33");
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class ChecksumTest extends AddressTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                // the test vectors of EIP-55
+                bindManyInstances(String.class,
+                        "0x52908400098527886E0F7030069857D2E4169EE7",
+                        "0x8617E340B3D01FA5F11F306F4090FD50E238070D",
+                        "0xde709f2102306220921060314715629080e2fb77",
+                        "0x27b1fdb04752bbc536007a920d24acb045561c26",
+                        "0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAed",
+                        "0xfB6916095ca1df60bB79Ce92cE3Ea74c37c5d359",
+                        "0xdbF03B407c01E7cD3CBea99509d93f8DDDC8C6FB",
+                        "0xD1220A0cf47c7B9Be7A2E6BA89F429762e7b9aDb");
+            }
+        }
+
+        @Test
+        public void encodesTheChecksum(@All String checksum) {
+            final Address address = Address.createFromHexString(checksum.substring(2).toLowerCase());
+
+            assertThat(address.toChecksumString(), equalTo(checksum));
+        }
+
+        @Test
+        public void decodesAndValidatesTheChecksum(@All String checksum) {
+            final Address address = Address.createFromChecksumString(checksum);
+
+            assertThat(address, equalTo(Address.createFromHexString(checksum.substring(2))));
+            assertThat(Address.createFromChecksumString(checksum.substring(2)), equalTo(address));
+        }
+
+        @Test
+        public void checksumStringIsMemoized() {
+            final Address address = Address.createFromHexString("5aaeb6053f3e94c9b9a09f33669435e7ef1beaed");
+
+            assertThat(address.toChecksumString(), sameInstance(address.toChecksumString()));
+        }
+
+        @Test(expected = CryptoException.class)
+        public void wrongCaseIsRejected() {
+            Address.createFromChecksumString("0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAeD");
+        }
+
+        @Test(expected = CryptoException.class)
+        public void lowercaseIsRejectedWhenTheChecksumHasUppercase() {
+            Address.createFromChecksumString("0x5aaeb6053f3e94c9b9a09f33669435e7ef1beaed");
+        }
+
+        @Test(expected = CryptoException.class)
+        public void wrongLengthIsRejected() {
+            Address.createFromChecksumString("0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeA");
+        }
+
+        @Test(expected = CryptoException.class)
+        public void invalidCharacterIsRejected() {
+            Address.createFromChecksumString("0x5aAeb6053F3E94C9b9A09f33669435E7Ef1BeAeG");
+        }
+    }
+}
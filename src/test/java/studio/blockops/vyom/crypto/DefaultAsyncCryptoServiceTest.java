@@ -0,0 +1,233 @@
+package studio.blockops.vyom.crypto;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.inject.Inject;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import studio.blockops.vyom.crypto.AsyncCryptoService.Operation;
+import studio.blockops.vyom.crypto.secp256k1.SecP256K1Module;
+
+@RunWith(Enclosed.class)
+public class DefaultAsyncCryptoServiceTest {
+
+    @Inject
+    protected CryptoEngine engine;
+
+    @Inject
+    protected SigningService signingService;
+
+    /**
+     * Executors created by the tests, shut down after each test
+     */
+    private final List<CryptoExecutor> executors = new ArrayList<>();
+
+    protected CryptoExecutor executor(final int threads) {
+        final CryptoExecutor executor = new CryptoExecutor(threads);
+        executors.add(executor);
+        return executor;
+    }
+
+    @After
+    public void shutdownExecutors() {
+        for (final CryptoExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class OperationsTest extends DefaultAsyncCryptoServiceTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+
+                bindManyInstances(Long.class, 0L, DefaultAsyncCryptoService.DEFAULT_BATCH_WINDOW_MICROS, 5000L);
+            }
+        }
+
+        @Test
+        public void signaturesMatchSigningService() throws InterruptedException, ExecutionException {
+            final PrivateKey privateKey = PrivateKey.create(BigInteger.valueOf(0x5EED));
+            final byte[] message = "This is an example of a signed message.".getBytes();
+
+            try (final AsyncCryptoService service = new DefaultAsyncCryptoService(engine, signingService, executor(2), 16, 0)) {
+                assertThat(service.sign(privateKey, message).get(), equalTo(signingService.sign(privateKey, message)));
+                assertThat(service.signHash(privateKey, Hashing.sha3_256(message)).get(), equalTo(signingService.sign(privateKey, message)));
+                assertThat(service.getLatencies(Operation.SIGN).getCount(), equalTo(2L));
+            }
+        }
+
+        @Test
+        public void verificationsMatchSignerVerify(@All Long batchWindowMicros) throws InterruptedException, ExecutionException {
+            final Random random = new Random(batchWindowMicros);
+            final List<VerificationRequest> requests = new ArrayList<>();
+            final List<Boolean> expected = new ArrayList<>();
+            for (int i = 0; i < 150; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(255, random).add(BigInteger.ONE));
+                final PublicKey publicKey = engine.createKeyGenerator().derivePublicKey(privateKey);
+                final byte[] message = new byte[1 + random.nextInt(64)];
+                random.nextBytes(message);
+                final Signature signature = signingService.sign(privateKey, message);
+                if (i % 5 == 0) {
+                    message[0] ^= 1;
+                }
+                requests.add(VerificationRequest.create(message, signature, publicKey));
+                expected.add(i % 5 != 0);
+            }
+
+            try (final AsyncCryptoService service = new DefaultAsyncCryptoService(engine, signingService, executor(4), 256, batchWindowMicros)) {
+                final List<CompletableFuture<Boolean>> results = new ArrayList<>();
+                for (final VerificationRequest request : requests) {
+                    results.add(service.verify(request));
+                }
+                for (int i = 0; i < requests.size(); i++) {
+                    assertThat(results.get(i).get(), equalTo(expected.get(i)));
+                }
+                assertThat(service.getLatencies(Operation.VERIFY).getCount(), equalTo((long) requests.size()));
+            }
+        }
+
+        @Test
+        public void nonCanonicalSignaturesAreRejectedWithoutQueueing() throws InterruptedException, ExecutionException {
+            final PrivateKey privateKey = PrivateKey.create(BigInteger.valueOf(0x5EED));
+            final byte[] message = new byte[] { 1, 2, 3 };
+            final Signature signature = signingService.sign(privateKey, message);
+            final Signature highS = Signature.create(signature.getR(),
+                    new BigInteger("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141", 16).subtract(signature.getS()));
+
+            try (final AsyncCryptoService service = new DefaultAsyncCryptoService(engine, signingService, executor(1), 1, 60_000_000L)) {
+                final CompletableFuture<Boolean> result = service.verify(VerificationRequest.create(message, highS,
+                        engine.createKeyGenerator().derivePublicKey(privateKey)));
+
+                assertTrue(result.isDone());
+                assertThat(result.get(), equalTo(false));
+                assertThat(service.getLatencies(Operation.VERIFY).getCount(), equalTo(0L));
+            }
+        }
+
+        @Test
+        public void encryptedMessagesCanBeDecrypted() throws InterruptedException, ExecutionException {
+            final PrivateKey privateKey = PrivateKey.create(BigInteger.valueOf(0x5EED));
+            final PublicKey publicKey = engine.createKeyGenerator().derivePublicKey(privateKey);
+            final byte[] message = "We want, neither to rule nor to be ruled.".getBytes();
+
+            try (final AsyncCryptoService service = new DefaultAsyncCryptoService(engine, signingService, executor(2), 16, 0)) {
+                final byte[] actual = service.encrypt(privateKey, publicKey, message)
+                        .thenCompose(cipher -> service.decrypt(privateKey, cipher))
+                        .get();
+
+                assertThat(actual, equalTo(message));
+                assertThat(service.getLatencies(Operation.ENCRYPT).getCount(), equalTo(1L));
+                assertThat(service.getLatencies(Operation.DECRYPT).getCount(), equalTo(1L));
+            }
+        }
+
+        @Test
+        public void failuresCompleteTheFuture() throws InterruptedException {
+            try (final AsyncCryptoService service = new DefaultAsyncCryptoService(engine, signingService, executor(2), 16, 0)) {
+                final CompletableFuture<Signature> future = service.sign(PrivateKey.create(BigInteger.ZERO), new byte[1]);
+
+                assertThat(causeOf(future), instanceOf(CryptoException.class));
+            }
+        }
+
+        @Test
+        public void operationsBeyondTheLimitAreRejected() throws InterruptedException, ExecutionException {
+            final CountDownLatch release = new CountDownLatch(1);
+            final SigningService blocking = new SigningService() {
+
+                @Override
+                public Signature sign(final PrivateKey privateKey, final byte[] data) {
+                    return signHash(privateKey, Hashing.sha3_256(data));
+                }
+
+                @Override
+                public Signature signHash(final PrivateKey privateKey, final byte[] messageHash) {
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return signingService.signHash(privateKey, messageHash);
+                }
+            };
+            final PrivateKey privateKey = PrivateKey.create(BigInteger.valueOf(0x5EED));
+
+            try (final AsyncCryptoService service = new DefaultAsyncCryptoService(engine, blocking, executor(1), 2, 0)) {
+                final CompletableFuture<Signature> first = service.sign(privateKey, new byte[1]);
+                final CompletableFuture<Signature> second = service.sign(privateKey, new byte[2]);
+                final CompletableFuture<Signature> third = service.sign(privateKey, new byte[3]);
+
+                assertThat(causeOf(third), instanceOf(RejectedExecutionException.class));
+                release.countDown();
+                first.get();
+                second.get();
+                assertThat(service.sign(privateKey, new byte[4]).get(), equalTo(signingService.sign(privateKey, new byte[4])));
+            }
+        }
+
+        @Test
+        public void closedServiceRejectsOperations() throws InterruptedException {
+            final AsyncCryptoService service = new DefaultAsyncCryptoService(engine, signingService, executor(1), 16, 1000);
+            service.close();
+
+            assertThat(causeOf(service.sign(PrivateKey.create(BigInteger.ONE), new byte[1])), instanceOf(RejectedExecutionException.class));
+            assertThat(causeOf(service.verify(VerificationRequest.create(new byte[1],
+                    Signature.create(BigInteger.valueOf(2), BigInteger.valueOf(2)),
+                    engine.createKeyGenerator().derivePublicKey(PrivateKey.create(BigInteger.ONE))))),
+                    instanceOf(RejectedExecutionException.class));
+        }
+
+        @Test
+        public void closeCompletesWaitingVerifications() throws InterruptedException, ExecutionException {
+            final PrivateKey privateKey = PrivateKey.create(BigInteger.valueOf(0x5EED));
+            final byte[] message = new byte[] { 1, 2, 3 };
+            final VerificationRequest request = VerificationRequest.create(message, signingService.sign(privateKey, message),
+                    engine.createKeyGenerator().derivePublicKey(privateKey));
+
+            final AsyncCryptoService service = new DefaultAsyncCryptoService(engine, signingService, executor(1), 16, 60_000_000L);
+            final CompletableFuture<Boolean> result = service.verify(request);
+            service.close();
+
+            assertTrue(result.get());
+        }
+
+        @Test
+        public void engineServesTheSingleton(AsyncCryptoService service) {
+            assertThat(engine.getAsyncService(), sameInstance(service));
+        }
+
+        private static Throwable causeOf(final CompletableFuture<?> future) throws InterruptedException {
+            try {
+                future.get();
+            } catch (final ExecutionException e) {
+                return e.getCause();
+            }
+            throw new AssertionError("future completed normally");
+        }
+    }
+}
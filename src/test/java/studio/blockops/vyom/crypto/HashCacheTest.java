@@ -0,0 +1,199 @@
+package studio.blockops.vyom.crypto;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.spongycastle.util.encoders.Hex;
+
+@RunWith(Enclosed.class)
+public class HashCacheTest {
+
+    @RunWith(JukitoRunner.class)
+    public static class BoundedTest extends HashCacheTest {
+
+        @After
+        public void uninstallCache() {
+            Hashing.setCache(HashCache.none());
+        }
+
+        @Test
+        public void noCacheIsInstalledByDefault() {
+            assertThat(Hashing.getCache(), sameInstance(HashCache.none()));
+        }
+
+        @Test
+        public void repeatedInputIsServedFromCache() {
+            final HashCache cache = HashCache.bounded(16, 64);
+            Hashing.setCache(cache);
+            final byte[] input = Hex.decode("616263");
+
+            final byte[] first = Hashing.sha3_256(input);
+            final byte[] second = Hashing.sha3_256(input.clone());
+
+            assertThat(Hex.toHexString(second), equalTo("4e03657aea45a94fc7d47ba826c8d667c0d1e6e33a64a036ec44f58fa12d6c45"));
+            assertThat(second, equalTo(first));
+            assertThat(second, not(sameInstance(first)));
+            assertThat(cache.missCount(), equalTo(1L));
+            assertThat(cache.hitCount(), equalTo(1L));
+        }
+
+        @Test
+        public void cachedHashIsUnaffectedByMutatingInputOrOutput() {
+            Hashing.setCache(HashCache.bounded(16, 64));
+            final byte[] input = Hex.decode("616263");
+            final byte[] expected = Hashing.sha3_256(Hex.decode("616263"));
+
+            final byte[] first = Hashing.sha3_256(input);
+            first[0] ^= 1;
+            input[0] = 0;
+
+            assertThat(Hashing.sha3_256(Hex.decode("616263")), equalTo(expected));
+        }
+
+        @Test
+        public void regionHashesAreCachedByContent() {
+            final HashCache cache = HashCache.bounded(16, 64);
+            Hashing.setCache(cache);
+            final byte[] expected = Hashing.sha3_256(Hex.decode("6263"));
+            final byte[] output = new byte[Hashing.SHA3_256_LENGTH];
+
+            Hashing.sha3_256(Hex.decode("616263"), 1, 2, output, 0);
+
+            assertThat(output, equalTo(expected));
+            assertThat(cache.hitCount(), equalTo(1L));
+        }
+
+        @Test
+        public void longInputsBypassCache() {
+            final HashCache cache = HashCache.bounded(16, 2);
+            Hashing.setCache(cache);
+
+            Hashing.sha3_256(Hex.decode("616263"));
+            Hashing.sha3_256(Hex.decode("616263"));
+
+            assertThat(cache.size(), equalTo(0L));
+            assertThat(cache.hitCount() + cache.missCount(), equalTo(0L));
+        }
+
+        @Test
+        public void batchesBypassCache() {
+            final HashCache cache = HashCache.bounded(16, 64);
+            Hashing.setCache(cache);
+            final byte[][] inputs = new byte[64][];
+            for (int i = 0; i < inputs.length; i++) {
+                inputs[i] = new byte[] { (byte) i, (byte) (i >> 8) };
+            }
+
+            Hashing.sha3_256Batch(inputs, new byte[inputs.length][]);
+
+            assertThat(cache.size(), equalTo(0L));
+            assertThat(cache.hitCount() + cache.missCount(), equalTo(0L));
+        }
+
+        @Test
+        public void sizeIsBounded() {
+            final HashCache cache = HashCache.bounded(4, 64);
+            Hashing.setCache(cache);
+
+            for (int i = 0; i < 100; i++) {
+                Hashing.sha3omit12(new byte[] { (byte) i });
+            }
+
+            assertThat(cache.size() <= 4, equalTo(true));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void boundedRejectsNonPositiveSize() {
+            HashCache.bounded(0, 64);
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class EvictionTest extends HashCacheTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(HashCache.Eviction.class, HashCache.Eviction.values());
+            }
+        }
+
+        @After
+        public void uninstallCache() {
+            Hashing.setCache(HashCache.none());
+        }
+
+        @Test
+        public void repeatedInputIsServedFromCache(@All HashCache.Eviction eviction) {
+            final HashCache cache = HashCache.bounded(16, 64, eviction);
+            Hashing.setCache(cache);
+            final byte[] expected = Hashing.sha3_256(Hex.decode("616263"));
+
+            assertThat(Hashing.sha3_256(Hex.decode("616263")), equalTo(expected));
+            assertThat(cache.missCount(), equalTo(1L));
+            assertThat(cache.hitCount(), equalTo(1L));
+        }
+
+        @Test
+        public void sizeIsBounded(@All HashCache.Eviction eviction) {
+            final HashCache cache = HashCache.bounded(4, 64, eviction);
+            Hashing.setCache(cache);
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(Hashing.sha3omit12(new byte[] { (byte) i, 1 }), equalTo(Hashing.sha3omit12(new byte[] { (byte) i, 1 })));
+            }
+
+            assertThat(cache.size() <= 4, equalTo(true));
+            assertThat(cache.hitCount(), equalTo(100L));
+        }
+
+        @Test
+        public void invalidateAllEmptiesTheCache(@All HashCache.Eviction eviction) {
+            final HashCache cache = HashCache.bounded(4, 64, eviction);
+            Hashing.setCache(cache);
+            for (int i = 0; i < 10; i++) {
+                Hashing.sha3_256(new byte[] { (byte) i, 2 });
+            }
+
+            cache.invalidateAll();
+            Hashing.sha3_256(new byte[] { 9, 2 });
+
+            assertThat(cache.size(), equalTo(1L));
+            assertThat(cache.hitCount(), equalTo(0L));
+        }
+
+        @Test
+        public void clockSparesReferencedEntries() {
+            final HashCache cache = HashCache.bounded(2, 64, HashCache.Eviction.CLOCK);
+            Hashing.setCache(cache);
+            final byte[] a = Hex.decode("0a0a");
+            final byte[] b = Hex.decode("0b0b");
+
+            Hashing.sha3_256(a);
+            Hashing.sha3_256(b);
+            Hashing.sha3_256(a);
+            Hashing.sha3_256(Hex.decode("0c0c"));
+
+            final long hits = cache.hitCount();
+            Hashing.sha3_256(a);
+            assertThat(cache.hitCount(), equalTo(hits + 1));
+            Hashing.sha3_256(b);
+            assertThat(cache.hitCount(), equalTo(hits + 1));
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void boundedRejectsNullEviction() {
+            HashCache.bounded(16, 64, null);
+        }
+    }
+}
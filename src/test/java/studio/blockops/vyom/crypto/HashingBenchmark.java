@@ -0,0 +1,82 @@
+package studio.blockops.vyom.crypto;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the {@link Hashing} entry points, per message.
+ * <p>
+ * Not a unit test: after {@code mvn test-compile}, run it with
+ * {@code java -cp target/test-classes:target/classes:<test classpath>
+ * org.openjdk.jmh.Main HashingBenchmark}. Add
+ * {@code -jvmArgsAppend -Dvyom.keccak.permutation=<name>} to hash on another Keccak-f
+ * permutation, and {@code -jvmArgsAppend "--add-modules jdk.incubator.vector"} on JDK 16+
+ * to hash batches on the SIMD engine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class HashingBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+
+    @Param({ "32", "64", "135", "1024", "16384" })
+    public int size;
+
+    private byte[] message;
+    private byte[][] messages;
+    private final byte[] output = new byte[Hashing.SHA3_512_LENGTH];
+    private final byte[][] outputs = new byte[BATCH_SIZE][Hashing.SHA3_256_LENGTH];
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(size);
+        message = new byte[size];
+        random.nextBytes(message);
+        messages = new byte[BATCH_SIZE][size];
+        for (final byte[] batchMessage : messages) {
+            random.nextBytes(batchMessage);
+        }
+    }
+
+    @Benchmark
+    public byte[] sha3_256() {
+        Hashing.sha3_256(message, 0, message.length, output, 0);
+        return output;
+    }
+
+    @Benchmark
+    public byte[] sha3_512() {
+        Hashing.sha3_512(message, 0, message.length, output, 0);
+        return output;
+    }
+
+    @Benchmark
+    public byte[] ripemd160() {
+        Hashing.ripemd160(message, 0, message.length, output, 0);
+        return output;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[][] sha3_256Batch() {
+        Hashing.sha3_256Batch(messages, outputs);
+        return outputs;
+    }
+}
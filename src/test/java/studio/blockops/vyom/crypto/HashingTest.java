@@ -0,0 +1,390 @@
+package studio.blockops.vyom.crypto;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.ethereum.crypto.cryptohash.Keccak256;
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.spongycastle.util.encoders.Hex;
+
+import studio.blockops.vyom.serialization.rlp.RLPEncoder;
+
+@RunWith(Enclosed.class)
+public class HashingTest {
+
+    @RunWith(JukitoRunner.class)
+    public static class Sha3_256Test extends HashingTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(TestData.class,
+                        new TestData("", "c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470"),
+                        new TestData("80", "56e81f171bcc55a6ff8345e692c0f86e5b48e01b996cadc001622fb5e363b421"),
+                        new TestData("c0", "1dcc4de8dec75d7aab85b567b6ccd41ad312451b948a7413f0a142fd40d49347"),
+                        new TestData("616263", "4e03657aea45a94fc7d47ba826c8d667c0d1e6e33a64a036ec44f58fa12d6c45"));
+            }
+        }
+
+        @Test
+        public void sha3_256ProducesCorrectHash(@All TestData data) {
+            final byte[] actual = Hashing.sha3_256(Hex.decode(data.input));
+
+            assertThat(Hex.toHexString(actual), equalTo(data.expected));
+        }
+
+        @Test
+        public void sha3_256WritesIntoOutputBuffer(@All TestData data) {
+            final byte[] input = Hex.decode(data.input);
+            final byte[] padded = new byte[input.length + 7];
+            System.arraycopy(input, 0, padded, 3, input.length);
+            final byte[] output = new byte[Hashing.SHA3_256_LENGTH + 5];
+
+            Hashing.sha3_256(padded, 3, input.length, output, 5);
+
+            assertThat(Hex.toHexString(Arrays.copyOfRange(output, 5, output.length)), equalTo(data.expected));
+        }
+
+        @Test
+        public void sha3_256HashesConcatenatedInputs() {
+            final byte[] expected = Hashing.sha3_256(Hex.decode("616263"));
+
+            assertThat(Hashing.sha3_256(Hex.decode("61"), new byte[0], Hex.decode("6263")), equalTo(expected));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void sha3_256RejectsShortOutputBuffer() {
+            Hashing.sha3_256(new byte[Hashing.SHA3_256_LENGTH], 1, new byte[0]);
+        }
+
+        @Test
+        public void sha3_256IsUsableAfterRejectedCall() {
+            final byte[] expected = Hashing.sha3_256(Hex.decode("616263"));
+            try {
+                Hashing.sha3_256(new byte[4], 0, 8, new byte[Hashing.SHA3_256_LENGTH], 0);
+            } catch (final IndexOutOfBoundsException e) {
+                // expected
+            }
+
+            assertThat(Hashing.sha3_256(Hex.decode("616263")), equalTo(expected));
+        }
+
+        private static final class TestData {
+            private final String input;
+            private final String expected;
+            private TestData(String input, String expected) {
+                this.input = input;
+                this.expected = expected;
+            }
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class Sha3_512AndRipemd160Test extends HashingTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(TestData.class,
+                        new TestData("",
+                                "0eab42de4c3ceb9235fc91acffe746b29c29a8c366b7c60e4e67c466f36a4304c00fa9caf9d87976ba469bcbe06713b435f091ef2769fb160cdab33d3670680e",
+                                "9c1185a5c5e9fc54612808977ee8f548b2258d31"),
+                        new TestData("616263",
+                                "18587dc2ea106b9a1563e32b3312421ca164c7f1f07bc922a9c83d77cea3a1e5d0c69910739025372dc14ac9642629379540c17e2a65b19d77aa511a9d00bb96",
+                                "8eb208f7e05d987a9b044a8e98c6b087f15a0bfc"));
+            }
+        }
+
+        @Test
+        public void sha3_512ProducesCorrectHash(@All TestData data) {
+            final byte[] input = Hex.decode(data.input);
+            final byte[] padded = new byte[input.length + 7];
+            System.arraycopy(input, 0, padded, 3, input.length);
+            final byte[] output = new byte[Hashing.SHA3_512_LENGTH + 5];
+
+            Hashing.sha3_512(padded, 3, input.length, output, 5);
+
+            assertThat(Hex.toHexString(Hashing.sha3_512(input)), equalTo(data.sha3_512));
+            assertThat(Hex.toHexString(Arrays.copyOfRange(output, 5, output.length)), equalTo(data.sha3_512));
+        }
+
+        @Test
+        public void ripemd160ProducesCorrectHash(@All TestData data) {
+            final byte[] input = Hex.decode(data.input);
+            final byte[] padded = new byte[input.length + 7];
+            System.arraycopy(input, 0, padded, 3, input.length);
+            final byte[] output = new byte[Hashing.RIPEMD160_LENGTH + 5];
+
+            Hashing.ripemd160(padded, 3, input.length, output, 5);
+
+            assertThat(Hex.toHexString(Hashing.ripemd160(input)), equalTo(data.ripemd160));
+            assertThat(Hex.toHexString(Arrays.copyOfRange(output, 5, output.length)), equalTo(data.ripemd160));
+        }
+
+        @Test
+        public void concatenatedInputsAreHashedAsOne() {
+            final byte[] output = new byte[Hashing.RIPEMD160_LENGTH];
+            Hashing.ripemd160(output, 0, Hex.decode("61"), Hex.decode("6263"));
+
+            assertThat(Hashing.sha3_512(Hex.decode("61"), Hex.decode("6263")), equalTo(Hashing.sha3_512(Hex.decode("616263"))));
+            assertThat(output, equalTo(Hashing.ripemd160(Hex.decode("616263"))));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void sha3_512RejectsShortOutputBuffer() {
+            Hashing.sha3_512(new byte[Hashing.SHA3_512_LENGTH], 1, new byte[0]);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void ripemd160RejectsShortOutputBuffer() {
+            Hashing.ripemd160(new byte[Hashing.RIPEMD160_LENGTH - 1], 0, new byte[0]);
+        }
+
+        private static final class TestData {
+            private final String input;
+            private final String sha3_512;
+            private final String ripemd160;
+            private TestData(String input, String sha3_512, String ripemd160) {
+                this.input = input;
+                this.sha3_512 = sha3_512;
+                this.ripemd160 = ripemd160;
+            }
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class ByteBufferTest extends HashingTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(BufferFactory.class,
+                        new BufferFactory(false, ByteOrder.BIG_ENDIAN),
+                        new BufferFactory(false, ByteOrder.LITTLE_ENDIAN),
+                        new BufferFactory(true, ByteOrder.BIG_ENDIAN),
+                        new BufferFactory(true, ByteOrder.LITTLE_ENDIAN));
+            }
+        }
+
+        @Test
+        public void sha3_256OfBufferMatchesArray(@All BufferFactory factory) {
+            final Random random = new Random(0x5EED);
+            for (int length = 0; length <= 3 * 136 + 1; length++) {
+                final byte[] input = new byte[length];
+                random.nextBytes(input);
+                final ByteBuffer buffer = factory.create(input, 5);
+
+                assertThat(Hashing.sha3_256(buffer), equalTo(Hashing.sha3_256(input)));
+                assertThat(buffer.remaining(), equalTo(0));
+            }
+        }
+
+        @Test
+        public void digestAbsorbsBufferAcrossPartialBlocks(@All BufferFactory factory) {
+            final byte[] input = new byte[1000];
+            new Random(0x5EED).nextBytes(input);
+            final Keccak256 digest = new Keccak256();
+
+            digest.update(input, 0, 7);
+            digest.update(factory.create(Arrays.copyOfRange(input, 7, 700), 3));
+            digest.update(input, 700, 300);
+            final ByteBuffer output = factory.create(new byte[Hashing.SHA3_256_LENGTH], 0);
+            output.clear();
+            digest.digest(output);
+
+            final byte[] actual = new byte[Hashing.SHA3_256_LENGTH];
+            output.flip();
+            output.get(actual);
+            assertThat(actual, equalTo(Hashing.sha3_256(input)));
+        }
+
+        private static final class BufferFactory {
+            private final boolean direct;
+            private final ByteOrder order;
+            private BufferFactory(boolean direct, ByteOrder order) {
+                this.direct = direct;
+                this.order = order;
+            }
+            private ByteBuffer create(byte[] content, int offset) {
+                final int capacity = content.length + offset;
+                final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+                buffer.position(offset);
+                buffer.put(content);
+                buffer.position(offset);
+                return buffer.order(order);
+            }
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class BatchTest extends HashingTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(Integer.class, 0, 1, 17, Hashing.BATCH_PARALLEL_THRESHOLD, 3 * Hashing.BATCH_PARALLEL_THRESHOLD + 5);
+            }
+        }
+
+        @Test
+        public void batchMatchesIndividualHashes(@All Integer count) {
+            final List<byte[]> inputs = randomMessages(count);
+
+            final List<byte[]> actual = Hashing.sha3_256Batch(inputs);
+
+            assertThat(actual.size(), equalTo(count));
+            for (int i = 0; i < count; i++) {
+                assertThat(actual.get(i), equalTo(Hashing.sha3_256(inputs.get(i))));
+            }
+        }
+
+        @Test
+        public void batchWritesIntoSuppliedOutputs(@All Integer count) {
+            final byte[][] inputs = randomMessages(count).toArray(new byte[count][]);
+            final byte[][] outputs = new byte[count][];
+            for (int i = 0; i < count; i += 2) {
+                outputs[i] = new byte[Hashing.SHA3_256_LENGTH];
+            }
+            final byte[][] supplied = outputs.clone();
+
+            Hashing.sha3_256Batch(inputs, outputs);
+
+            for (int i = 0; i < count; i++) {
+                if (supplied[i] != null) {
+                    assertThat(outputs[i], sameInstance(supplied[i]));
+                }
+                assertThat(outputs[i], equalTo(Hashing.sha3_256(inputs[i])));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void batchRejectsMismatchedOutputs() {
+            Hashing.sha3_256Batch(new byte[2][0], new byte[1][]);
+        }
+
+        @Test
+        public void rejectedBatchLeavesOutputsUntouched() {
+            final byte[][] outputs = new byte[3][];
+            try {
+                Hashing.sha3_256Batch(new byte[][] { new byte[1], new byte[2], null }, outputs);
+                fail();
+            } catch (final NullPointerException e) {
+                assertThat(outputs, equalTo(new byte[3][]));
+            }
+        }
+
+        private static List<byte[]> randomMessages(int count) {
+            final Random random = new Random(count);
+            final List<byte[]> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final byte[] message = new byte[random.nextInt(300)];
+                random.nextBytes(message);
+                messages.add(message);
+            }
+            return messages;
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class WellKnownHashTest extends HashingTest {
+
+        @Test
+        public void constantsMatchComputedHashes() {
+            final RLPEncoder emptyString = new RLPEncoder();
+            emptyString.encodeBytes(new byte[0]);
+
+            assertThat(Hashing.sha3_256(new byte[0]), equalTo(new Keccak256().digest(new byte[0])));
+            assertThat(Hashing.sha3_256(emptyString.getEncoded()), equalTo(new Keccak256().digest(emptyString.getEncoded())));
+            assertThat(Hashing.sha3_256(new byte[] { (byte) 0xc0 }), equalTo(new Keccak256().digest(new byte[] { (byte) 0xc0 })));
+        }
+
+        @Test
+        public void everyEntryPointReturnsWellKnownHashes() {
+            final byte[][] inputs = { new byte[0], { (byte) 0x80 }, { (byte) 0xc0 }, { 0x00 }, { (byte) 0x81 } };
+            for (final byte[] input : inputs) {
+                final byte[] expected = new Keccak256().digest(input);
+                final byte[] output = new byte[Hashing.SHA3_256_LENGTH];
+                final byte[] padded = new byte[input.length + 2];
+                System.arraycopy(input, 0, padded, 1, input.length);
+                final ByteBuffer buffer = ByteBuffer.wrap(input);
+
+                assertThat(Hashing.sha3_256(input), equalTo(expected));
+                assertThat(Hashing.sha3_256(new byte[0], input), equalTo(expected));
+                Hashing.sha3_256(padded, 1, input.length, output, 0);
+                assertThat(output, equalTo(expected));
+                assertThat(Hashing.sha3_256(buffer), equalTo(expected));
+                assertThat(buffer.remaining(), equalTo(0));
+                assertThat(Hashing.sha3_256Batch(Arrays.asList(input)).get(0), equalTo(expected));
+            }
+        }
+
+        @Test
+        public void returnedHashesAreNotShared() {
+            final byte[][] inputs = { new byte[0], { (byte) 0x80 }, { (byte) 0xc0 } };
+            for (final byte[] input : inputs) {
+                final byte[] hash = Hashing.sha3_256(input);
+                hash[0] ^= 1;
+
+                assertThat(Hashing.sha3_256(input), equalTo(new Keccak256().digest(input)));
+                assertThat(hash, not(equalTo(Hashing.sha3_256(input))));
+            }
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class ProviderConformanceTest extends HashingTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+            }
+        }
+
+        @Test
+        public void sha3_256MatchesProviderDigest() throws Exception {
+            final Random random = new Random(0x5EED);
+            for (int length = 0; length <= 3 * 136 + 1; length++) {
+                final byte[] input = new byte[length];
+                random.nextBytes(input);
+
+                final byte[] expected = MessageDigest.getInstance("ETH-KECCAK-256", "SC").digest(input);
+
+                assertThat(Hashing.sha3_256(input), equalTo(expected));
+            }
+        }
+
+        @Test
+        public void sha3_512AndRipemd160MatchProviderDigests() throws Exception {
+            final Random random = new Random(0x5EED);
+            for (int length = 0; length <= 3 * 136 + 1; length++) {
+                final byte[] input = new byte[length];
+                random.nextBytes(input);
+
+                assertThat(Hashing.sha3_512(input), equalTo(MessageDigest.getInstance("ETH-KECCAK-512", "SC").digest(input)));
+                assertThat(Hashing.ripemd160(input), equalTo(MessageDigest.getInstance("RIPEMD160", "SC").digest(input)));
+            }
+        }
+    }
+}
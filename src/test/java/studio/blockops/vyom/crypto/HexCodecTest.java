@@ -0,0 +1,112 @@
+package studio.blockops.vyom.crypto;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.spongycastle.util.encoders.Hex;
+
+@RunWith(Enclosed.class)
+public class HexCodecTest {
+
+    @RunWith(JukitoRunner.class)
+    public static class EncodeTest extends HexCodecTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(String.class,
+                        "",
+                        "00",
+                        "ff",
+                        "0123456789abcdef",
+                        "fedcba9876543210807f");
+            }
+        }
+
+        @Test
+        public void encodesLowercase(@All String hex) {
+            assertThat(HexCodec.encode(Hex.decode(hex)), equalTo(hex));
+        }
+
+        @Test
+        public void decodesEitherCase(@All String hex) {
+            assertThat(HexCodec.decode(hex), equalTo(Hex.decode(hex)));
+            assertThat(HexCodec.decode(hex.toUpperCase()), equalTo(Hex.decode(hex)));
+        }
+
+        @Test
+        public void matchesSpongyCastleForEveryByte() {
+            final byte[] bytes = new byte[256];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) i;
+            }
+
+            assertThat(HexCodec.encode(bytes), equalTo(Hex.toHexString(bytes)));
+            assertThat(HexCodec.decode(Hex.toHexString(bytes)), equalTo(bytes));
+        }
+
+        @Test
+        public void encodesIntoCallerBuffer() {
+            final byte[] bytes = new byte[32];
+            new Random(42).nextBytes(bytes);
+            final char[] digits = new char[2 * 8 + 4];
+
+            HexCodec.encode(bytes, 3, 8, digits, 2);
+
+            assertThat(new String(digits, 2, 16), equalTo(Hex.toHexString(bytes, 3, 8)));
+            assertThat(digits[0] | digits[1] | digits[18] | digits[19], equalTo(0));
+        }
+
+        @Test
+        public void encodesOneByte() {
+            final char[] digits = new char[3];
+
+            HexCodec.encode((byte) 0xA5, digits, 1);
+
+            assertThat(new String(digits, 1, 2), equalTo("a5"));
+        }
+
+        @Test
+        public void decodesIntoCallerBuffer() {
+            final byte[] bytes = new byte[6];
+
+            HexCodec.decode("0x0aBc", 2, 4, bytes, 1);
+
+            assertThat(bytes, equalTo(new byte[] { 0, 0x0A, (byte) 0xBC, 0, 0, 0 }));
+        }
+
+        @Test(expected = CryptoException.class)
+        public void invalidCharacterIsRejected() {
+            HexCodec.decode("22G7");
+        }
+
+        @Test(expected = CryptoException.class)
+        public void nonAsciiCharacterIsRejected() {
+            HexCodec.decode("2\u0660");
+        }
+
+        @Test(expected = CryptoException.class)
+        public void oddLengthIsRejected() {
+            HexCodec.decode("abc");
+        }
+
+        @Test(expected = CryptoException.class)
+        public void whitespaceIsRejected() {
+            HexCodec.decode("ab cd");
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void shortOutputIsRejected() {
+            HexCodec.decode("abcd", 0, 4, new byte[1], 0);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package studio.blockops.vyom.crypto;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+@RunWith(Enclosed.class)
+public class Keccak256HasherTest {
+
+    @RunWith(JukitoRunner.class)
+    public static class UpdateTest extends Keccak256HasherTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(Integer.class, 0, 1, 135, 136, 137, 1000);
+            }
+        }
+
+        @Test
+        public void incrementalUpdatesMatchOneShotHash(@All Integer length) {
+            final byte[] input = randomBytes(length);
+            final Keccak256Hasher hasher = Keccak256Hasher.create();
+
+            final int third = length / 3;
+            hasher.update(Arrays.copyOfRange(input, 0, third));
+            hasher.update(input, third, third);
+            hasher.update(ByteBuffer.wrap(input, 2 * third, length - 2 * third));
+
+            assertThat(hasher.digest(), equalTo(Hashing.sha3_256(input)));
+        }
+
+        @Test
+        public void copyForksSharedPrefix(@All Integer length) {
+            final byte[] prefix = randomBytes(length);
+            final byte[] suffix1 = randomBytes(length + 1);
+            final byte[] suffix2 = randomBytes(length + 2);
+            final Keccak256Hasher hasher = Keccak256Hasher.create();
+            hasher.update(prefix);
+
+            final Keccak256Hasher fork = hasher.copy();
+            hasher.update(suffix1);
+            fork.update(suffix2);
+
+            assertThat(hasher.digest(), equalTo(Hashing.sha3_256(prefix, suffix1)));
+            assertThat(fork.digest(), equalTo(Hashing.sha3_256(prefix, suffix2)));
+        }
+
+        @Test
+        public void digestIntoWritesAtOffsetAndResets(@All Integer length) {
+            final byte[] input = randomBytes(length);
+            final Keccak256Hasher hasher = Keccak256Hasher.create();
+            final byte[] output = new byte[Hashing.SHA3_256_LENGTH + 3];
+
+            hasher.update(input);
+            hasher.digestInto(output, 3);
+            hasher.update(input);
+
+            assertThat(Arrays.copyOfRange(output, 3, output.length), equalTo(Hashing.sha3_256(input)));
+            assertThat(hasher.digest(), equalTo(Hashing.sha3_256(input)));
+        }
+
+        private static byte[] randomBytes(int length) {
+            final byte[] bytes = new byte[length];
+            new Random(length).nextBytes(bytes);
+            return bytes;
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class ResetTest extends Keccak256HasherTest {
+
+        @Test
+        public void resetDiscardsAbsorbedData() {
+            final Keccak256Hasher hasher = Keccak256Hasher.create();
+            hasher.update((byte) 0x61);
+
+            hasher.reset();
+
+            assertThat(hasher.digest(), equalTo(Hashing.sha3_256(new byte[0])));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void digestIntoRejectsShortBuffer() {
+            Keccak256Hasher.create().digestInto(new byte[Hashing.SHA3_256_LENGTH], 1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package studio.blockops.vyom.crypto;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+@RunWith(Enclosed.class)
+public class LatencyHistogramTest {
+
+    @RunWith(JukitoRunner.class)
+    public static class RecordTest extends LatencyHistogramTest {
+
+        @Test
+        public void emptyHistogramReportsZero() {
+            final LatencyHistogram histogram = new LatencyHistogram();
+
+            assertThat(histogram.getCount(), equalTo(0L));
+            assertThat(histogram.getMeanNanos(), equalTo(0L));
+            assertThat(histogram.getPercentileNanos(99), equalTo(0L));
+        }
+
+        @Test
+        public void percentilesAreBucketUpperBounds() {
+            final LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < 99; i++) {
+                histogram.record(1000);
+            }
+            histogram.record(1_000_000);
+
+            assertThat(histogram.getCount(), equalTo(100L));
+            assertThat(histogram.getMeanNanos(), equalTo((99 * 1000L + 1_000_000L) / 100));
+            assertThat(histogram.getPercentileNanos(0), equalTo(1023L));
+            assertThat(histogram.getPercentileNanos(50), equalTo(1023L));
+            assertThat(histogram.getPercentileNanos(99), equalTo(1023L));
+            assertThat(histogram.getPercentileNanos(100), equalTo((1L << 20) - 1));
+        }
+
+        @Test
+        public void nonPositiveLatenciesCountAsOneNanosecond() {
+            final LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(0);
+            histogram.record(-5);
+
+            assertThat(histogram.getPercentileNanos(100), equalTo(1L));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void percentileMustBeInRange() {
+            new LatencyHistogram().getPercentileNanos(101);
+        }
+    }
+}
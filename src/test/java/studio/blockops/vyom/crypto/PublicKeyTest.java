@@ -4,14 +4,23 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+
 import org.jukito.All;
 import org.jukito.JukitoModule;
 import org.jukito.JukitoRunner;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
+import org.spongycastle.asn1.sec.SECNamedCurves;
+import org.spongycastle.math.ec.ECPoint;
+
+import studio.blockops.vyom.core.Address;
 
 @RunWith(Enclosed.class)
 public class PublicKeyTest {
@@ -96,6 +105,73 @@ public class PublicKeyTest {
         }
     }
 
+    @RunWith(JukitoRunner.class)
+    public static class PointPublicKeyTest extends PublicKeyTest {
+
+        private static final ECPoint POINT = SECNamedCurves.getByName("secp256k1").getG().multiply(BigInteger.valueOf(0x5EED));
+
+        @Test
+        public void rawValueIsCompressedEncoding() {
+            final PublicKey key = PublicKey.createFromPoint(POINT);
+
+            assertThat(key.getRaw(), equalTo(POINT.getEncoded(true)));
+            assertThat(key.isCompressed(), is(true));
+            assertThat(key.getPoint(), equalTo(POINT.normalize()));
+            assertThat(key, equalTo(PublicKey.create(POINT.getEncoded(true))));
+            assertThat(key.hashCode(), equalTo(PublicKey.create(POINT.getEncoded(true)).hashCode()));
+        }
+
+        @Test
+        public void uncompressedEncodingIsCached() {
+            final PublicKey key = PublicKey.createFromPoint(POINT);
+
+            assertThat(key.getUncompressed(), equalTo(POINT.getEncoded(false)));
+            assertThat(key.getUncompressed(), not(sameInstance(key.getUncompressed())));
+        }
+
+        @Test
+        public void uncompressedEncodingIsACopy() {
+            final byte[] value = POINT.getEncoded(false);
+            final PublicKey key = PublicKey.create(value.clone());
+            final PublicKey derived = PublicKey.createFromPoint(POINT);
+            final Address address = derived.getAddress();
+
+            key.getUncompressed()[1] ^= 1;
+            derived.getUncompressed()[1] ^= 1;
+
+            assertThat(key.getRaw(), equalTo(value));
+            assertThat(key.getUncompressed(), equalTo(value));
+            assertThat(derived.getUncompressed(), equalTo(value));
+            assertThat(PublicKey.createFromPoint(POINT).getAddress(), equalTo(address));
+        }
+
+        @Test
+        public void addressIsHashedFromUncompressedEncoding() {
+            final PublicKey key = PublicKey.createFromPoint(POINT);
+            final byte[] uncompressed = POINT.getEncoded(false);
+
+            assertThat(key.getAddress().getRaw(), equalTo(Hashing.sha3omit12(Arrays.copyOfRange(uncompressed, 1, uncompressed.length))));
+            assertThat(key.getAddress(), sameInstance(key.getAddress()));
+            assertThat(PublicKey.create(uncompressed).getAddress(), is(nullValue()));
+            assertThat(PublicKey.create(POINT.getEncoded(true)).getAddress(), is(nullValue()));
+        }
+
+        @Test
+        public void encodedKeysHaveNoPoint() {
+            final PublicKey compressed = PublicKey.create(POINT.getEncoded(true));
+            final PublicKey uncompressed = PublicKey.create(POINT.getEncoded(false));
+
+            assertThat(compressed.getPoint(), is(nullValue()));
+            assertThat(compressed.getUncompressed(), is(nullValue()));
+            assertThat(uncompressed.getUncompressed(), equalTo(uncompressed.getRaw()));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void cannotCreateFromInfinity() {
+            PublicKey.createFromPoint(POINT.getCurve().getInfinity());
+        }
+    }
+
     @RunWith(JukitoRunner.class)
     public static class EqualsPublicKeyTest extends PublicKeyTest {
 
@@ -0,0 +1,181 @@
+package studio.blockops.vyom.crypto;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.spongycastle.util.encoders.Hex;
+
+@RunWith(Enclosed.class)
+public class SignatureTest {
+
+    private static final BigInteger SECP256K1_N = new BigInteger("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141", 16);
+
+    private static final String SIGNATURE =
+            "d2ce488f4da29e68f22cb05cac1b19b75df170a12b4ad1bdd4531b8e9115c6fb75c1fe50a95e8ccffcbb5482a1e42fbbdd6324131dfe75c3b3b7f9a7c721eccb01";
+
+    @RunWith(JukitoRunner.class)
+    public static class CreateTest extends SignatureTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyNamedInstances(BigInteger.class, "valid",
+                        BigInteger.valueOf(2), BigInteger.valueOf(255), BigInteger.ONE.shiftLeft(200), SECP256K1_N.subtract(BigInteger.ONE));
+                bindManyNamedInstances(BigInteger.class, "invalid",
+                        BigInteger.valueOf(-2), BigInteger.ZERO, BigInteger.ONE, SECP256K1_N, BigInteger.ONE.shiftLeft(256), BigInteger.ONE.shiftLeft(300));
+            }
+        }
+
+        @Test
+        public void binaryAndBigIntegerFormsAgree() {
+            final byte[] bytes = Hex.decode(SIGNATURE);
+            final Signature binary = Signature.create(bytes);
+            final Signature big = Signature.create(
+                    new BigInteger(1, Arrays.copyOfRange(bytes, 0, 32)),
+                    new BigInteger(1, Arrays.copyOfRange(bytes, 32, 64)),
+                    (byte) 28);
+
+            assertThat(binary, equalTo(big));
+            assertThat(binary.hashCode(), equalTo(big.hashCode()));
+            assertThat(binary.getR(), equalTo(big.getR()));
+            assertThat(binary.getS(), equalTo(big.getS()));
+            assertThat(binary.getV(), equalTo((byte) 28));
+            assertThat(binary.toHexString(), equalTo(SIGNATURE));
+        }
+
+        @Test
+        public void sixtyFourBytesHaveNoRecoveryId() {
+            final Signature signature = Signature.create(Arrays.copyOf(Hex.decode(SIGNATURE), 64));
+
+            assertThat(signature.getV(), equalTo((byte) 0));
+            assertThat(signature, not(equalTo(Signature.create(Hex.decode(SIGNATURE)))));
+        }
+
+        @Test
+        public void componentsCanBeCreatedFromBinary() {
+            final byte[] bytes = Hex.decode(SIGNATURE);
+            final Signature signature = Signature.create(Arrays.copyOfRange(bytes, 0, 32), Arrays.copyOfRange(bytes, 32, 64));
+
+            assertThat(signature.getBinaryR(), equalTo(Arrays.copyOfRange(bytes, 0, 32)));
+            assertThat(signature.getBinaryS(), equalTo(Arrays.copyOfRange(bytes, 32, 64)));
+            assertThat(signature, equalTo(Signature.create(Arrays.copyOf(bytes, 64))));
+        }
+
+        @Test
+        public void smallComponentsAreZeroPadded() {
+            final Signature signature = Signature.create(BigInteger.valueOf(2), BigInteger.valueOf(0x80), (byte) 27);
+
+            assertThat(signature.getBytes().length, equalTo(Signature.ENCODED_LENGTH));
+            assertThat(signature.getBinaryS().length, equalTo(32));
+            assertThat(Signature.create(signature.getBytes()), equalTo(signature));
+        }
+
+        @Test
+        public void writeToFillsTheCallerBuffer() {
+            final Signature signature = Signature.create(Hex.decode(SIGNATURE));
+            final byte[] buffer = new byte[Signature.ENCODED_LENGTH + 3];
+
+            signature.writeTo(buffer, 2);
+
+            assertThat(Arrays.copyOfRange(buffer, 2, 2 + Signature.ENCODED_LENGTH), equalTo(signature.getBytes()));
+            assertThat(buffer[0] | buffer[1] | buffer[buffer.length - 1], equalTo(0));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void writeToRejectsShortBuffer() {
+            Signature.create(Hex.decode(SIGNATURE)).writeTo(new byte[Signature.ENCODED_LENGTH], 1);
+        }
+
+        @Test
+        public void validComponentsAreAccepted(@All("valid") BigInteger value) {
+            final Signature signature = Signature.create(value, value);
+
+            assertThat(signature.getR(), equalTo(value));
+            assertThat(Signature.create(signature.getBinaryR(), signature.getBinaryS()).getS(), equalTo(value));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void invalidRIsRejected(@All("invalid") BigInteger value) {
+            Signature.create(value, BigInteger.valueOf(2));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void invalidSIsRejected(@All("invalid") BigInteger value) {
+            Signature.create(BigInteger.valueOf(2), value);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void binaryComponentOfGroupOrderIsRejected() {
+            final byte[] bytes = Hex.decode(SIGNATURE);
+            System.arraycopy(Hex.decode(SECP256K1_N.toString(16)), 0, bytes, 32, 32);
+            Signature.create(bytes);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void invalidRecoveryIdIsRejected() {
+            final byte[] bytes = Hex.decode(SIGNATURE);
+            bytes[64] = 2;
+            Signature.create(bytes);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void invalidVIsRejected() {
+            Signature.create(BigInteger.valueOf(2), BigInteger.valueOf(2), (byte) 29);
+        }
+
+        @Test
+        public void canonicalityIsDecidedAtHalfTheGroupOrder() {
+            final BigInteger half = SECP256K1_N.shiftRight(1);
+
+            assertThat(Signature.create(BigInteger.valueOf(2), half).isCanonical(), equalTo(true));
+            assertThat(Signature.create(BigInteger.valueOf(2), half.add(BigInteger.ONE)).isCanonical(), equalTo(false));
+            assertThat(Signature.create(BigInteger.valueOf(2), BigInteger.valueOf(2)).isCanonical(), equalTo(true));
+            assertThat(Signature.create(BigInteger.valueOf(2), SECP256K1_N.subtract(BigInteger.ONE)).isCanonical(), equalTo(false));
+        }
+
+        @Test
+        public void canonicalFormNegatesSAndFlipsRecoveryId() {
+            final Signature signature = Signature.create(Hex.decode(SIGNATURE));
+            final Signature highS = Signature.create(signature.getR(), SECP256K1_N.subtract(signature.getS()), (byte) 27);
+
+            final Signature canonical = highS.toCanonical();
+
+            assertThat(canonical, equalTo(signature));
+            assertThat(canonical.getS(), equalTo(signature.getS()));
+            assertThat(canonical.isCanonical(), equalTo(true));
+            assertThat(signature.toCanonical(), sameInstance(signature));
+        }
+
+        @Test
+        public void canonicalFormKeepsMissingRecoveryId() {
+            final Signature highS = Signature.create(BigInteger.valueOf(2), SECP256K1_N.subtract(BigInteger.valueOf(0x100)));
+
+            final Signature canonical = highS.toCanonical();
+
+            assertThat(canonical.getV(), equalTo((byte) 0));
+            assertThat(canonical.getS(), equalTo(BigInteger.valueOf(0x100)));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void wrongLengthIsRejected() {
+            Signature.create(new byte[63]);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void wrongComponentLengthIsRejected() {
+            Signature.create(new byte[32], new byte[31]);
+        }
+    }
+}
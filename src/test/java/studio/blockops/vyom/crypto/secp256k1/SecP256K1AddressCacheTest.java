@@ -0,0 +1,151 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import javax.inject.Inject;
+
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import studio.blockops.vyom.core.Address;
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
+
+@RunWith(Enclosed.class)
+public class SecP256K1AddressCacheTest {
+
+    private static final String PRIVATE_KEY = "c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4";
+    private static final String PUBLIC_KEY = "030947751e3022ecf3016be03ec77ab0ce3c2662b4843898cb068d74f698ccc8ad";
+    private static final String ADDRESS = "cd2a3d9f938e13cd947ec05abc7fe734df8dd826";
+
+    @Inject
+    protected CryptoEngine engine;
+
+    @Inject
+    protected SecP256K1AddressCache addressCache;
+
+    @RunWith(JukitoRunner.class)
+    public static class ComputeAddressTest extends SecP256K1AddressCacheTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+            }
+        }
+
+        @Before
+        public void clearCache() {
+            addressCache.invalidateAll();
+        }
+
+        @Test
+        public void encodedKeysAreComputedOnce() {
+            final KeyGenerator keyGenerator = engine.createKeyGenerator();
+            final long misses = addressCache.missCount();
+            final long hits = addressCache.hitCount();
+
+            final Address first = keyGenerator.computeAddress(PublicKey.createFromHexString(PUBLIC_KEY));
+            final Address second = engine.createKeyGenerator().computeAddress(PublicKey.createFromHexString(PUBLIC_KEY));
+
+            assertThat(first, equalTo(Address.createFromHexString(ADDRESS)));
+            assertThat(second, sameInstance(first));
+            assertThat(addressCache.missCount() - misses, equalTo(1L));
+            assertThat(addressCache.hitCount() - hits, equalTo(1L));
+        }
+
+        @Test
+        public void uncompressedKeysAreHashedDirectly() {
+            final KeyGenerator keyGenerator = engine.createKeyGenerator();
+            final PublicKey derived = keyGenerator.derivePublicKey(PrivateKey.createFromHexString(PRIVATE_KEY));
+
+            assertThat(keyGenerator.computeAddress(PublicKey.create(derived.getUncompressed())),
+                    equalTo(Address.createFromHexString(ADDRESS)));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void uncompressedKeyOffTheCurveIsRejected() {
+            final byte[] encoded = new byte[65];
+            encoded[0] = 0x04;
+            encoded[64] = 0x05;
+
+            engine.createKeyGenerator().computeAddress(PublicKey.create(encoded));
+        }
+
+        @Test
+        public void keysCarryingTheirPointAreNotCached() {
+            final PublicKey publicKey = engine.createKeyGenerator().derivePublicKey(PrivateKey.createFromHexString(PRIVATE_KEY));
+            final long misses = addressCache.missCount();
+
+            final Address address = engine.createKeyGenerator().computeAddress(publicKey);
+
+            assertThat(address, equalTo(Address.createFromHexString(ADDRESS)));
+            assertThat(address, sameInstance(publicKey.getAddress()));
+            assertThat(addressCache.missCount() - misses, equalTo(0L));
+            assertThat(addressCache.size(), equalTo(0L));
+        }
+
+        @Test
+        public void invalidKeyIsNotCached() {
+            try {
+                engine.createKeyGenerator().computeAddress(
+                        PublicKey.createFromHexString("020000000000000000000000000000000000000000000000000000000000000005"));
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+
+            assertThat(addressCache.size(), equalTo(0L));
+        }
+
+        @Test
+        public void cachedKeyIsUnaffectedByMutatingTheLookupKey() {
+            final PublicKey publicKey = PublicKey.createFromHexString(PUBLIC_KEY);
+            final Address address = engine.createKeyGenerator().computeAddress(publicKey);
+            publicKey.getRaw()[1] ^= 1;
+
+            assertThat(addressCache.getIfPresent(PublicKey.createFromHexString(PUBLIC_KEY)), sameInstance(address));
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class BoundTest extends SecP256K1AddressCacheTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+            }
+        }
+
+        @Test
+        public void sizeIsBounded() {
+            final SecP256K1AddressCache cache = new SecP256K1AddressCache(4);
+            for (int i = 1; i <= 16; i++) {
+                cache.put(PublicKey.create(BigInteger.valueOf(i).toByteArray()), Address.create(new byte[20]));
+            }
+
+            assertTrue(cache.size() <= 4);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void sizeMustBePositive() {
+            new SecP256K1AddressCache(0);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.spongycastle.math.ec.GLVMultiplier;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
+import studio.blockops.vyom.crypto.RecoveryRequest;
+import studio.blockops.vyom.crypto.RecoveryResult;
+import studio.blockops.vyom.crypto.RecoveryService;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.Signer;
+import studio.blockops.vyom.crypto.VerificationRequest;
+
+@RunWith(Enclosed.class)
+public class SecP256K1ArithmeticTest {
+
+    private static final String EXAMPLE1 = "This is an example of a signed message.";
+    private static final String EXAMPLE2 = "We want, neither to rule nor to be ruled.";
+
+    @RunWith(JukitoRunner.class)
+    public static class ConformanceTest extends SecP256K1ArithmeticTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                bindManyInstances(SecP256K1Arithmetic.class, SecP256K1Arithmetic.values());
+                bindManyInstances(TestData.class,
+                        new TestData(
+                                EXAMPLE1,
+                                "c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4",
+                                "030947751e3022ecf3016be03ec77ab0ce3c2662b4843898cb068d74f698ccc8ad",
+                                "cd2a3d9f938e13cd947ec05abc7fe734df8dd826",
+                                "d2ce488f4da29e68f22cb05cac1b19b75df170a12b4ad1bdd4531b8e9115c6fb75c1fe50a95e8ccffcbb5482a1e42fbbdd6324131dfe75c3b3b7f9a7c721eccb01"),
+                        new TestData(
+                                EXAMPLE2,
+                                "16dcadddaf26707f475d821b3a63c215c93eebe5f26a67f0437b21c5924b4e06",
+                                "02c621aba26b261b629edddd912aac1acd8be7b9f0c798823fe4ed0fa65d69d80e",
+                                "2ec4637a77faaf2080aa9bc6f1f7f38a1edf1cdc",
+                                "b280e3c18d4b1829bb776d401d71039973a455a5cac628e7880beec9ddab706c64fcbe4ca5e8cf457663bf8365e1cb0802852e5cbfa681e780c2957e68a5ff2600"));
+            }
+        }
+
+        @Test
+        public void endomorphismIsUsedOnlyByGlvArithmetic(@All SecP256K1Arithmetic arithmetic) {
+            final Curve curve = injector(arithmetic).getInstance(Curve.class);
+
+            assertThat(curve.getParams().getCurve().getMultiplier() instanceof GLVMultiplier,
+                    equalTo(arithmetic != SecP256K1Arithmetic.GENERIC));
+        }
+
+        @Test
+        public void defaultModuleUsesCustomGlvArithmetic() {
+            final Curve curve = Guice.createInjector(new CryptoModule(), new SecP256K1Module()).getInstance(Curve.class);
+
+            assertThat(curve.getParams().getCurve(), instanceOf(org.spongycastle.math.ec.custom.sec.SecP256K1Curve.class));
+        }
+
+        @Test
+        public void engineMatchesKnownVectors(@All SecP256K1Arithmetic arithmetic, @All TestData data) {
+            final Injector injector = injector(arithmetic);
+            final CryptoEngine engine = injector.getInstance(CryptoEngine.class);
+            final KeyGenerator keyGenerator = engine.createKeyGenerator();
+            final PrivateKey privateKey = PrivateKey.createFromHexString(data.privateKey);
+            final PublicKey publicKey = keyGenerator.derivePublicKey(privateKey);
+            final Signer signer = engine.createSigner(KeyPair.create(privateKey, publicKey));
+
+            final Signature signature = signer.sign(data.example.getBytes());
+
+            assertThat(publicKey, equalTo(PublicKey.createFromHexString(data.publicKey)));
+            assertThat(keyGenerator.computeAddress(publicKey).toString(), equalTo(data.address));
+            assertThat(signature.toHexString(), equalTo(data.expectedSignature));
+            assertTrue(signer.verify(data.example.getBytes(), signature));
+            try (final RecoveryService recoveryService = injector.getInstance(RecoveryService.class)) {
+                final RecoveryResult result = recoveryService.recover(Collections.singletonList(
+                        RecoveryRequest.create(Hashing.sha3_256(data.example.getBytes()), signature))).get(0);
+                assertThat(result.getPublicKey(), equalTo(publicKey));
+                assertThat(result.getAddress().toString(), equalTo(data.address));
+            }
+        }
+
+        @Test
+        public void engineMatchesGenericArithmeticOnRandomKeys(@All SecP256K1Arithmetic arithmetic) {
+            final Injector injector = injector(arithmetic);
+            final CryptoEngine engine = injector.getInstance(CryptoEngine.class);
+            final CryptoEngine generic = injector(SecP256K1Arithmetic.GENERIC).getInstance(CryptoEngine.class);
+            final Random random = new Random(0x61F);
+            final List<VerificationRequest> verificationRequests = new ArrayList<>();
+            final List<RecoveryRequest> recoveryRequests = new ArrayList<>();
+            final List<PublicKey> publicKeys = new ArrayList<>();
+
+            for (int i = 0; i < 16; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(256, random).add(BigInteger.ONE));
+                final byte[] message = new byte[random.nextInt(200)];
+                random.nextBytes(message);
+
+                final PublicKey publicKey = engine.createKeyGenerator().derivePublicKey(privateKey);
+                final Signature signature = engine.createSigner(KeyPair.create(privateKey, publicKey)).sign(message);
+                final Signer genericSigner = generic.createSigner(KeyPair.create(privateKey, publicKey));
+
+                assertThat(publicKey, equalTo(generic.createKeyGenerator().derivePublicKey(privateKey)));
+                assertThat(engine.createKeyGenerator().computeAddress(publicKey),
+                        equalTo(generic.createKeyGenerator().computeAddress(publicKey)));
+                assertThat(signature, equalTo(genericSigner.sign(message)));
+                assertTrue(genericSigner.verify(message, signature));
+
+                final byte[] cipher = engine.createBlockCipher().encrypt(privateKey, publicKey, message);
+                assertThat(generic.createBlockCipher().decrypt(privateKey, cipher), equalTo(message));
+
+                verificationRequests.add(VerificationRequest.create(message, signature, publicKey));
+                recoveryRequests.add(RecoveryRequest.create(Hashing.sha3_256(message), signature));
+                publicKeys.add(publicKey);
+            }
+
+            final boolean[] verified = engine.createBatchVerifier().verify(verificationRequests);
+            try (final RecoveryService recoveryService = injector.getInstance(RecoveryService.class)) {
+                final List<RecoveryResult> results = recoveryService.recover(recoveryRequests);
+                for (int i = 0; i < publicKeys.size(); i++) {
+                    assertTrue(verified[i]);
+                    assertThat(results.get(i).getPublicKey(), equalTo(publicKeys.get(i)));
+                }
+            }
+        }
+
+        private static Injector injector(final SecP256K1Arithmetic arithmetic) {
+            return Guice.createInjector(new CryptoModule(), new SecP256K1Module(arithmetic));
+        }
+
+        private static final class TestData {
+            private final String example;
+            private final String privateKey;
+            private final String publicKey;
+            private final String address;
+            private final String expectedSignature;
+            private TestData(String example, String privateKey, String publicKey, String address, String expectedSignature) {
+                this.example = example;
+                this.privateKey = privateKey;
+                this.publicKey = publicKey;
+                this.address = address;
+                this.expectedSignature = expectedSignature;
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.inject.Inject;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import studio.blockops.vyom.crypto.BatchVerifier;
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.CryptoExecutor;
+import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.Signer;
+import studio.blockops.vyom.crypto.VerificationRequest;
+
+@RunWith(Enclosed.class)
+public class SecP256K1BatchVerifierTest {
+
+    private static final BigInteger N = new BigInteger("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141", 16);
+
+    @Inject
+    protected CryptoEngine engine;
+
+    @RunWith(JukitoRunner.class)
+    public static class VerifyTest extends SecP256K1BatchVerifierTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+
+                bindManyInstances(Integer.class, 1, 3, SecP256K1BatchVerifier.GROUP_SIZE + 1, 3 * SecP256K1BatchVerifier.GROUP_SIZE);
+            }
+        }
+
+        @Test
+        public void validSignaturesAreAccepted(@All Integer count) {
+            final List<VerificationRequest> requests = signedRequests(count, 4);
+
+            assertThat(engine.createBatchVerifier().verify(requests), equalTo(expected(count)));
+        }
+
+        @Test
+        public void badSignaturesAreIsolated(@All Integer count) {
+            final List<VerificationRequest> requests = signedRequests(count, 4);
+            final boolean[] expected = expected(count);
+            for (int i = 0; i < count; i += 7) {
+                final VerificationRequest request = requests.get(i);
+                final byte[] tampered = request.getData().clone();
+                tampered[0] ^= 1;
+                requests.set(i, VerificationRequest.create(tampered, request.getSignature(), request.getPublicKey()));
+                expected[i] = false;
+            }
+
+            assertThat(engine.createBatchVerifier().verify(requests), equalTo(expected));
+        }
+
+        @Test
+        public void resultsMatchSignerVerify() {
+            final List<VerificationRequest> requests = signedRequests(12, 3);
+            final Signature signature = requests.get(0).getSignature();
+            // wrong recovery id: the nonce point cannot be rebuilt but the signature is valid
+            requests.set(0, VerificationRequest.create(requests.get(0).getData(),
+                    Signature.create(signature.getR(), signature.getS(), (byte) (55 - signature.getV())),
+                    requests.get(0).getPublicKey()));
+            // no recovery id
+            requests.set(1, VerificationRequest.create(requests.get(1).getData(),
+                    Signature.create(requests.get(1).getSignature().getR(), requests.get(1).getSignature().getS()),
+                    requests.get(1).getPublicKey()));
+            // non-canonical s
+            requests.set(2, VerificationRequest.create(requests.get(2).getData(),
+                    Signature.create(requests.get(2).getSignature().getR(), N.subtract(requests.get(2).getSignature().getS()),
+                            requests.get(2).getSignature().getV()),
+                    requests.get(2).getPublicKey()));
+            // signed by another key
+            requests.set(3, VerificationRequest.create(requests.get(3).getData(), requests.get(3).getSignature(),
+                    requests.get(4).getPublicKey()));
+            // not a curve point
+            requests.set(5, VerificationRequest.create(requests.get(5).getData(), requests.get(5).getSignature(),
+                    PublicKey.createFromHexString("020000000000000000000000000000000000000000000000000000000000000005")));
+
+            final boolean[] actual = engine.createBatchVerifier().verify(requests);
+
+            for (int i = 0; i < requests.size(); i++) {
+                assertThat(actual[i], equalTo(verifyIndividually(requests.get(i))));
+            }
+            assertThat(actual[0], equalTo(true));
+            assertThat(actual[1], equalTo(true));
+            assertThat(actual[2], equalTo(false));
+            assertThat(actual[3], equalTo(false));
+            assertThat(actual[5], equalTo(false));
+        }
+
+        @Test
+        public void batchesVerifiedOnTheExecutorDoNotDeadlock(CryptoExecutor executor)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            final int count = 3 * SecP256K1BatchVerifier.GROUP_SIZE;
+            final List<VerificationRequest> requests = signedRequests(count, 4);
+            final List<Future<boolean[]>> futures = new ArrayList<>();
+            // one batch per worker thread, so no worker is left idle to run the groups
+            for (int i = 0; i < executor.getThreads(); i++) {
+                futures.add(executor.submit(() -> engine.createBatchVerifier().verify(requests)));
+            }
+
+            for (final Future<boolean[]> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS), equalTo(expected(count)));
+            }
+        }
+
+        @Test
+        public void emptyBatchIsAccepted() {
+            final BatchVerifier verifier = engine.createBatchVerifier();
+
+            assertThat(verifier.verify(Collections.<VerificationRequest>emptyList()).length, equalTo(0));
+        }
+
+        private boolean verifyIndividually(final VerificationRequest request) {
+            final KeyPair keyPair = KeyPair.create(PrivateKey.create(BigInteger.ONE), request.getPublicKey());
+            try {
+                return engine.createSigner(keyPair).verify(request.getData(), request.getSignature());
+            } catch (final IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        private List<VerificationRequest> signedRequests(final int count, final int keys) {
+            final Random random = new Random(count);
+            final KeyGenerator keyGenerator = engine.createKeyGenerator();
+            final List<Signer> signers = new ArrayList<>();
+            final List<PublicKey> publicKeys = new ArrayList<>();
+            for (int i = 0; i < keys; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(255, random).add(BigInteger.ONE));
+                final PublicKey publicKey = keyGenerator.derivePublicKey(privateKey);
+                signers.add(engine.createSigner(KeyPair.create(privateKey, publicKey)));
+                publicKeys.add(publicKey);
+            }
+
+            final List<VerificationRequest> requests = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final byte[] message = new byte[1 + random.nextInt(100)];
+                random.nextBytes(message);
+                final int key = i % keys;
+                requests.add(VerificationRequest.create(message, signers.get(key).sign(message), publicKeys.get(key)));
+            }
+            return requests;
+        }
+
+        private static boolean[] expected(final int count) {
+            final boolean[] expected = new boolean[count];
+            for (int i = 0; i < count; i++) {
+                expected[i] = true;
+            }
+            return expected;
+        }
+    }
+}
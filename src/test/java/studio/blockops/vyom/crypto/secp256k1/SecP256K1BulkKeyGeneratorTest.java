@@ -0,0 +1,177 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.inject.Inject;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import studio.blockops.vyom.core.Address;
+import studio.blockops.vyom.crypto.BulkKeyGenerator;
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.CryptoExecutor;
+import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.GeneratedKey;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.PrivateKey;
+
+@RunWith(Enclosed.class)
+public class SecP256K1BulkKeyGeneratorTest {
+
+    @Inject
+    protected CryptoEngine engine;
+
+    @Inject
+    protected Curve curve;
+
+    @Inject
+    protected BulkKeyGenerator bulkKeyGenerator;
+
+    /**
+     * Executors created by the tests, shut down after each test
+     */
+    private final List<CryptoExecutor> executors = new ArrayList<>();
+
+    protected CryptoExecutor executor(final int threads) {
+        final CryptoExecutor executor = new CryptoExecutor(threads);
+        executors.add(executor);
+        return executor;
+    }
+
+    @After
+    public void shutdownExecutors() {
+        for (final CryptoExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class GenerateTest extends SecP256K1BulkKeyGeneratorTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+
+                bindManyInstances(String.class,
+                        // the second key doubles the generator
+                        "1",
+                        "c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4",
+                        "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0363e00");
+            }
+        }
+
+        @Test
+        public void keysMatchKeyGenerator(@All String first) {
+            final KeyGenerator keyGenerator = engine.createKeyGenerator();
+            final int count = 2 * SecP256K1BulkKeyGenerator.CHUNK_SIZE + 3;
+            final BigInteger start = new BigInteger(first, 16);
+
+            final List<GeneratedKey> keys = new ArrayList<>();
+            try (final BulkKeyGenerator generator = new SecP256K1BulkKeyGenerator(curve, executor(2))) {
+                generator.generate(PrivateKey.create(start), count, keys::add);
+            }
+
+            assertThat(keys.size(), equalTo(count));
+            for (int i = 0; i < count; i++) {
+                final GeneratedKey key = keys.get(i);
+                assertThat(key.getKeyPair().getPrivateKey().getRaw(), equalTo(start.add(BigInteger.valueOf(i))));
+                assertThat(key.getKeyPair().getPublicKey(), equalTo(keyGenerator.derivePublicKey(key.getKeyPair().getPrivateKey())));
+                assertThat(key.getAddress(), equalTo(keyGenerator.computeAddress(key.getKeyPair().getPublicKey())));
+            }
+        }
+
+        @Test
+        public void keysCarryTheirPoints() {
+            final List<GeneratedKey> keys = bulkKeyGenerator.generate(PrivateKey.create(BigInteger.TEN), 3);
+
+            for (final GeneratedKey key : keys) {
+                assertThat(key.getKeyPair().getPublicKey().getPoint(), notNullValue());
+                assertThat(key.getKeyPair().getPublicKey().getPoint(),
+                        equalTo(curve.multiplyGenerator(key.getKeyPair().getPrivateKey().getRaw()).normalize()));
+            }
+        }
+
+        @Test
+        public void concurrentCallersShareThePool() throws InterruptedException, ExecutionException {
+            final int count = 8 * SecP256K1BulkKeyGenerator.CHUNK_SIZE;
+            final ExecutorService callers = Executors.newFixedThreadPool(4);
+            try (final BulkKeyGenerator generator = new SecP256K1BulkKeyGenerator(curve, executor(1))) {
+                final List<Future<List<GeneratedKey>>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    final PrivateKey first = PrivateKey.create(BigInteger.valueOf(1 + i * count));
+                    futures.add(callers.submit(() -> generator.generate(first, count)));
+                }
+
+                for (int i = 0; i < futures.size(); i++) {
+                    final List<GeneratedKey> keys = futures.get(i).get();
+                    assertThat(keys.size(), equalTo(count));
+                    for (int j = 0; j < count; j++) {
+                        assertThat(keys.get(j).getKeyPair().getPrivateKey().getRaw(), equalTo(BigInteger.valueOf(1 + i * count + j)));
+                    }
+                }
+            } finally {
+                callers.shutdown();
+            }
+        }
+
+        @Test
+        public void knownAddressIsGenerated() {
+            final List<GeneratedKey> keys = bulkKeyGenerator.generate(
+                    PrivateKey.createFromHexString("c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4"), 1);
+
+            assertThat(keys.get(0).getAddress(), equalTo(Address.createFromHexString("cd2a3d9f938e13cd947ec05abc7fe734df8dd826")));
+        }
+
+        @Test
+        public void randomKeysAreConsecutive() {
+            final List<GeneratedKey> keys = bulkKeyGenerator.generate(10);
+
+            assertThat(keys.size(), equalTo(10));
+            final BigInteger start = keys.get(0).getKeyPair().getPrivateKey().getRaw();
+            for (int i = 1; i < keys.size(); i++) {
+                assertThat(keys.get(i).getKeyPair().getPrivateKey().getRaw(), equalTo(start.add(BigInteger.valueOf(i))));
+            }
+        }
+
+        @Test
+        public void emptyRangeGeneratesNothing() {
+            assertThat(bulkKeyGenerator.generate(PrivateKey.create(BigInteger.ONE), 0).size(), equalTo(0));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void rangeBeyondGroupOrderIsRejected() {
+            bulkKeyGenerator.generate(PrivateKey.create(curve.getGroupOrder().subtract(BigInteger.valueOf(2))), 3);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroPrivateKeyIsRejected() {
+            bulkKeyGenerator.generate(PrivateKey.create(BigInteger.ZERO), 1);
+        }
+
+        @Test
+        public void bulkKeyGeneratorIsSingleton(BulkKeyGenerator other) {
+            assertThat(other, sameInstance(bulkKeyGenerator));
+        }
+    }
+}
@@ -2,9 +2,14 @@ package studio.blockops.vyom.crypto.secp256k1;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
+import java.math.BigInteger;
+import java.util.Random;
+
 import javax.inject.Inject;
 
 import org.jukito.All;
@@ -13,9 +18,16 @@ import org.jukito.JukitoRunner;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
+import org.spongycastle.crypto.params.ECDomainParameters;
+import org.spongycastle.math.ec.FixedPointPreCompInfo;
+import org.spongycastle.math.ec.FixedPointUtil;
+
+import com.google.inject.Guice;
 
 import studio.blockops.vyom.core.Address;
+import studio.blockops.vyom.crypto.CryptoEngine;
 import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.KeyGenerator;
 import studio.blockops.vyom.crypto.KeyPair;
 import studio.blockops.vyom.crypto.PrivateKey;
 import studio.blockops.vyom.crypto.PublicKey;
@@ -48,6 +60,16 @@ public class SecP256K1KeyGeneratorTest {
             PublicKey expected = keyGenerator.derivePublicKey(keyPair.getPrivateKey());
             assertThat(keyPair.getPublicKey(), equalTo(expected));
         }
+
+        @Test
+        public void generatedKeysCarryTheirPoint() {
+            final KeyPair keyPair = keyGenerator.generateKeyPair();
+            final PublicKey encoded = PublicKey.create(keyPair.getPublicKey().getRaw().clone());
+
+            assertThat(keyPair.getPublicKey().getPoint(), is(notNullValue()));
+            assertThat(keyGenerator.derivePublicKey(keyPair.getPrivateKey()).getPoint(), is(notNullValue()));
+            assertThat(keyGenerator.computeAddress(keyPair.getPublicKey()), equalTo(keyGenerator.computeAddress(encoded)));
+        }
     }
 
     @RunWith(JukitoRunner.class)
@@ -169,4 +191,59 @@ public class SecP256K1KeyGeneratorTest {
             }
         }
     }
+
+    @RunWith(JukitoRunner.class)
+    public static class CombWidthTest extends SecP256K1KeyGeneratorTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+
+                bindManyInstances(Integer.class, 5, 8, 12);
+            }
+        }
+
+        @Test
+        public void combWidthDoesNotChangeKeys(@All Integer combWidth) {
+            final KeyGenerator other = Guice.createInjector(new CryptoModule(), new SecP256K1Module(combWidth))
+                    .getInstance(CryptoEngine.class).createKeyGenerator();
+            final Random random = new Random(combWidth);
+            for (int i = 0; i < 16; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(256, random).add(BigInteger.ONE));
+
+                assertThat(other.derivePublicKey(privateKey), equalTo(keyGenerator.derivePublicKey(privateKey)));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void combWidthIsBounded() {
+            new SecP256K1Module(SecP256K1Curve.MAX_COMB_WIDTH + 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void combWidthBelowMultiplierWidthIsRejected() {
+            new SecP256K1Module(SecP256K1Curve.MIN_COMB_WIDTH - 1);
+        }
+
+        @Test
+        public void combTableBelongsToItsCurve() {
+            final ECDomainParameters params = SecP256K1Arithmetic.CUSTOM_GLV.createParameters();
+            final SecP256K1Curve narrow = new SecP256K1Curve(params, SecP256K1Curve.MIN_COMB_WIDTH);
+            final SecP256K1Curve wide = new SecP256K1Curve(params, 10);
+            narrow.multiplyGenerator(BigInteger.TEN);
+            wide.multiplyGenerator(BigInteger.TEN);
+
+            assertThat(combWidth(narrow.getParams()), equalTo(SecP256K1Curve.MIN_COMB_WIDTH));
+            assertThat(combWidth(wide.getParams()), equalTo(10));
+            assertThat(narrow.getParams().getG(), not(sameInstance(params.getG())));
+        }
+
+        private static int combWidth(final ECDomainParameters params) {
+            return ((FixedPointPreCompInfo) params.getCurve()
+                    .getPreCompInfo(params.getG(), FixedPointUtil.PRECOMP_NAME)).getWidth();
+        }
+    }
 }
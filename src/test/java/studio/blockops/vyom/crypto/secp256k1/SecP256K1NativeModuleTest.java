@@ -0,0 +1,174 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import javax.inject.Inject;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Guice;
+
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.Signer;
+
+@RunWith(Enclosed.class)
+public class SecP256K1NativeModuleTest {
+
+    private static final String EXAMPLE1 = "This is an example of a signed message.";
+    private static final String EXAMPLE2 = "We want, neither to rule nor to be ruled.";
+
+    @Inject
+    protected CryptoEngine engine;
+
+    @RunWith(JukitoRunner.class)
+    public static class ConformanceTest extends SecP256K1NativeModuleTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1NativeModule());
+
+                bindManyInstances(TestData.class,
+                        new TestData(
+                                EXAMPLE1,
+                                "c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4",
+                                "030947751e3022ecf3016be03ec77ab0ce3c2662b4843898cb068d74f698ccc8ad",
+                                "cd2a3d9f938e13cd947ec05abc7fe734df8dd826",
+                                "d2ce488f4da29e68f22cb05cac1b19b75df170a12b4ad1bdd4531b8e9115c6fb75c1fe50a95e8ccffcbb5482a1e42fbbdd6324131dfe75c3b3b7f9a7c721eccb01"),
+                        new TestData(
+                                EXAMPLE2,
+                                "16dcadddaf26707f475d821b3a63c215c93eebe5f26a67f0437b21c5924b4e06",
+                                "02c621aba26b261b629edddd912aac1acd8be7b9f0c798823fe4ed0fa65d69d80e",
+                                "2ec4637a77faaf2080aa9bc6f1f7f38a1edf1cdc",
+                                "b280e3c18d4b1829bb776d401d71039973a455a5cac628e7880beec9ddab706c64fcbe4ca5e8cf457663bf8365e1cb0802852e5cbfa681e780c2957e68a5ff2600"));
+            }
+        }
+
+        @Test
+        public void engineMatchesKnownVectors(@All TestData data) {
+            final KeyGenerator keyGenerator = engine.createKeyGenerator();
+            final PrivateKey privateKey = PrivateKey.createFromHexString(data.privateKey);
+            final PublicKey publicKey = keyGenerator.derivePublicKey(privateKey);
+            final Signer signer = engine.createSigner(KeyPair.create(privateKey, publicKey));
+
+            final Signature signature = signer.sign(data.example.getBytes());
+
+            assertThat(publicKey, equalTo(PublicKey.createFromHexString(data.publicKey)));
+            assertThat(keyGenerator.computeAddress(publicKey).toString(), equalTo(data.address));
+            assertThat(signature.toHexString(), equalTo(data.expectedSignature));
+            assertTrue(signer.verify(data.example.getBytes(), signature));
+            assertFalse(signer.verify(data.example.getBytes(), flipS(signature)));
+        }
+
+        @Test
+        public void engineMatchesJavaImplementationOnRandomKeys() {
+            final CryptoEngine javaEngine = Guice.createInjector(new CryptoModule(), new SecP256K1Module())
+                    .getInstance(CryptoEngine.class);
+            final Random random = new Random(0x5EED);
+            for (int i = 0; i < 32; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(256, random).add(BigInteger.ONE));
+                final byte[] message = new byte[random.nextInt(200)];
+                random.nextBytes(message);
+
+                final PublicKey publicKey = engine.createKeyGenerator().derivePublicKey(privateKey);
+                final PublicKey javaPublicKey = javaEngine.createKeyGenerator().derivePublicKey(privateKey);
+                final Signature signature = engine.createSigner(KeyPair.create(privateKey, publicKey)).sign(message);
+                final Signer javaSigner = javaEngine.createSigner(KeyPair.create(privateKey, javaPublicKey));
+
+                assertThat(publicKey, equalTo(javaPublicKey));
+                assertThat(engine.createKeyGenerator().computeAddress(publicKey),
+                        equalTo(javaEngine.createKeyGenerator().computeAddress(javaPublicKey)));
+                assertThat(signature, equalTo(javaSigner.sign(message)));
+                assertTrue(javaSigner.verify(message, signature));
+            }
+        }
+
+        @Test
+        public void nativeImplementationIsBoundWhenLoaded() {
+            assumeTrue(SecP256K1NativeModule.isNativeLoaded());
+
+            assertThat(engine.createKeyGenerator(), instanceOf(SecP256K1NativeKeyGenerator.class));
+            assertThat(engine.createSigner(KeyPair.create(
+                    PrivateKey.create(BigInteger.ONE),
+                    PublicKey.createFromHexString("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"))),
+                    instanceOf(SecP256K1NativeSigner.class));
+        }
+
+        @Test
+        public void generatedKeyPairsMatchJavaImplementation() {
+            final CryptoEngine javaEngine = Guice.createInjector(new CryptoModule(), new SecP256K1Module())
+                    .getInstance(CryptoEngine.class);
+            for (int i = 0; i < 8; i++) {
+                final KeyPair keyPair = engine.createKeyGenerator().generateKeyPair();
+
+                assertThat(keyPair.getPublicKey(),
+                        equalTo(javaEngine.createKeyGenerator().derivePublicKey(keyPair.getPrivateKey())));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void derivePublicKeyRejectsGroupOrder() {
+            engine.createKeyGenerator().derivePublicKey(PrivateKey.create(SECP256K1_N));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void computeAddressRejectsPointsOffTheCurve() {
+            engine.createKeyGenerator().computeAddress(PublicKey.createFromHexString(
+                    "020000000000000000000000000000000000000000000000000000000000000005"));
+        }
+
+        @Test
+        public void javaImplementationIsBoundWithoutNativeLibrary() {
+            assumeFalse(SecP256K1NativeModule.isNativeLoaded());
+
+            assertThat(engine.createKeyGenerator(), instanceOf(SecP256K1KeyGenerator.class));
+            assertThat(engine.createSigner(KeyPair.create(
+                    PrivateKey.create(BigInteger.ONE),
+                    PublicKey.createFromHexString("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"))),
+                    instanceOf(SecP256K1Signer.class));
+        }
+
+        private static Signature flipS(final Signature signature) {
+            return Signature.create(signature.getR(), SECP256K1_N.subtract(signature.getS()), signature.getV());
+        }
+
+        private static final BigInteger SECP256K1_N = new BigInteger("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141", 16);
+
+        private static final class TestData {
+            private final String example;
+            private final String privateKey;
+            private final String publicKey;
+            private final String address;
+            private final String expectedSignature;
+            private TestData(String example, String privateKey, String publicKey, String address, String expectedSignature) {
+                this.example = example;
+                this.privateKey = privateKey;
+                this.publicKey = publicKey;
+                this.address = address;
+                this.expectedSignature = expectedSignature;
+            }
+        }
+    }
+}
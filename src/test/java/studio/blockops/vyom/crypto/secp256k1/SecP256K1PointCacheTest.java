@@ -0,0 +1,173 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import javax.inject.Inject;
+
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.math.ec.WNafUtil;
+
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.Signer;
+
+@RunWith(Enclosed.class)
+public class SecP256K1PointCacheTest {
+
+    private static final String EXAMPLE1 = "This is an example of a signed message.";
+    private static final String PRIVATE_KEY = "c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4";
+    private static final String PUBLIC_KEY = "030947751e3022ecf3016be03ec77ab0ce3c2662b4843898cb068d74f698ccc8ad";
+
+    @Inject
+    protected CryptoEngine engine;
+
+    @Inject
+    protected Curve curve;
+
+    @Inject
+    protected SecP256K1PointCache pointCache;
+
+    @RunWith(JukitoRunner.class)
+    public static class GetPointTest extends SecP256K1PointCacheTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+            }
+        }
+
+        @Before
+        public void clearCache() {
+            pointCache.invalidateAll();
+        }
+
+        @Test
+        public void equalKeysShareOnePoint() {
+            final long misses = pointCache.missCount();
+            final long hits = pointCache.hitCount();
+            final ECPoint first = pointCache.getPoint(PublicKey.createFromHexString(PUBLIC_KEY));
+            final ECPoint second = pointCache.getPoint(PublicKey.createFromHexString(PUBLIC_KEY));
+
+            assertThat(second, sameInstance(first));
+            assertThat(first, equalTo(curve.getParams().getCurve().decodePoint(PublicKey.createFromHexString(PUBLIC_KEY).getRaw())));
+            assertTrue(first.isNormalized());
+            assertThat(pointCache.missCount() - misses, equalTo(1L));
+            assertThat(pointCache.hitCount() - hits, equalTo(1L));
+        }
+
+        @Test
+        public void compressedAndUncompressedKeysDecodeToEqualPoints() {
+            final ECPoint compressed = pointCache.getPoint(PublicKey.createFromHexString(PUBLIC_KEY));
+            final ECPoint uncompressed = pointCache.getPoint(PublicKey.create(compressed.getEncoded(false)));
+
+            assertThat(uncompressed, equalTo(compressed));
+            assertThat(pointCache.size(), equalTo(2L));
+        }
+
+        @Test
+        public void cachedPointCarriesWNafTable() {
+            final ECPoint point = pointCache.getPoint(PublicKey.createFromHexString(PUBLIC_KEY));
+
+            assertThat(WNafUtil.getWNafPreCompInfo(point).getPreComp(), notNullValue());
+        }
+
+        @Test
+        public void keysCarryingTheirPointAreNotCached() {
+            final ECPoint point = curve.multiplyGenerator(BigInteger.valueOf(0x5EED)).normalize();
+            final long misses = pointCache.missCount();
+
+            assertThat(pointCache.getPoint(PublicKey.createFromPoint(point)), sameInstance(point));
+            assertThat(WNafUtil.getWNafPreCompInfo(point).getPreComp(), notNullValue());
+            assertThat(pointCache.missCount() - misses, equalTo(0L));
+            assertThat(pointCache.size(), equalTo(0L));
+        }
+
+        @Test
+        public void cachedKeyIsUnaffectedByMutatingTheLookupKey() {
+            final PublicKey publicKey = PublicKey.createFromHexString(PUBLIC_KEY);
+            final ECPoint point = pointCache.getPoint(publicKey);
+            publicKey.getRaw()[1] ^= 1;
+
+            assertThat(pointCache.getPoint(PublicKey.createFromHexString(PUBLIC_KEY)), sameInstance(point));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void invalidKeyIsRejected() {
+            pointCache.getPoint(PublicKey.createFromHexString("020000000000000000000000000000000000000000000000000000000000000005"));
+        }
+
+        @Test
+        public void invalidKeyIsNotCached() {
+            try {
+                pointCache.getPoint(PublicKey.createFromHexString("020000000000000000000000000000000000000000000000000000000000000005"));
+            } catch (final IllegalArgumentException e) {
+                // expected
+            }
+
+            assertThat(pointCache.size(), equalTo(0L));
+        }
+
+        @Test
+        public void signersShareTheCache() {
+            final KeyPair keyPair = KeyPair.create(PrivateKey.createFromHexString(PRIVATE_KEY), PublicKey.createFromHexString(PUBLIC_KEY));
+            final Signer signer = engine.createSigner(keyPair);
+            final Signature signature = signer.sign(EXAMPLE1.getBytes());
+            final long misses = pointCache.missCount();
+            final long hits = pointCache.hitCount();
+
+            assertTrue(signer.verify(EXAMPLE1.getBytes(), signature));
+            assertTrue(engine.createSigner(keyPair).verify(EXAMPLE1.getBytes(), signature));
+            assertThat(pointCache.missCount() - misses, equalTo(1L));
+            assertThat(pointCache.hitCount() - hits, equalTo(1L));
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class BoundTest extends SecP256K1PointCacheTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module(SecP256K1Curve.DEFAULT_COMB_WIDTH, 4));
+            }
+        }
+
+        @Test
+        public void sizeIsBounded() {
+            for (int i = 1; i <= 16; i++) {
+                final ECPoint point = curve.multiplyGenerator(BigInteger.valueOf(i));
+                pointCache.getPoint(PublicKey.create(point.getEncoded(true)));
+            }
+
+            assertTrue(pointCache.size() <= 4);
+            assertThat(pointCache.missCount(), equalTo(16L));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void sizeMustBePositive() {
+            new SecP256K1Module(SecP256K1Curve.DEFAULT_COMB_WIDTH, 0);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.inject.Inject;
+
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import studio.blockops.vyom.core.Address;
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.CryptoExecutor;
+import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.KeyGenerator;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
+import studio.blockops.vyom.crypto.RecoveryRequest;
+import studio.blockops.vyom.crypto.RecoveryResult;
+import studio.blockops.vyom.crypto.RecoveryService;
+import studio.blockops.vyom.crypto.Signature;
+
+@RunWith(Enclosed.class)
+public class SecP256K1RecoveryServiceTest {
+
+    @Inject
+    protected CryptoEngine engine;
+
+    @Inject
+    protected RecoveryService recoveryService;
+
+    /**
+     * Executors created by the tests, shut down after each test
+     */
+    private final List<CryptoExecutor> executors = new ArrayList<>();
+
+    protected CryptoExecutor executor(final int threads) {
+        final CryptoExecutor executor = new CryptoExecutor(threads);
+        executors.add(executor);
+        return executor;
+    }
+
+    @After
+    public void shutdownExecutors() {
+        for (final CryptoExecutor executor : executors) {
+            executor.shutdown();
+        }
+    }
+
+    @RunWith(JukitoRunner.class)
+    public static class RecoverTest extends SecP256K1RecoveryServiceTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+            }
+        }
+
+        @Test
+        public void recoversSignersInSubmissionOrder() {
+            final KeyGenerator keyGenerator = engine.createKeyGenerator();
+            final Random random = new Random(0x5EED);
+            final List<PublicKey> publicKeys = new ArrayList<>();
+            final List<RecoveryRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(255, random).add(BigInteger.ONE));
+                final PublicKey publicKey = keyGenerator.derivePublicKey(privateKey);
+                final byte[] message = new byte[1 + random.nextInt(100)];
+                random.nextBytes(message);
+                final Signature signature = engine.createSigner(KeyPair.create(privateKey, publicKey)).sign(message);
+                publicKeys.add(publicKey);
+                requests.add(RecoveryRequest.create(Hashing.sha3_256(message), signature));
+            }
+
+            final List<RecoveryResult> streamed = new ArrayList<>();
+            recoveryService.recover(requests, streamed::add);
+
+            assertThat(streamed.size(), equalTo(requests.size()));
+            for (int i = 0; i < requests.size(); i++) {
+                final RecoveryResult result = streamed.get(i);
+                assertTrue(result.isRecovered());
+                assertThat(result.getPublicKey(), equalTo(publicKeys.get(i)));
+                assertThat(result.getAddress(), equalTo(keyGenerator.computeAddress(publicKeys.get(i))));
+            }
+        }
+
+        @Test
+        public void recoversKnownAddress() {
+            final PrivateKey privateKey = PrivateKey.createFromHexString("c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4");
+            final PublicKey publicKey = engine.createKeyGenerator().derivePublicKey(privateKey);
+            final byte[] message = "This is an example of a signed message.".getBytes();
+            final Signature signature = engine.createSigner(KeyPair.create(privateKey, publicKey)).sign(message);
+
+            final List<RecoveryResult> results = recoveryService.recover(
+                    Collections.singletonList(RecoveryRequest.create(Hashing.sha3_256(message), signature)));
+
+            assertThat(results.get(0).getAddress(), equalTo(Address.createFromHexString("cd2a3d9f938e13cd947ec05abc7fe734df8dd826")));
+        }
+
+        @Test
+        public void unrecoverableSignaturesFail() {
+            final List<RecoveryRequest> requests = new ArrayList<>();
+            // no recovery id
+            requests.add(RecoveryRequest.create(new byte[32], Signature.create(BigInteger.TEN, BigInteger.TEN)));
+            // r = 5 is not the x coordinate of a curve point
+            requests.add(RecoveryRequest.create(new byte[32], Signature.create(BigInteger.valueOf(5), BigInteger.TEN, (byte) 27)));
+
+            final List<RecoveryResult> results = recoveryService.recover(requests);
+
+            for (final RecoveryResult result : results) {
+                assertFalse(result.isRecovered());
+                assertThat(result, sameInstance(RecoveryResult.failed()));
+            }
+        }
+
+        @Test
+        public void concurrentCallersShareThePool(Curve curve) throws InterruptedException, ExecutionException {
+            final KeyGenerator keyGenerator = engine.createKeyGenerator();
+            final Random random = new Random(0xC0C0);
+            final List<PublicKey> publicKeys = new ArrayList<>();
+            final List<RecoveryRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(255, random).add(BigInteger.ONE));
+                final PublicKey publicKey = keyGenerator.derivePublicKey(privateKey);
+                final byte[] message = new byte[] { (byte) i };
+                publicKeys.add(publicKey);
+                requests.add(RecoveryRequest.create(Hashing.sha3_256(message),
+                        engine.createSigner(KeyPair.create(privateKey, publicKey)).sign(message)));
+            }
+            final SecP256K1RecoveryService service = new SecP256K1RecoveryService(curve, executor(1));
+            final ExecutorService callers = Executors.newFixedThreadPool(4);
+            try {
+                final List<Future<List<RecoveryResult>>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    futures.add(callers.submit(() -> service.recover(requests)));
+                }
+
+                for (final Future<List<RecoveryResult>> future : futures) {
+                    final List<RecoveryResult> results = future.get();
+                    assertThat(results.size(), equalTo(requests.size()));
+                    for (int i = 0; i < requests.size(); i++) {
+                        assertThat(results.get(i).getPublicKey(), equalTo(publicKeys.get(i)));
+                    }
+                }
+            } finally {
+                callers.shutdown();
+                service.close();
+            }
+        }
+
+        @Test
+        public void closingLeavesTheSharedExecutorRunning(Curve curve) {
+            final CryptoExecutor executor = executor(1);
+            final SecP256K1RecoveryService closed = new SecP256K1RecoveryService(curve, executor);
+            final SecP256K1RecoveryService open = new SecP256K1RecoveryService(curve, executor);
+            closed.close();
+            final List<RecoveryRequest> requests = Collections.singletonList(RecoveryRequest.create(new byte[32],
+                    Signature.create(BigInteger.valueOf(2), BigInteger.valueOf(2), (byte) 27)));
+
+            try {
+                closed.recover(requests);
+                throw new AssertionError("closed service accepted a request");
+            } catch (final RejectedExecutionException e) {
+                // expected
+            }
+            assertThat(open.recover(requests).size(), equalTo(1));
+        }
+
+        @Test
+        public void recoveryServiceIsSingleton(RecoveryService other) {
+            assertThat(other, sameInstance(recoveryService));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
+import java.util.Random;
 
 import javax.inject.Inject;
 
@@ -18,9 +19,13 @@ import org.junit.runner.RunWith;
 
 import studio.blockops.vyom.crypto.CryptoEngine;
 import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.Curve;
+import studio.blockops.vyom.crypto.ECKeyUtil;
+import studio.blockops.vyom.crypto.Hashing;
 import studio.blockops.vyom.crypto.KeyGenerator;
 import studio.blockops.vyom.crypto.KeyPair;
 import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.PublicKey;
 import studio.blockops.vyom.crypto.Signature;
 import studio.blockops.vyom.crypto.Signer;
 
@@ -177,6 +182,43 @@ public class SecP256K1SignerTest {
         }
     }
 
+    @RunWith(JukitoRunner.class)
+    public static class SignRecoverableTest extends SecP256K1SignerTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+            }
+        }
+
+        @Inject
+        private Curve curve;
+
+        @Test
+        public void recoveryIdRecoversSignerPublicKey() {
+            final Random random = new Random(0x5EED);
+            for (int i = 0; i < 64; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(255, random).add(BigInteger.ONE));
+                final PublicKey publicKey = engine.createKeyGenerator().derivePublicKey(privateKey);
+                final Signer signer = engine.createSigner(KeyPair.create(privateKey, publicKey));
+                final byte[] message = new byte[random.nextInt(100)];
+                random.nextBytes(message);
+
+                final Signature signature = signer.signRecoverable(message);
+                final byte[] recovered = ECKeyUtil.recoverPubBytesFromSignature(
+                        curve, signature.getV() - 27, signature, Hashing.sha3_256(message));
+
+                assertTrue(signer.isCanonicalSignature(signature));
+                assertTrue(signer.verify(message, signature));
+                assertThat(signer.sign(message), equalTo(signature));
+                assertThat(curve.getParams().getCurve().decodePoint(recovered).getEncoded(true), equalTo(publicKey.getRaw()));
+            }
+        }
+    }
+
     protected Signer createSigner(String privateKeyHexString) {
         final PrivateKey privateKey = PrivateKey.create(new BigInteger(privateKeyHexString, 16));
         final KeyGenerator keyGenerator = engine.createKeyGenerator();
@@ -0,0 +1,165 @@
+package studio.blockops.vyom.crypto.secp256k1;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.inject.Inject;
+
+import org.jukito.All;
+import org.jukito.JukitoModule;
+import org.jukito.JukitoRunner;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import com.google.inject.Guice;
+
+import studio.blockops.vyom.crypto.CryptoEngine;
+import studio.blockops.vyom.crypto.CryptoException;
+import studio.blockops.vyom.crypto.CryptoModule;
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.KeyPair;
+import studio.blockops.vyom.crypto.PrivateKey;
+import studio.blockops.vyom.crypto.Signature;
+import studio.blockops.vyom.crypto.SigningService;
+
+@RunWith(Enclosed.class)
+public class SecP256K1SigningServiceTest {
+
+    private static final String EXAMPLE1 = "This is an example of a signed message.";
+    private static final String EXAMPLE2 = "We want, neither to rule nor to be ruled.";
+    private static final BigInteger SECP256K1_N = new BigInteger("fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364141", 16);
+
+    @Inject
+    protected SigningService signingService;
+
+    @Inject
+    protected CryptoEngine engine;
+
+    @RunWith(JukitoRunner.class)
+    public static class SignTest extends SecP256K1SigningServiceTest {
+
+        public static class Module extends JukitoModule {
+
+            @Override
+            protected void configureTest() {
+                install(new CryptoModule());
+                install(new SecP256K1Module());
+
+                bindManyInstances(TestData.class,
+                        new TestData(
+                                EXAMPLE1,
+                                "c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4",
+                                "d2ce488f4da29e68f22cb05cac1b19b75df170a12b4ad1bdd4531b8e9115c6fb75c1fe50a95e8ccffcbb5482a1e42fbbdd6324131dfe75c3b3b7f9a7c721eccb01"),
+                        new TestData(
+                                EXAMPLE2,
+                                "16dcadddaf26707f475d821b3a63c215c93eebe5f26a67f0437b21c5924b4e06",
+                                "b280e3c18d4b1829bb776d401d71039973a455a5cac628e7880beec9ddab706c64fcbe4ca5e8cf457663bf8365e1cb0802852e5cbfa681e780c2957e68a5ff2600"));
+            }
+        }
+
+        @Test
+        public void signMatchesKnownVectors(@All TestData data) {
+            final PrivateKey privateKey = PrivateKey.createFromHexString(data.privateKey);
+
+            final Signature signature = signingService.sign(privateKey, data.example.getBytes());
+
+            assertThat(signature.toHexString(), equalTo(data.expectedSignature));
+        }
+
+        @Test
+        public void signHashMatchesSign(@All TestData data) {
+            final PrivateKey privateKey = PrivateKey.createFromHexString(data.privateKey);
+
+            final Signature signature = signingService.signHash(privateKey, Hashing.sha3_256(data.example.getBytes()));
+
+            assertThat(signature, equalTo(signingService.sign(privateKey, data.example.getBytes())));
+        }
+
+        @Test
+        public void signMatchesSigner(@All TestData data) {
+            final PrivateKey privateKey = PrivateKey.createFromHexString(data.privateKey);
+            final KeyPair keyPair = KeyPair.create(privateKey, engine.createKeyGenerator().derivePublicKey(privateKey));
+
+            final Signature signature = signingService.sign(privateKey, data.example.getBytes());
+
+            assertThat(signature, equalTo(engine.createSigner(keyPair).signRecoverable(data.example.getBytes())));
+        }
+
+        @Test
+        public void signMatchesNativeModule(@All TestData data) {
+            final SigningService nativeService = Guice.createInjector(new CryptoModule(), new SecP256K1NativeModule())
+                    .getInstance(SigningService.class);
+            final PrivateKey privateKey = PrivateKey.createFromHexString(data.privateKey);
+
+            final Signature signature = signingService.sign(privateKey, data.example.getBytes());
+
+            assertThat(signature, equalTo(nativeService.sign(privateKey, data.example.getBytes())));
+        }
+
+        @Test
+        public void concurrentSignaturesMatchSequentialOnes() throws InterruptedException, ExecutionException {
+            final Random random = new Random(0x5167);
+            final List<PrivateKey> privateKeys = new ArrayList<>();
+            final List<byte[]> hashes = new ArrayList<>();
+            final List<Signature> expected = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final PrivateKey privateKey = PrivateKey.create(new BigInteger(255, random).add(BigInteger.ONE));
+                final byte[] hash = new byte[Hashing.SHA3_256_LENGTH];
+                random.nextBytes(hash);
+                privateKeys.add(privateKey);
+                hashes.add(hash);
+                expected.add(signingService.signHash(privateKey, hash));
+            }
+
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                final List<Future<Signature>> actual = new ArrayList<>();
+                for (int i = 0; i < privateKeys.size(); i++) {
+                    final int index = i;
+                    actual.add(executor.submit(() -> signingService.signHash(privateKeys.get(index), hashes.get(index))));
+                }
+                for (int i = 0; i < privateKeys.size(); i++) {
+                    assertThat(actual.get(i).get(), equalTo(expected.get(i)));
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test(expected = CryptoException.class)
+        public void zeroPrivateKeyIsRejected() {
+            signingService.sign(PrivateKey.create(BigInteger.ZERO), EXAMPLE1.getBytes());
+        }
+
+        @Test(expected = CryptoException.class)
+        public void privateKeyOfGroupOrderIsRejected() {
+            signingService.sign(PrivateKey.create(SECP256K1_N), EXAMPLE1.getBytes());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void shortHashIsRejected() {
+            signingService.signHash(PrivateKey.create(BigInteger.ONE), new byte[Hashing.SHA3_256_LENGTH - 1]);
+        }
+
+        private static final class TestData {
+            private final String example;
+            private final String privateKey;
+            private final String expectedSignature;
+            private TestData(String example, String privateKey, String expectedSignature) {
+                this.example = example;
+                this.privateKey = privateKey;
+                this.expectedSignature = expectedSignature;
+            }
+        }
+    }
+}
@@ -15,6 +15,9 @@ import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
+import studio.blockops.vyom.crypto.Hashing;
+import studio.blockops.vyom.crypto.Keccak256Hasher;
+
 @RunWith(Enclosed.class)
 public class RLPEncoderTest {
 
@@ -377,6 +380,22 @@ public class RLPEncoderTest {
         }
     }
 
+    @RunWith(JukitoRunner.class)
+    public static class HashingEncoderTest extends RLPEncoderTest {
+
+        @Test
+        public void hasherReceivesEncodedBytes() {
+            final Keccak256Hasher hasher = Keccak256Hasher.create();
+            final RLPEncoder hashingEncoder = new RLPEncoder(hasher);
+
+            hashingEncoder.encodeString("dog");
+            hashingEncoder.encodeLong(0x1122334455L);
+            hashingEncoder.encodeBytes(new byte[0]);
+
+            assertThat(hasher.digest(), equalTo(Hashing.sha3_256(hashingEncoder.getEncoded())));
+        }
+    }
+
     private static abstract class TestData {
         protected final byte[] expected;
         private TestData(String expected) {